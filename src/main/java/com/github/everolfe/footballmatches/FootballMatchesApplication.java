@@ -2,11 +2,11 @@ package com.github.everolfe.footballmatches;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
-@EnableAsync
+@EnableScheduling
 public class FootballMatchesApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,40 @@
+package com.github.everolfe.footballmatches.aspect;
+
+import com.github.everolfe.footballmatches.cache.CacheRefreshContext;
+import java.lang.reflect.Method;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CacheRefreshAspect {
+
+    @Pointcut("@annotation(org.springframework.cache.annotation.Cacheable)"
+            + " && within(com.github.everolfe.footballmatches.service..*)")
+    private void cacheableServiceMethods() {
+    }
+
+    @Around("cacheableServiceMethods()")
+    public Object bindRefresher(final ProceedingJoinPoint joinPoint) throws Throwable {
+        Object proxy = joinPoint.getThis();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object[] args = joinPoint.getArgs().clone();
+        Runnable refresher = () -> CacheRefreshContext.runBypassingCache(
+                () -> ReflectionUtils.invokeMethod(method, proxy, args));
+
+        Runnable previous = CacheRefreshContext.bind(refresher);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            CacheRefreshContext.restore(previous);
+        }
+    }
+}
@@ -34,12 +34,17 @@ public class LoggingAspect {
             String methodName = joinPoint.getSignature().getName();
             String className = joinPoint.getSignature().getDeclaringTypeName();
             Object[] args = joinPoint.getArgs();
-            if (LOGGER.isInfoEnabled()) {
-                LOGGER.info(">> {}.{}() - {}", className, methodName, Arrays.toString(args));
+            Logger logger = loggerOf(joinPoint);
+            if (logger.isInfoEnabled()) {
+                logger.info(">> {}.{}() - {}", className, methodName, Arrays.toString(args));
             }
         }
     }
 
+    private static Logger loggerOf(JoinPoint joinPoint) {
+        return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringType());
+    }
+
     private boolean shouldLog(JoinPoint joinPoint) {
         String methodName = joinPoint.getSignature().getName();
         return methodName.startsWith("update");
@@ -49,7 +54,7 @@ public class LoggingAspect {
     public void logAfter(final JoinPoint joinPoint, final Object result) {
         String methodName = joinPoint.getSignature().getName();
         String className = joinPoint.getSignature().getDeclaringTypeName();
-        LOGGER.info("<< {}.{}() - {}", className, methodName, result);
+        loggerOf(joinPoint).info("<< {}.{}() - {}", className, methodName, result);
 
     }
 
@@ -57,7 +62,8 @@ public class LoggingAspect {
     public void logException(final JoinPoint joinPoint, final Throwable exception) {
         String methodName = joinPoint.getSignature().getName();
         String className = joinPoint.getSignature().getDeclaringTypeName();
-        LOGGER.error("<< {}.{}() - {}", className, methodName, exception.getMessage());
+        loggerOf(joinPoint).error("<< {}.{}() - {}", className, methodName,
+                exception.getMessage());
     }
 
     @Around(value = "callServiceAnnotation()")
@@ -69,7 +75,8 @@ public class LoggingAspect {
 
         String methodName = joinPoint.getSignature().getName();
         String className = joinPoint.getSignature().getDeclaringTypeName();
-        LOGGER.info("== {}.{}() executed in {} ms", className, methodName, executionTime);
+        loggerOf(joinPoint).info("== {}.{}() executed in {} ms", className, methodName,
+                executionTime);
 
         return result;
     }
@@ -1,41 +1,537 @@
 package com.github.everolfe.footballmatches.cache;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
+public class Cache<K, V> {
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final double WINDOW_PERCENT = 0.01;
+    private static final double PROTECTED_PERCENT = 0.80;
+    private static final int ADMIT_HASHDOS_THRESHOLD = 5;
 
-@Component
-public class Cache<K, V> extends LinkedHashMap<K, V> {
-    private static final Logger logger = LoggerFactory.getLogger(Cache.class);
-    private static final int MAX_SIZE = 5;
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final FrequencySketch sketch = new FrequencySketch();
+    private final Weigher<? super K, ? super V> weigher;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final long refreshAheadNanos;
+    private final Executor refreshExecutor;
+    private final CacheListener<? super K, ? super V> listener;
 
-    @Override
-    public V put(K key, V value) {
-        logger.info("Add to cache: Key = {}, Value = {}", key, value);
-        return super.put(key, value);
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protectedQueue = new AccessOrderDeque<>();
+    private long weightedSize;
+    private long windowWeight;
+    private long protectedWeight;
+
+    private final AtomicReferenceArray<Node<K, V>> readBuffer =
+            new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong readBufferWrites = new AtomicLong();
+    private long readBufferDrained;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder evictionWeight = new LongAdder();
+    private final LongAdder refreshCount = new LongAdder();
+
+    public Cache(long maximumSize) {
+        this(maximumSize, Weigher.singleton());
+    }
+
+    public Cache(long maximumWeight, Weigher<? super K, ? super V> weigher) {
+        this(new CachePolicy(maximumWeight, Duration.ZERO, Duration.ZERO, Duration.ZERO),
+                weigher, Runnable::run);
+    }
+
+    public Cache(CachePolicy policy, Weigher<? super K, ? super V> weigher,
+                 Executor refreshExecutor) {
+        this(policy, weigher, refreshExecutor, CacheListener.none());
+    }
+
+    public Cache(CachePolicy policy, Weigher<? super K, ? super V> weigher,
+                 Executor refreshExecutor, CacheListener<? super K, ? super V> listener) {
+        if (policy.maximumWeight() < 0) {
+            throw new IllegalArgumentException("Maximum weight cannot be negative");
+        }
+        this.maximumWeight = policy.maximumWeight();
+        this.weigher = Objects.requireNonNull(weigher);
+        this.refreshExecutor = Objects.requireNonNull(refreshExecutor);
+        this.listener = Objects.requireNonNull(listener);
+        this.windowMaximum = Math.max(1, (long) (maximumWeight * WINDOW_PERCENT));
+        this.protectedMaximum = (long) ((maximumWeight - windowMaximum) * PROTECTED_PERCENT);
+        this.expireAfterWriteNanos = policy.expireAfterWrite().toNanos();
+        this.expireAfterAccessNanos = policy.expireAfterAccess().toNanos();
+        this.refreshAheadNanos = policy.refreshAhead().toNanos();
+        sketch.ensureCapacity(maximumWeight);
     }
 
-    @Override
     public V get(Object key) {
-        V value = super.get(key);
-        if (value != null) {
-            logger.info("Get from cache: Key = {}, Value = {}", key, value);
-        } else {
-            logger.info("Key not found in cache: Key = {}", key);
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        long now = System.nanoTime();
+        if (isExpired(node, now)) {
+            missCount.increment();
+            expire(node);
+            return null;
+        }
+        hitCount.increment();
+        if (expireAfterAccessNanos > 0) {
+            node.accessTime = now;
+        }
+        afterRead(node);
+        refreshIfNeeded(node, now);
+        return node.value;
+    }
+
+    public V put(K key, V value) {
+        return put(key, value, null, false, System.nanoTime());
+    }
+
+    public V put(K key, V value, Runnable refresher) {
+        return put(key, value, refresher, false, System.nanoTime());
+    }
+
+    public V putIfAbsent(K key, V value) {
+        return put(key, value, null, true, System.nanoTime());
+    }
+
+    // Keeps the original write time, so expiry and refresh-ahead do not restart.
+    V putIfAbsent(K key, V value, Runnable refresher, long writeTime) {
+        return put(key, value, refresher, true, writeTime);
+    }
+
+    public boolean containsKey(Object key) {
+        return data.containsKey(key);
+    }
+
+    public V remove(Object key) {
+        Node<K, V> node;
+        evictionLock.lock();
+        try {
+            node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+                listener.onRemoval(node.key, node.value);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+        return node == null ? null : node.value;
+    }
+
+    public void clear() {
+        evictionLock.lock();
+        try {
+            for (Node<K, V> node : data.values()) {
+                unlink(node);
+                listener.onRemoval(node.key, node.value);
+            }
+            data.clear();
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                readBuffer.set(i, null);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(data.keySet());
+    }
+
+    // Unlike get, this does not count as a read.
+    void forEachEntry(EntryVisitor<? super K, ? super V> visitor) {
+        long now = System.nanoTime();
+        for (Node<K, V> node : data.values()) {
+            if (!isExpired(node, now)) {
+                visitor.visit(node.key, node.value, now - node.writeTime);
+            }
+        }
+    }
+
+    public long size() {
+        return data.mappingCount();
+    }
+
+    public long weightedSize() {
+        evictionLock.lock();
+        try {
+            return weightedSize;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), putCount.sum(),
+                evictionCount.sum(), evictionWeight.sum(), refreshCount.sum());
+    }
+
+    public void cleanUp() {
+        if (expireAfterWriteNanos <= 0 && expireAfterAccessNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            Iterator<Node<K, V>> iterator = data.values().iterator();
+            while (iterator.hasNext()) {
+                Node<K, V> node = iterator.next();
+                if (isExpired(node, now)) {
+                    iterator.remove();
+                    unlink(node);
+                    evictionCount.increment();
+                    evictionWeight.add(node.weight);
+                    listener.onRemoval(node.key, node.value);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private V put(K key, V value, Runnable refresher, boolean onlyIfAbsent, long writeTime) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        int weight = weigher.weigh(key, value);
+        long now = System.nanoTime();
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            Node<K, V> node = data.get(key);
+            if (node != null && isExpired(node, now)) {
+                data.remove(key, node);
+                unlink(node);
+                listener.onRemoval(node.key, node.value);
+                node = null;
+            }
+            if (node != null) {
+                if (onlyIfAbsent) {
+                    return node.value;
+                }
+                V oldValue = node.value;
+                node.value = value;
+                node.writeTime = writeTime;
+                node.accessTime = now;
+                node.refresher = refresher;
+                node.refreshing.set(false);
+                adjustWeight(node, weight);
+                onAccess(node);
+                putCount.increment();
+                listener.onWrite(key, value);
+                evictEntries();
+                return oldValue;
+            }
+            node = new Node<>(key, value, weight, now);
+            node.writeTime = writeTime;
+            node.refresher = refresher;
+            data.put(key, node);
+            node.queue = QueueType.WINDOW;
+            window.addLast(node);
+            windowWeight += weight;
+            weightedSize += weight;
+            sketch.increment(key);
+            putCount.increment();
+            listener.onWrite(key, value);
+            evictEntries();
+            return null;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return (expireAfterWriteNanos > 0 && now - node.writeTime >= expireAfterWriteNanos)
+                || (expireAfterAccessNanos > 0 && now - node.accessTime >= expireAfterAccessNanos);
+    }
+
+    private void expire(Node<K, V> node) {
+        evictionLock.lock();
+        try {
+            if (data.remove(node.key, node)) {
+                unlink(node);
+                evictionCount.increment();
+                evictionWeight.add(node.weight);
+                listener.onRemoval(node.key, node.value);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void refreshIfNeeded(Node<K, V> node, long now) {
+        Runnable refresher = node.refresher;
+        if (refresher == null || refreshAheadNanos <= 0 || expireAfterWriteNanos <= 0
+                || now - node.writeTime < expireAfterWriteNanos - refreshAheadNanos
+                || !node.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresher.run();
+                } finally {
+                    node.refreshing.set(false);
+                }
+            });
+            refreshCount.increment();
+        } catch (RejectedExecutionException e) {
+            node.refreshing.set(false);
+        }
+    }
+
+    private void afterRead(Node<K, V> node) {
+        long writes = readBufferWrites.getAndIncrement();
+        readBuffer.lazySet((int) (writes & READ_BUFFER_MASK), node);
+        if ((writes & READ_BUFFER_MASK) == READ_BUFFER_MASK && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private void drainReadBuffer() {
+        long writes = readBufferWrites.get();
+        long start = Math.max(readBufferDrained, writes - READ_BUFFER_SIZE);
+        for (long i = start; i < writes; i++) {
+            Node<K, V> node = readBuffer.getAndSet((int) (i & READ_BUFFER_MASK), null);
+            if (node != null && node.queue != null) {
+                sketch.increment(node.key);
+                onAccess(node);
+            }
+        }
+        readBufferDrained = writes;
+    }
+
+    private void onAccess(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW -> window.moveToBack(node);
+            case PROBATION -> {
+                probation.remove(node);
+                node.queue = QueueType.PROTECTED;
+                protectedQueue.addLast(node);
+                protectedWeight += node.weight;
+                demoteFromProtected();
+            }
+            case PROTECTED -> protectedQueue.moveToBack(node);
+            default -> {
+            }
+        }
+    }
+
+    private void demoteFromProtected() {
+        while (protectedWeight > protectedMaximum) {
+            Node<K, V> demoted = protectedQueue.pollFirst();
+            if (demoted == null) {
+                return;
+            }
+            protectedWeight -= demoted.weight;
+            demoted.queue = QueueType.PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    private void adjustWeight(Node<K, V> node, int weight) {
+        int delta = weight - node.weight;
+        node.weight = weight;
+        weightedSize += delta;
+        if (node.queue == QueueType.WINDOW) {
+            windowWeight += delta;
+        } else if (node.queue == QueueType.PROTECTED) {
+            protectedWeight += delta;
+        }
+    }
+
+    private void evictEntries() {
+        int candidates = 0;
+        while (windowWeight > windowMaximum) {
+            Node<K, V> node = window.pollFirst();
+            if (node == null) {
+                break;
+            }
+            windowWeight -= node.weight;
+            node.queue = QueueType.PROBATION;
+            probation.addLast(node);
+            candidates++;
+        }
+
+        while (weightedSize > maximumWeight) {
+            Node<K, V> victim = probation.peekFirst();
+            Node<K, V> candidate = candidates > 0 ? probation.peekLast() : null;
+            if (victim == null) {
+                victim = protectedQueue.peekFirst();
+            }
+            if (victim == null) {
+                victim = window.peekFirst();
+            }
+            if (victim == null) {
+                break;
+            }
+            if (candidate == null || candidate == victim) {
+                if (candidate != null) {
+                    candidates--;
+                }
+                evict(victim);
+            } else if (admit(candidate.key, victim.key)) {
+                evict(victim);
+            } else {
+                candidates--;
+                evict(candidate);
+            }
+        }
+    }
+
+    private boolean admit(K candidateKey, K victimKey) {
+        int candidateFrequency = sketch.frequency(candidateKey);
+        int victimFrequency = sketch.frequency(victimKey);
+        if (candidateFrequency > victimFrequency) {
+            return true;
+        } else if (candidateFrequency <= ADMIT_HASHDOS_THRESHOLD) {
+            return false;
+        }
+        return (ThreadLocalRandom.current().nextInt() & 127) == 0;
+    }
+
+    private void evict(Node<K, V> node) {
+        data.remove(node.key, node);
+        unlink(node);
+        evictionCount.increment();
+        evictionWeight.add(node.weight);
+        listener.onRemoval(node.key, node.value);
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.queue == null) {
+            return;
         }
-        return value;
+        switch (node.queue) {
+            case WINDOW -> {
+                window.remove(node);
+                windowWeight -= node.weight;
+            }
+            case PROBATION -> probation.remove(node);
+            case PROTECTED -> {
+                protectedQueue.remove(node);
+                protectedWeight -= node.weight;
+            }
+            default -> {
+            }
+        }
+        weightedSize -= node.weight;
+        node.queue = null;
+    }
+
+    private enum QueueType {
+        WINDOW, PROBATION, PROTECTED
     }
 
-    @Override
-    protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
-        boolean shouldRemove = size() > MAX_SIZE;
-        if (shouldRemove) {
-            logger.info("Delete eldest entry: Key = {}, Value = {}",
-                    eldest.getKey(), eldest.getValue());
+    @FunctionalInterface
+    interface EntryVisitor<K, V> {
+        void visit(K key, V value, long ageNanos);
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private volatile V value;
+        private volatile long writeTime;
+        private volatile long accessTime;
+        private volatile Runnable refresher;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private int weight;
+        private QueueType queue;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(K key, V value, int weight, long now) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+
+    private static final class AccessOrderDeque<K, V> {
+        private Node<K, V> head;
+        private Node<K, V> tail;
+
+        void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        Node<K, V> peekFirst() {
+            return head;
+        }
+
+        Node<K, V> peekLast() {
+            return tail;
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> node = head;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
         }
-        return shouldRemove;
     }
-}
\ No newline at end of file
+}
@@ -6,6 +6,23 @@ public final class CacheConstants {
     private static final String TEAM_CACHE_PREFIX = "team_";
     private static final String PLAYER_CACHE_PREFIX = "player_";
 
+    public static final String MATCHES = "matches";
+    public static final String MATCHES_WITH_ARENA_AND_TEAMS = "matchesWithArenaAndTeams";
+    public static final String TEAMS = "teams";
+    public static final String TEAMS_WITH_MATCHES_AND_PLAYERS = "teamsWithMatchesAndPlayers";
+    public static final String ARENAS = "arenas";
+    public static final String ARENAS_WITH_MATCHES = "arenasWithMatches";
+    public static final String PLAYERS = "players";
+    public static final String PLAYERS_WITH_TEAM = "playersWithTeam";
+    public static final String PLAYERS_BY_AGE = "playersByAge";
+
+    // Not cache regions: names under which invalidation events carry the attribute an
+    // in-memory search index (see the index package) follows.
+    public static final String MATCHES_BY_DATE = "matchesByDate";
+    public static final String MATCHES_BY_TOURNAMENT = "matchesByTournament";
+    public static final String TEAMS_BY_COUNTRY = "teamsByCountry";
+    public static final String ARENAS_BY_CAPACITY = "arenasByCapacity";
+
     private CacheConstants() {
         throw new UnsupportedOperationException(
                 "This is a utility class and cannot be instantiated");
@@ -0,0 +1,78 @@
+package com.github.everolfe.footballmatches.cache;
+
+import com.github.everolfe.footballmatches.dto.arena.ArenaDto;
+import com.github.everolfe.footballmatches.dto.arena.ArenaDtoWithMatches;
+import com.github.everolfe.footballmatches.dto.match.MatchDtoWithArena;
+import com.github.everolfe.footballmatches.dto.match.MatchDtoWithArenaAndTeams;
+import com.github.everolfe.footballmatches.dto.match.MatchDtoWithTeams;
+import com.github.everolfe.footballmatches.dto.player.PlayerDto;
+import com.github.everolfe.footballmatches.dto.player.PlayerDtoWithTeam;
+import com.github.everolfe.footballmatches.dto.team.TeamDtoWithMatches;
+import com.github.everolfe.footballmatches.dto.team.TeamDtoWithMatchesAndPlayers;
+import com.github.everolfe.footballmatches.dto.team.TeamDtoWithPlayers;
+import com.github.everolfe.footballmatches.model.Arena;
+import com.github.everolfe.footballmatches.model.Match;
+import com.github.everolfe.footballmatches.model.Player;
+import com.github.everolfe.footballmatches.model.Team;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+final class CacheDependencies {
+
+    private CacheDependencies() {
+        throw new UnsupportedOperationException(
+                "This is a utility class and cannot be instantiated");
+    }
+
+    static Set<EntityRef> of(Object value) {
+        Set<EntityRef> refs = new HashSet<>();
+        collect(value, refs);
+        return refs;
+    }
+
+    private static void collect(Object value, Set<EntityRef> refs) {
+        if (value instanceof Collection<?> values) {
+            values.forEach(element -> collect(element, refs));
+        } else if (value instanceof MatchDtoWithArenaAndTeams match) {
+            add(refs, EntityType.MATCH, match.getId());
+            collect(match.getArenaDto(), refs);
+            collect(match.getTeamDtoWithPlayersList(), refs);
+        } else if (value instanceof MatchDtoWithTeams match) {
+            add(refs, EntityType.MATCH, match.getId());
+            collect(match.getTeamDtoWithPlayersList(), refs);
+        } else if (value instanceof MatchDtoWithArena match) {
+            add(refs, EntityType.MATCH, match.getId());
+            collect(match.getArenaDto(), refs);
+        } else if (value instanceof TeamDtoWithMatchesAndPlayers team) {
+            add(refs, EntityType.TEAM, team.getId());
+            collect(team.getMatchDtoWithArenaList(), refs);
+            collect(team.getPlayerDtoList(), refs);
+        } else if (value instanceof TeamDtoWithMatches team) {
+            add(refs, EntityType.TEAM, team.getId());
+            collect(team.getMatchDtoWithArenaList(), refs);
+        } else if (value instanceof TeamDtoWithPlayers team) {
+            add(refs, EntityType.TEAM, team.getId());
+            collect(team.getPlayerDtoList(), refs);
+        } else if (value instanceof ArenaDtoWithMatches arena) {
+            add(refs, EntityType.ARENA, arena.getId());
+            collect(arena.getMatchDtoWithTeamsList(), refs);
+        } else if (value instanceof ArenaDto arena) {
+            add(refs, EntityType.ARENA, arena.getId());
+        } else if (value instanceof PlayerDtoWithTeam player) {
+            add(refs, EntityType.PLAYER, player.getId());
+            collect(player.getTeamDtoWithMatches(), refs);
+        } else if (value instanceof PlayerDto player) {
+            add(refs, EntityType.PLAYER, player.getId());
+        } else if (value instanceof Match || value instanceof Team
+                || value instanceof Arena || value instanceof Player) {
+            refs.add(EntityRef.of(value));
+        }
+    }
+
+    private static void add(Set<EntityRef> refs, EntityType type, Integer id) {
+        if (id != null) {
+            refs.add(new EntityRef(type, id));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CacheDependencyIndex {
+
+    private final Map<EntityRef, Set<CacheEntryRef>> dependents = new ConcurrentHashMap<>();
+    private final Map<CacheEntryRef, Set<EntityRef>> dependencies = new ConcurrentHashMap<>();
+
+    public void register(String cacheName, Object key, Object value) {
+        CacheEntryRef entry = new CacheEntryRef(cacheName, key);
+        Set<EntityRef> refs = CacheDependencies.of(value);
+        Set<EntityRef> previous = refs.isEmpty()
+                ? dependencies.remove(entry)
+                : dependencies.put(entry, refs);
+        if (previous != null) {
+            previous.stream()
+                    .filter(ref -> !refs.contains(ref))
+                    .forEach(ref -> unlink(ref, entry));
+        }
+        for (EntityRef ref : refs) {
+            dependents.compute(ref, (r, entries) -> {
+                Set<CacheEntryRef> linked = entries == null
+                        ? ConcurrentHashMap.newKeySet()
+                        : entries;
+                linked.add(entry);
+                return linked;
+            });
+        }
+    }
+
+    public void unregister(String cacheName, Object key) {
+        CacheEntryRef entry = new CacheEntryRef(cacheName, key);
+        Set<EntityRef> refs = dependencies.remove(entry);
+        if (refs != null) {
+            refs.forEach(ref -> unlink(ref, entry));
+        }
+    }
+
+    public int size() {
+        return dependencies.size();
+    }
+
+    List<CacheEntryRef> dependentsOf(EntityRef ref) {
+        Set<CacheEntryRef> entries = dependents.get(ref);
+        return entries == null ? List.of() : List.copyOf(entries);
+    }
+
+    CacheListener<Object, Object> listenerFor(String cacheName) {
+        return new CacheListener<>() {
+            @Override
+            public void onWrite(Object key, Object value) {
+                register(cacheName, key, value);
+            }
+
+            @Override
+            public void onRemoval(Object key, Object value) {
+                unregister(cacheName, key);
+            }
+        };
+    }
+
+    private void unlink(EntityRef ref, CacheEntryRef entry) {
+        dependents.computeIfPresent(ref, (r, entries) -> {
+            entries.remove(entry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+}
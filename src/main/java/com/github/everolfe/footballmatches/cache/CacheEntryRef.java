@@ -0,0 +1,4 @@
+package com.github.everolfe.footballmatches.cache;
+
+record CacheEntryRef(String cacheName, Object key) {
+}
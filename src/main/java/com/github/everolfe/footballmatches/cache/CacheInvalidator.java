@@ -0,0 +1,176 @@
+package com.github.everolfe.footballmatches.cache;
+
+import com.github.everolfe.footballmatches.model.Arena;
+import com.github.everolfe.footballmatches.model.Match;
+import com.github.everolfe.footballmatches.model.Player;
+import com.github.everolfe.footballmatches.model.Team;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CacheInvalidator {
+
+    private static final Map<EntityType, String> LISTINGS = Map.of(
+            EntityType.MATCH, CacheConstants.MATCHES_WITH_ARENA_AND_TEAMS,
+            EntityType.TEAM, CacheConstants.TEAMS_WITH_MATCHES_AND_PLAYERS,
+            EntityType.ARENA, CacheConstants.ARENAS_WITH_MATCHES,
+            EntityType.PLAYER, CacheConstants.PLAYERS_WITH_TEAM);
+
+    private static final Map<String, SearchRule<?>> SEARCH_RULES = List.<SearchRule<?>>of(
+            // Carried for the index package's indexes; these searches are not cached.
+            new SearchRule<>(CacheConstants.MATCHES_BY_DATE, Match.class, Match::getDateTime),
+            new SearchRule<>(CacheConstants.MATCHES_BY_TOURNAMENT, Match.class,
+                    Match::getTournamentName),
+            new SearchRule<>(CacheConstants.TEAMS_BY_COUNTRY, Team.class, Team::getCountry),
+            new SearchRule<>(CacheConstants.ARENAS_BY_CAPACITY, Arena.class, Arena::getCapacity),
+            new SearchRule<>(CacheConstants.PLAYERS_BY_AGE, Player.class,
+                    Player::getAge, SearchRule.EQUALS))
+            .stream()
+            .collect(Collectors.toUnmodifiableMap(SearchRule::cacheName, Function.identity()));
+
+    private final CacheManager cacheManager;
+    private final CacheDependencyIndex dependencyIndex;
+    private final InvalidationBus invalidationBus;
+    private final List<Consumer<List<InvalidationEvent>>> eventListeners =
+            new CopyOnWriteArrayList<>();
+    private final List<Runnable> clearListeners = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidator(CacheManager cacheManager, CacheDependencyIndex dependencyIndex,
+                            InvalidationBus invalidationBus) {
+        this.cacheManager = cacheManager;
+        this.dependencyIndex = dependencyIndex;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(this::apply, this::clearAll);
+    }
+
+    public void addListener(Consumer<List<InvalidationEvent>> onEvents, Runnable onClear) {
+        eventListeners.add(onEvents);
+        clearListeners.add(onClear);
+    }
+
+    public void created(Object entity) {
+        created(List.of(entity));
+    }
+
+    public void created(Collection<?> entities) {
+        List<InvalidationEvent> events = entities.stream()
+                .map(entity -> eventOf(InvalidationEvent.Kind.CREATED, entity))
+                .toList();
+        AfterCommit.run(() -> applyAndBroadcast(events));
+    }
+
+    public void changed(Object entity) {
+        List<InvalidationEvent> events =
+                List.of(eventOf(InvalidationEvent.Kind.CHANGED, entity));
+        AfterCommit.run(() -> applyAndBroadcast(events));
+    }
+
+    public void deleted(Object entity) {
+        List<InvalidationEvent> events =
+                List.of(eventOf(InvalidationEvent.Kind.DELETED, entity));
+        AfterCommit.run(() -> applyAndBroadcast(events));
+    }
+
+    public void changed(EntityType type, Integer id) {
+        if (id == null) {
+            return;
+        }
+        List<InvalidationEvent> events = List.of(new InvalidationEvent(
+                InvalidationEvent.Kind.CHANGED, new EntityRef(type, id), Map.of()));
+        AfterCommit.run(() -> applyAndBroadcast(events));
+    }
+
+    public void changedAll(Collection<EntityRef> refs) {
+        List<InvalidationEvent> events = refs.stream()
+                .filter(ref -> ref.id() != null)
+                .distinct()
+                .map(ref -> new InvalidationEvent(InvalidationEvent.Kind.CHANGED, ref, Map.of()))
+                .toList();
+        if (!events.isEmpty()) {
+            AfterCommit.run(() -> applyAndBroadcast(events));
+        }
+    }
+
+    public void clearAll() {
+        cacheManager.getCacheNames().forEach(this::clear);
+        clearListeners.forEach(Runnable::run);
+    }
+
+    void apply(List<InvalidationEvent> events) {
+        Set<String> listings = new HashSet<>();
+        for (InvalidationEvent event : events) {
+            if (event.kind() == InvalidationEvent.Kind.CREATED) {
+                listings.add(LISTINGS.get(event.entity().type()));
+            } else {
+                evictDependents(event.entity());
+            }
+            event.searchValues().forEach(this::evictMatching);
+        }
+        listings.forEach(this::clear);
+        eventListeners.forEach(listener -> listener.accept(events));
+    }
+
+    private void applyAndBroadcast(List<InvalidationEvent> events) {
+        apply(events);
+        invalidationBus.publish(events);
+    }
+
+    private static InvalidationEvent eventOf(InvalidationEvent.Kind kind, Object entity) {
+        Map<String, Object> searchValues = new LinkedHashMap<>();
+        for (SearchRule<?> rule : SEARCH_RULES.values()) {
+            Object value = rule.valueOf(entity);
+            if (value != null) {
+                searchValues.put(rule.cacheName(), value);
+            }
+        }
+        return new InvalidationEvent(kind, EntityRef.of(entity), searchValues);
+    }
+
+    private void evictDependents(EntityRef ref) {
+        for (CacheEntryRef entry : dependencyIndex.dependentsOf(ref)) {
+            Cache cache = cacheManager.getCache(entry.cacheName());
+            if (cache != null) {
+                cache.evict(entry.key());
+            }
+        }
+    }
+
+    private void evictMatching(String cacheName, Object value) {
+        SearchRule<?> rule = SEARCH_RULES.get(cacheName);
+        if (rule != null && !rule.cached()) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (rule == null || !(cache instanceof TinyLfuCache tinyLfuCache)
+                || value instanceof InvalidationCodec.ClearRegion) {
+            cache.clear();
+            return;
+        }
+        for (Object key : tinyLfuCache.keys()) {
+            if (rule.matches(key, value)) {
+                cache.evict(key);
+            }
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
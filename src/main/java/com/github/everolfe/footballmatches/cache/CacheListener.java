@@ -0,0 +1,22 @@
+package com.github.everolfe.footballmatches.cache;
+
+public interface CacheListener<K, V> {
+
+    void onWrite(K key, V value);
+
+    void onRemoval(K key, V value);
+
+    static <K, V> CacheListener<K, V> none() {
+        return new CacheListener<>() {
+            @Override
+            public void onWrite(K key, V value) {
+                // no-op
+            }
+
+            @Override
+            public void onRemoval(K key, V value) {
+                // no-op
+            }
+        };
+    }
+}
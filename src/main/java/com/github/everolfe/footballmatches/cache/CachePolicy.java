@@ -0,0 +1,17 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+
+public record CachePolicy(
+        long maximumWeight,
+        Duration expireAfterWrite,
+        Duration expireAfterAccess,
+        Duration refreshAhead) {
+
+    public CachePolicy {
+        expireAfterWrite = Objects.requireNonNullElse(expireAfterWrite, Duration.ZERO);
+        expireAfterAccess = Objects.requireNonNullElse(expireAfterAccess, Duration.ZERO);
+        refreshAhead = Objects.requireNonNullElse(refreshAhead, Duration.ZERO);
+    }
+}
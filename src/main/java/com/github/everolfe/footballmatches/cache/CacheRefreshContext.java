@@ -0,0 +1,42 @@
+package com.github.everolfe.footballmatches.cache;
+
+public final class CacheRefreshContext {
+    private static final ThreadLocal<Runnable> REFRESHER = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> BYPASS = new ThreadLocal<>();
+
+    private CacheRefreshContext() {
+        throw new UnsupportedOperationException(
+                "This is a utility class and cannot be instantiated");
+    }
+
+    public static Runnable bind(Runnable refresher) {
+        Runnable previous = REFRESHER.get();
+        REFRESHER.set(refresher);
+        return previous;
+    }
+
+    public static void restore(Runnable previous) {
+        if (previous == null) {
+            REFRESHER.remove();
+        } else {
+            REFRESHER.set(previous);
+        }
+    }
+
+    public static void runBypassingCache(Runnable action) {
+        BYPASS.set(Boolean.TRUE);
+        try {
+            action.run();
+        } finally {
+            BYPASS.remove();
+        }
+    }
+
+    static Runnable currentRefresher() {
+        return REFRESHER.get();
+    }
+
+    static boolean isBypassing() {
+        return BYPASS.get() != null;
+    }
+}
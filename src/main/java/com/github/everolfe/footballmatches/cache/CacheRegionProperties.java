@@ -0,0 +1,100 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "cache")
+public class CacheRegionProperties {
+    private static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private Region defaults = new Region();
+    private Map<String, Region> regions = new LinkedHashMap<>();
+    private int refreshThreads = 2;
+    private int refreshQueueCapacity = 100;
+    private DataSize offHeapSegmentSize = DataSize.ofMegabytes(4);
+    private Invalidation invalidation = new Invalidation();
+    private WarmUp warmUp = new WarmUp();
+    private Snapshot snapshot = new Snapshot();
+
+    public Region resolve(String name) {
+        Region region = regions.getOrDefault(name, defaults);
+        Region resolved = new Region();
+        resolved.setMaximumSize(firstNonNull(region.getMaximumSize(), defaults.getMaximumSize()));
+        resolved.setMaximumWeight(
+                firstNonNull(region.getMaximumWeight(), defaults.getMaximumWeight()));
+        resolved.setExpireAfterWrite(
+                firstNonNull(region.getExpireAfterWrite(), defaults.getExpireAfterWrite()));
+        resolved.setExpireAfterAccess(
+                firstNonNull(region.getExpireAfterAccess(), defaults.getExpireAfterAccess()));
+        resolved.setRefreshAhead(
+                firstNonNull(region.getRefreshAhead(), defaults.getRefreshAhead()));
+        resolved.setOffHeapSize(firstNonNull(region.getOffHeapSize(), defaults.getOffHeapSize()));
+        if (resolved.getMaximumSize() == null && resolved.getMaximumWeight() == null) {
+            resolved.setMaximumSize(DEFAULT_MAXIMUM_SIZE);
+        }
+        return resolved;
+    }
+
+    private static <T> T firstNonNull(T value, T fallback) {
+        return value != null ? value : fallback;
+    }
+
+    @Data
+    public static class Invalidation {
+        // postgres (LISTEN/NOTIFY on the datasource) or memory.
+        private String transport = "postgres";
+        private String channel = "cache_invalidation";
+    }
+
+    @Data
+    public static class WarmUp {
+        private boolean enabled = true;
+        // Empty means every region that has a warm-up task.
+        private List<String> regions = new ArrayList<>();
+        // Keep well below the connection pool size.
+        private int parallelism = 2;
+        private Duration timeout = Duration.ofMinutes(2);
+    }
+
+    @Data
+    public static class Snapshot {
+        private boolean enabled = true;
+        private Path path = Path.of(System.getProperty("java.io.tmpdir"),
+                "footballMatches-cache.snapshot");
+        private Duration maxAge = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Region {
+        // Ignored when maximumWeight is set.
+        private Long maximumSize;
+        // Counted in list elements: a cached list of 500 DTOs weighs 500.
+        private Long maximumWeight;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        private Duration refreshAhead;
+        // When set, the size bounds above only apply to the on-heap tier in front of it.
+        private DataSize offHeapSize;
+
+        public boolean isOffHeap() {
+            return offHeapSize != null && offHeapSize.toBytes() > 0;
+        }
+
+        public boolean isWeighted() {
+            return maximumWeight != null;
+        }
+
+        public CachePolicy toPolicy() {
+            return new CachePolicy(isWeighted() ? maximumWeight : maximumSize,
+                    expireAfterWrite, expireAfterAccess, refreshAhead);
+        }
+    }
+}
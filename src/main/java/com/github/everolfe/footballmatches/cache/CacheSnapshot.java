@@ -0,0 +1,320 @@
+package com.github.everolfe.footballmatches.cache;
+
+import com.github.everolfe.footballmatches.dto.arena.ArenaDto;
+import com.github.everolfe.footballmatches.dto.arena.ArenaDtoWithMatches;
+import com.github.everolfe.footballmatches.dto.match.MatchDtoWithArena;
+import com.github.everolfe.footballmatches.dto.match.MatchDtoWithArenaAndTeams;
+import com.github.everolfe.footballmatches.dto.match.MatchDtoWithTeams;
+import com.github.everolfe.footballmatches.dto.player.PlayerDto;
+import com.github.everolfe.footballmatches.dto.player.PlayerDtoWithTeam;
+import com.github.everolfe.footballmatches.dto.team.TeamDtoWithMatches;
+import com.github.everolfe.footballmatches.dto.team.TeamDtoWithMatchesAndPlayers;
+import com.github.everolfe.footballmatches.dto.team.TeamDtoWithPlayers;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.support.NullValue;
+
+public class CacheSnapshot {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheSnapshot.class);
+
+    static final int MAGIC = 0x464D4353;
+    static final int FORMAT_VERSION = 2;
+
+    private static final int EMPTY_KEY = -1;
+    private static final long NO_CHANGE_VERSION = -1;
+    private static final List<Class<?>> DTO_CLASSES = List.of(
+            ArenaDto.class, ArenaDtoWithMatches.class,
+            MatchDtoWithArena.class, MatchDtoWithArenaAndTeams.class, MatchDtoWithTeams.class,
+            PlayerDto.class, PlayerDtoWithTeam.class,
+            TeamDtoWithMatches.class, TeamDtoWithMatchesAndPlayers.class,
+            TeamDtoWithPlayers.class);
+    private static final long SCHEMA_FINGERPRINT = schemaFingerprint();
+
+    private final CacheRegionProperties properties;
+    private final CacheValueSerializer serializer;
+    private final Supplier<OptionalLong> changeVersion;
+    private final Clock clock;
+
+    public CacheSnapshot(CacheRegionProperties properties, CacheValueSerializer serializer) {
+        this(properties, serializer, Clock.systemUTC());
+    }
+
+    public CacheSnapshot(CacheRegionProperties properties, CacheValueSerializer serializer,
+                         Clock clock) {
+        this(properties, serializer, OptionalLong::empty, clock);
+    }
+
+    public CacheSnapshot(CacheRegionProperties properties, CacheValueSerializer serializer,
+                         Supplier<OptionalLong> changeVersion, Clock clock) {
+        this.properties = properties;
+        this.serializer = serializer;
+        this.changeVersion = changeVersion;
+        this.clock = clock;
+    }
+
+    public int save(CacheManager cacheManager, Collection<String> regions) throws IOException {
+        Path path = properties.getSnapshot().getPath();
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        int saved = 0;
+        try (CheckedOutputStream checked = new CheckedOutputStream(
+                new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary))),
+                new CRC32());
+             DataOutputStream out = new DataOutputStream(checked)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(clock.millis());
+            // Read before the entries: a change applied meanwhile only makes them fresher.
+            out.writeLong(changeVersion.get().orElse(NO_CHANGE_VERSION));
+            out.writeLong(SCHEMA_FINGERPRINT);
+            List<TinyLfuCache> caches = caches(cacheManager, regions);
+            out.writeInt(caches.size());
+            for (TinyLfuCache cache : caches) {
+                List<SnapshotEntry> entries = entriesOf(cache);
+                out.writeUTF(cache.getName());
+                out.writeInt(entries.size());
+                for (SnapshotEntry entry : entries) {
+                    out.writeLong(entry.ageMillis());
+                    writeBytes(out, entry.key());
+                    writeBytes(out, entry.value());
+                }
+                saved += entries.size();
+            }
+            out.writeLong(checked.getChecksum().getValue());
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        return saved;
+    }
+
+    public int restore(CacheManager cacheManager, Collection<String> regions) {
+        Path path = properties.getSnapshot().getPath();
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try {
+            Contents snapshot = read(path);
+            if (snapshot == null) {
+                return 0;
+            }
+            int restored = apply(cacheManager, regions, snapshot.regions());
+            if (!snapshot.changeVersion().equals(changeVersion.get())) {
+                LOGGER.warn("Clearing restored cache regions: changes arrived while restoring");
+                snapshot.regions().stream().map(SnapshotRegion::name).filter(regions::contains)
+                        .forEach(region -> clear(cacheManager, region));
+                return 0;
+            }
+            return restored;
+        } catch (IOException e) {
+            LOGGER.warn("Discarding unreadable cache snapshot {}: {}", path, e.getMessage());
+            return 0;
+        } finally {
+            delete(path);
+        }
+    }
+
+    private Contents read(Path path) throws IOException {
+        try (CheckedInputStream checked = new CheckedInputStream(
+                new GZIPInputStream(new BufferedInputStream(Files.newInputStream(path))),
+                new CRC32());
+             DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                LOGGER.warn("Discarding cache snapshot {}: unknown format", path);
+                return null;
+            }
+            long age = clock.millis() - in.readLong();
+            if (age > properties.getSnapshot().getMaxAge().toMillis()) {
+                LOGGER.warn("Discarding cache snapshot {}: taken {} s ago", path, age / 1000);
+                return null;
+            }
+            long saved = in.readLong();
+            OptionalLong savedVersion =
+                    saved == NO_CHANGE_VERSION ? OptionalLong.empty() : OptionalLong.of(saved);
+            if (!savedVersion.equals(changeVersion.get())) {
+                LOGGER.warn("Discarding cache snapshot {}: taken at change {}, node is at {}",
+                        path, savedVersion, changeVersion.get());
+                return null;
+            }
+            if (in.readLong() != SCHEMA_FINGERPRINT) {
+                LOGGER.warn("Discarding cache snapshot {}: cached classes changed", path);
+                return null;
+            }
+            int regionCount = readCount(in);
+            List<SnapshotRegion> snapshot = new ArrayList<>(Math.min(regionCount, 64));
+            for (int i = 0; i < regionCount; i++) {
+                String name = in.readUTF();
+                int entryCount = readCount(in);
+                List<SnapshotEntry> entries = new ArrayList<>(Math.min(entryCount, 1024));
+                for (int j = 0; j < entryCount; j++) {
+                    entries.add(new SnapshotEntry(
+                            Math.max(0, age) + in.readLong(), readBytes(in), readBytes(in)));
+                }
+                snapshot.add(new SnapshotRegion(name, entries));
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                LOGGER.warn("Discarding cache snapshot {}: checksum mismatch", path);
+                return null;
+            }
+            return new Contents(savedVersion, snapshot);
+        }
+    }
+
+    private int apply(CacheManager cacheManager, Collection<String> regions,
+                      List<SnapshotRegion> snapshot) {
+        int restored = 0;
+        long now = System.nanoTime();
+        for (SnapshotRegion region : snapshot) {
+            if (!regions.contains(region.name())
+                    || !(cacheManager.getCache(region.name()) instanceof TinyLfuCache cache)) {
+                continue;
+            }
+            Duration expireAfterWrite = properties.resolve(region.name()).getExpireAfterWrite();
+            for (SnapshotEntry entry : region.entries()) {
+                if (expireAfterWrite != null
+                        && entry.ageMillis() >= expireAfterWrite.toMillis()) {
+                    continue;
+                }
+                try {
+                    cache.restore(decodeKey(entry.key()), serializer.deserialize(entry.value()),
+                            now - TimeUnit.MILLISECONDS.toNanos(entry.ageMillis()));
+                    restored++;
+                } catch (IOException e) {
+                    LOGGER.debug("Skipping snapshot entry of {}: {}", region.name(),
+                            e.getMessage());
+                }
+            }
+        }
+        return restored;
+    }
+
+    private static void clear(CacheManager cacheManager, String region) {
+        if (cacheManager.getCache(region) instanceof TinyLfuCache cache) {
+            cache.clear();
+        }
+    }
+
+    private List<SnapshotEntry> entriesOf(TinyLfuCache cache) {
+        List<SnapshotEntry> entries = new ArrayList<>();
+        cache.forEachEntry((key, value, ageNanos) -> {
+            if (value instanceof NullValue) {
+                return;
+            }
+            try {
+                entries.add(new SnapshotEntry(TimeUnit.NANOSECONDS.toMillis(ageNanos),
+                        encodeKey(key), serializer.serialize(value)));
+            } catch (IOException e) {
+                LOGGER.debug("Not saving entry {} of {}: {}", key, cache.getName(),
+                        e.getMessage());
+            }
+        });
+        return entries;
+    }
+
+    private byte[] encodeKey(Object key) throws IOException {
+        return SimpleKey.EMPTY.equals(key) ? null : serializer.serialize(key);
+    }
+
+    private Object decodeKey(byte[] key) throws IOException {
+        return key == null ? SimpleKey.EMPTY : serializer.deserialize(key);
+    }
+
+    private static List<TinyLfuCache> caches(CacheManager cacheManager,
+                                             Collection<String> regions) {
+        List<TinyLfuCache> caches = new ArrayList<>();
+        for (String region : regions) {
+            if (cacheManager.getCache(region) instanceof TinyLfuCache cache) {
+                caches.add(cache);
+            }
+        }
+        return caches;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(EMPTY_KEY);
+            return;
+        }
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == EMPTY_KEY) {
+            return null;
+        }
+        if (length < 0) {
+            throw new IOException("Corrupt entry length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Corrupt count " + count);
+        }
+        return count;
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete cache snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static long schemaFingerprint() {
+        CRC32 crc = new CRC32();
+        for (Class<?> type : DTO_CLASSES) {
+            crc.update(type.getName().getBytes(StandardCharsets.UTF_8));
+            Arrays.stream(type.getDeclaredFields())
+                    .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                    .sorted(Comparator.comparing(Field::getName))
+                    .forEach(field -> crc.update((field.getName() + ':'
+                            + field.getGenericType().getTypeName())
+                            .getBytes(StandardCharsets.UTF_8)));
+        }
+        return crc.getValue();
+    }
+
+    private record Contents(OptionalLong changeVersion, List<SnapshotRegion> regions) {
+    }
+
+    private record SnapshotRegion(String name, List<SnapshotEntry> entries) {
+    }
+
+    private record SnapshotEntry(long ageMillis, byte[] key, byte[] value) {
+    }
+}
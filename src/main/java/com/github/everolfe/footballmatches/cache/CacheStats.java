@@ -0,0 +1,15 @@
+package com.github.everolfe.footballmatches.cache;
+
+public record CacheStats(
+        long hitCount,
+        long missCount,
+        long putCount,
+        long evictionCount,
+        long evictionWeight,
+        long refreshCount) {
+
+    public double hitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.everolfe.footballmatches.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import java.io.IOException;
+
+public class CacheValueSerializer {
+    private static final String DTO_PACKAGE = "com.github.everolfe.footballmatches.dto.";
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    public CacheValueSerializer(ObjectMapper objectMapper) {
+        PolymorphicTypeValidator validator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType(DTO_PACKAGE)
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.time.")
+                .build();
+        ObjectMapper mapper = objectMapper.copy().activateDefaultTyping(
+                validator, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        this.writer = mapper.writerFor(Object.class);
+        this.reader = mapper.readerFor(Object.class);
+    }
+
+    public byte[] serialize(Object value) throws IOException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    public Object deserialize(byte[] bytes) throws IOException {
+        return reader.readValue(bytes);
+    }
+}
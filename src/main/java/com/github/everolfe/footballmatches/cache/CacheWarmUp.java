@@ -0,0 +1,109 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+public class CacheWarmUp implements ApplicationRunner, DisposableBean {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheWarmUp.class);
+
+    private final CacheManager cacheManager;
+    private final CacheSnapshot snapshot;
+    private final CacheRegionProperties properties;
+    private final List<CacheWarmUpTask> tasks;
+
+    public CacheWarmUp(CacheManager cacheManager, CacheSnapshot snapshot,
+                       CacheRegionProperties properties, List<CacheWarmUpTask> tasks) {
+        this.cacheManager = cacheManager;
+        this.snapshot = snapshot;
+        this.properties = properties;
+        this.tasks = tasks;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        Set<String> regions = regions();
+        if (properties.getSnapshot().isEnabled()) {
+            int restored = snapshot.restore(cacheManager, regions);
+            LOGGER.info("Restored {} cache entries from snapshot", restored);
+        }
+        if (properties.getWarmUp().isEnabled()) {
+            warmUp(regions);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (!properties.getSnapshot().isEnabled()) {
+            return;
+        }
+        try {
+            int saved = snapshot.save(cacheManager, regions());
+            LOGGER.info("Saved {} cache entries to snapshot", saved);
+        } catch (IOException e) {
+            LOGGER.warn("Could not save cache snapshot: {}", e.getMessage());
+        }
+    }
+
+    private void warmUp(Set<String> regions) throws InterruptedException {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, properties.getWarmUp().getParallelism()),
+                new CustomizableThreadFactory("cache-warm-up-"));
+        List<CompletableFuture<Void>> loads = new ArrayList<>();
+        try {
+            for (CacheWarmUpTask task : tasks) {
+                if (regions.contains(task.region()) && isEmpty(task.region())) {
+                    loads.add(CompletableFuture.runAsync(() -> load(task), executor));
+                }
+            }
+            CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new))
+                    .get(properties.getWarmUp().getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            LOGGER.info("Warmed up {} cache regions in {} ms", loads.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (TimeoutException e) {
+            LOGGER.warn("Cache warm-up did not finish within {}; continuing cold",
+                    properties.getWarmUp().getTimeout());
+        } catch (ExecutionException e) {
+            LOGGER.warn("Cache warm-up failed: {}", e.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void load(CacheWarmUpTask task) {
+        try {
+            task.loader().run();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not warm up cache region {}: {}", task.region(), e.getMessage());
+        }
+    }
+
+    private boolean isEmpty(String region) {
+        return !(cacheManager.getCache(region) instanceof TinyLfuCache cache)
+                || cache.keys().isEmpty();
+    }
+
+    private Set<String> regions() {
+        Set<String> regions = new LinkedHashSet<>(properties.getWarmUp().getRegions());
+        if (regions.isEmpty()) {
+            tasks.forEach(task -> regions.add(task.region()));
+        }
+        return regions;
+    }
+}
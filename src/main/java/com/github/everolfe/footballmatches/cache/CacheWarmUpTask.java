@@ -0,0 +1,4 @@
+package com.github.everolfe.footballmatches.cache;
+
+public record CacheWarmUpTask(String region, Runnable loader) {
+}
@@ -0,0 +1,22 @@
+package com.github.everolfe.footballmatches.cache;
+
+import com.github.everolfe.footballmatches.model.Arena;
+import com.github.everolfe.footballmatches.model.Match;
+import com.github.everolfe.footballmatches.model.Player;
+import com.github.everolfe.footballmatches.model.Team;
+
+public record EntityRef(EntityType type, Integer id) {
+
+    public static EntityRef of(Object entity) {
+        if (entity instanceof Match match) {
+            return new EntityRef(EntityType.MATCH, match.getId());
+        } else if (entity instanceof Team team) {
+            return new EntityRef(EntityType.TEAM, team.getId());
+        } else if (entity instanceof Arena arena) {
+            return new EntityRef(EntityType.ARENA, arena.getId());
+        } else if (entity instanceof Player player) {
+            return new EntityRef(EntityType.PLAYER, player.getId());
+        }
+        throw new IllegalArgumentException("Not a cached entity: " + entity);
+    }
+}
@@ -0,0 +1,5 @@
+package com.github.everolfe.footballmatches.cache;
+
+public enum EntityType {
+    ARENA, MATCH, TEAM, PLAYER
+}
@@ -0,0 +1,48 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+public class InMemoryInvalidationTransport implements InvalidationTransport {
+
+    private static final Hub DEFAULT_HUB = new Hub();
+
+    private final Hub hub;
+    private volatile Consumer<String> receiver;
+
+    public InMemoryInvalidationTransport() {
+        this(DEFAULT_HUB);
+    }
+
+    public InMemoryInvalidationTransport(Hub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void publish(String payload) {
+        hub.members.forEach(member -> member.deliver(payload));
+    }
+
+    @Override
+    public void start(Consumer<String> receiver, Runnable onGap) {
+        this.receiver = receiver;
+        hub.members.add(this);
+    }
+
+    @Override
+    public void stop() {
+        hub.members.remove(this);
+    }
+
+    private void deliver(String payload) {
+        Consumer<String> current = receiver;
+        if (current != null) {
+            current.accept(payload);
+        }
+    }
+
+    public static final class Hub {
+        private final Set<InMemoryInvalidationTransport> members = new CopyOnWriteArraySet<>();
+    }
+}
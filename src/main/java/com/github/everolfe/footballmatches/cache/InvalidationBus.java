@@ -0,0 +1,108 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+public class InvalidationBus implements SmartLifecycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InvalidationBus.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final InvalidationTransport transport;
+    private final Executor publisher;
+    private volatile Consumer<List<InvalidationEvent>> eventHandler = events -> { };
+    private volatile Runnable resyncHandler = () -> { };
+    private volatile boolean running;
+
+    public InvalidationBus(InvalidationTransport transport) {
+        this(transport, Executors.newSingleThreadExecutor(
+                daemonThreadFactory("cache-invalidation-publisher-")));
+    }
+
+    public InvalidationBus(InvalidationTransport transport, Executor publisher) {
+        this.transport = transport;
+        this.publisher = publisher;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public OptionalLong deliveredVersion() {
+        return transport.deliveredVersion();
+    }
+
+    public void subscribe(Consumer<List<InvalidationEvent>> eventHandler, Runnable resyncHandler) {
+        this.eventHandler = eventHandler;
+        this.resyncHandler = resyncHandler;
+    }
+
+    public void publish(List<InvalidationEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<String> payloads = InvalidationCodec.encode(nodeId, events);
+        try {
+            publisher.execute(() -> payloads.forEach(transport::publish));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Cache invalidation bus is shut down, {} events not broadcast",
+                    events.size());
+        }
+    }
+
+    @Override
+    public void start() {
+        transport.start(this::receive, () -> resyncHandler.run());
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (publisher instanceof ExecutorService executorService) {
+            executorService.shutdown();
+            try {
+                executorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        transport.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void receive(String payload) {
+        InvalidationCodec.Message message;
+        try {
+            message = InvalidationCodec.decode(payload);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unreadable cache invalidation message, clearing all caches", e);
+            resyncHandler.run();
+            return;
+        }
+        if (!nodeId.equals(message.origin())) {
+            eventHandler.accept(message.events());
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
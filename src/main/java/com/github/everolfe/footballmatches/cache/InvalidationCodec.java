@@ -0,0 +1,128 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class InvalidationCodec {
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private static final String VERSION = "v2";
+    private static final char SEPARATOR = '\t';
+    private static final String LINE_BREAK = "\n";
+
+    private InvalidationCodec() {
+        throw new UnsupportedOperationException(
+                "This is a utility class and cannot be instantiated");
+    }
+
+    record Message(String origin, List<InvalidationEvent> events) {
+    }
+
+    static List<String> encode(String origin, List<InvalidationEvent> events) {
+        String header = VERSION + SEPARATOR + origin;
+        int headerBytes = utf8Length(header);
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(header);
+        int payloadBytes = headerBytes;
+        for (InvalidationEvent event : events) {
+            String line = encode(event);
+            int lineBytes = 1 + utf8Length(line);
+            if (payloadBytes > headerBytes && payloadBytes + lineBytes > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(header);
+                payloadBytes = headerBytes;
+            }
+            payload.append(LINE_BREAK).append(line);
+            payloadBytes += lineBytes;
+        }
+        if (payloadBytes > headerBytes) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    static Message decode(String payload) {
+        String[] lines = payload.split(LINE_BREAK);
+        String[] header = lines[0].split(String.valueOf(SEPARATOR));
+        if (header.length != 2 || !VERSION.equals(header[0])) {
+            throw new IllegalArgumentException("Unsupported invalidation message: " + lines[0]);
+        }
+        List<InvalidationEvent> events = new ArrayList<>(lines.length - 1);
+        for (int i = 1; i < lines.length; i++) {
+            events.add(decodeEvent(lines[i]));
+        }
+        return new Message(header[1], events);
+    }
+
+    private static String encode(InvalidationEvent event) {
+        StringBuilder line = new StringBuilder()
+                .append(encodeKind(event.kind())).append(SEPARATOR)
+                .append(event.entity().type().name()).append(SEPARATOR)
+                .append(event.entity().id());
+        event.searchValues().forEach((region, value) ->
+                line.append(SEPARATOR).append(region).append('=').append(encodeValue(value)));
+        return line.toString();
+    }
+
+    private static char encodeKind(InvalidationEvent.Kind kind) {
+        return switch (kind) {
+            case CREATED -> 'N';
+            case CHANGED -> 'U';
+            case DELETED -> 'D';
+        };
+    }
+
+    private static String encodeValue(Object value) {
+        if (value instanceof Integer number) {
+            return "I" + number;
+        } else if (value instanceof String text) {
+            return "S" + URLEncoder.encode(text, StandardCharsets.UTF_8);
+        } else if (value instanceof LocalDateTime dateTime) {
+            return "T" + dateTime;
+        }
+        return "R";
+    }
+
+    private static InvalidationEvent decodeEvent(String line) {
+        String[] fields = line.split(String.valueOf(SEPARATOR));
+        InvalidationEvent.Kind kind = switch (fields[0]) {
+            case "N" -> InvalidationEvent.Kind.CREATED;
+            case "U" -> InvalidationEvent.Kind.CHANGED;
+            case "D" -> InvalidationEvent.Kind.DELETED;
+            default -> throw new IllegalArgumentException("Unknown event kind: " + fields[0]);
+        };
+        Integer id = "null".equals(fields[2]) ? null : Integer.valueOf(fields[2]);
+        EntityRef entity = new EntityRef(EntityType.valueOf(fields[1]), id);
+        Map<String, Object> searchValues = new LinkedHashMap<>();
+        for (int i = 3; i < fields.length; i++) {
+            int split = fields[i].indexOf('=');
+            searchValues.put(fields[i].substring(0, split),
+                    decodeValue(fields[i].substring(split + 1)));
+        }
+        return new InvalidationEvent(kind, entity, searchValues);
+    }
+
+    private static Object decodeValue(String value) {
+        String body = value.substring(1);
+        return switch (value.charAt(0)) {
+            case 'I' -> Integer.valueOf(body);
+            case 'S' -> URLDecoder.decode(body, StandardCharsets.UTF_8);
+            case 'T' -> LocalDateTime.parse(body);
+            default -> ClearRegion.INSTANCE;
+        };
+    }
+
+    private static int utf8Length(String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    enum ClearRegion {
+        INSTANCE
+    }
+}
@@ -0,0 +1,10 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.util.Map;
+
+public record InvalidationEvent(Kind kind, EntityRef entity, Map<String, Object> searchValues) {
+
+    public enum Kind {
+        CREATED, CHANGED, DELETED
+    }
+}
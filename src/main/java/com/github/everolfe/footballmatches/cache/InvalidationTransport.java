@@ -0,0 +1,18 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+public interface InvalidationTransport {
+
+    void publish(String payload);
+
+    void start(Consumer<String> receiver, Runnable onGap);
+
+    void stop();
+
+    // Only transports that number the cluster's changes in commit order report one.
+    default OptionalLong deliveredVersion() {
+        return OptionalLong.empty();
+    }
+}
@@ -0,0 +1,208 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+public class OffHeapStore {
+
+    private final Segment[] segments;
+    private final int segmentSize;
+    private final long expireAfterWriteNanos;
+    private final ConcurrentHashMap<Object, Slot> index = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Consumer<Object> evictionListener = key -> { };
+
+    private int current;
+    private int writeOffset;
+
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public OffHeapStore(long capacity, int segmentSize, Duration expireAfterWrite) {
+        if (capacity <= 0 || segmentSize <= 0) {
+            throw new IllegalArgumentException("Off-heap capacity must be positive");
+        }
+        this.segmentSize = (int) Math.min(segmentSize, capacity);
+        int segmentCount = (int) Math.max(1, capacity / this.segmentSize);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment();
+        }
+        this.expireAfterWriteNanos = expireAfterWrite == null ? 0 : expireAfterWrite.toNanos();
+    }
+
+    public void onEviction(Consumer<Object> listener) {
+        this.evictionListener = listener;
+    }
+
+    public Entry get(Object key) {
+        Slot slot = index.get(key);
+        if (slot == null) {
+            return null;
+        }
+        if (isExpired(slot, System.nanoTime())) {
+            if (index.remove(key, slot)) {
+                usedBytes.addAndGet(-slot.length());
+                evictionCount.increment();
+                evictionListener.accept(key);
+            }
+            return null;
+        }
+        Segment segment = segments[slot.segment()];
+        if (segment.generation != slot.generation()) {
+            return null;
+        }
+        byte[] bytes = new byte[slot.length()];
+        segment.buffer.get(slot.offset(), bytes);
+        VarHandle.acquireFence();
+        if (segment.generation != slot.generation()) {
+            return null;
+        }
+        hitCount.increment();
+        return new Entry(bytes, slot.writeTime(), slot.refresher());
+    }
+
+    public boolean put(Object key, byte[] bytes, Runnable refresher) {
+        return put(key, bytes, refresher, System.nanoTime());
+    }
+
+    public boolean put(Object key, byte[] bytes, Runnable refresher, long writeTime) {
+        if (bytes.length > segmentSize) {
+            remove(key);
+            rejectedCount.increment();
+            return false;
+        }
+        writeLock.lock();
+        try {
+            if (writeOffset + bytes.length > segmentSize || segments[current].buffer == null) {
+                advance();
+            }
+            Segment segment = segments[current];
+            segment.buffer.put(writeOffset, bytes);
+            Slot slot = new Slot(current, segment.generation, writeOffset, bytes.length,
+                    writeTime, refresher);
+            writeOffset += bytes.length;
+            Slot previous = index.put(key, slot);
+            usedBytes.addAndGet(bytes.length - (previous == null ? 0 : previous.length()));
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean remove(Object key) {
+        Slot slot = index.remove(key);
+        if (slot == null) {
+            return false;
+        }
+        usedBytes.addAndGet(-slot.length());
+        evictionListener.accept(key);
+        return true;
+    }
+
+    public boolean containsKey(Object key) {
+        return index.containsKey(key);
+    }
+
+    public Set<Object> keys() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    public void clear() {
+        index.keySet().forEach(this::remove);
+    }
+
+    public void cleanUp() {
+        if (expireAfterWriteNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (Map.Entry<Object, Slot> entry : index.entrySet()) {
+            Slot slot = entry.getValue();
+            if (isExpired(slot, now) && index.remove(entry.getKey(), slot)) {
+                usedBytes.addAndGet(-slot.length());
+                evictionCount.increment();
+                evictionListener.accept(entry.getKey());
+            }
+        }
+    }
+
+    public long size() {
+        return index.size();
+    }
+
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    public long capacity() {
+        return (long) segmentSize * segments.length;
+    }
+
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long rejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    private boolean isExpired(Slot slot, long now) {
+        return expireAfterWriteNanos > 0 && now - slot.writeTime() >= expireAfterWriteNanos;
+    }
+
+    private void advance() {
+        if (segments[current].buffer != null) {
+            current = (current + 1) % segments.length;
+        }
+        Segment segment = segments[current];
+        if (segment.buffer == null) {
+            segment.buffer = ByteBuffer.allocateDirect(segmentSize);
+        } else {
+            recycle(current, segment);
+        }
+        writeOffset = 0;
+    }
+
+    private void recycle(int segmentIndex, Segment segment) {
+        long generation = segment.generation;
+        segment.generation = generation + 1;
+        VarHandle.storeStoreFence();
+        for (Map.Entry<Object, Slot> entry : index.entrySet()) {
+            Slot slot = entry.getValue();
+            if (slot.segment() == segmentIndex && slot.generation() == generation
+                    && index.remove(entry.getKey(), slot)) {
+                usedBytes.addAndGet(-slot.length());
+                evictionCount.increment();
+                evictionListener.accept(entry.getKey());
+            }
+        }
+    }
+
+    public record Entry(byte[] bytes, long writeTime, Runnable refresher) {
+    }
+
+    private record Slot(int segment, long generation, int offset, int length,
+                        long writeTime, Runnable refresher) {
+    }
+
+    private static final class Segment {
+        private volatile ByteBuffer buffer;
+        private volatile long generation;
+    }
+}
@@ -0,0 +1,170 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.OptionalLong;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class PostgresInvalidationTransport implements InvalidationTransport {
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(PostgresInvalidationTransport.class);
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int POLL_TIMEOUT_MILLIS = 500;
+    private static final long INITIAL_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final long FIRST_LISTEN_TIMEOUT_MILLIS = 5_000;
+    private static final long NO_VERSION = -1;
+    private static final String PUBLISH_SQL = "WITH bumped AS ("
+            + "UPDATE cache_invalidation_version SET version = version + 1 RETURNING version)"
+            + " SELECT pg_notify(?, bumped.version || ' ' || ?) FROM bumped";
+    private static final String VERSION_SQL = "SELECT version FROM cache_invalidation_version";
+
+    private final DataSource dataSource;
+    private final String channel;
+    private volatile boolean running;
+    private volatile long deliveredVersion = NO_VERSION;
+    private volatile CountDownLatch listening = new CountDownLatch(0);
+    private Thread listener;
+
+    public PostgresInvalidationTransport(DataSource dataSource, String channel) {
+        if (!CHANNEL_PATTERN.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+        this.dataSource = dataSource;
+        this.channel = channel;
+    }
+
+    @Override
+    public void publish(String payload) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(PUBLISH_SQL)) {
+            statement.setString(1, channel);
+            statement.setString(2, payload);
+            statement.execute();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("Failed to publish cache invalidation on channel {}", channel, e);
+        }
+    }
+
+    // Kept after stop, so a snapshot taken on shutdown can record it.
+    @Override
+    public OptionalLong deliveredVersion() {
+        long version = deliveredVersion;
+        return version == NO_VERSION ? OptionalLong.empty() : OptionalLong.of(version);
+    }
+
+    @Override
+    public synchronized void start(Consumer<String> receiver, Runnable onGap) {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(() -> listen(receiver, onGap), "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listening = new CountDownLatch(1);
+        listener.start();
+        // Lets a snapshot restored right after start compare against the current number.
+        try {
+            listening.await(FIRST_LISTEN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener = null;
+        }
+    }
+
+    private void listen(Consumer<String> receiver, Runnable onGap) {
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        boolean gap = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                // Read once LISTEN is in effect: every later change arrives as a notification.
+                deliveredVersion = readVersion(connection);
+                listening.countDown();
+                if (gap) {
+                    onGap.run();
+                    gap = false;
+                }
+                backoff = INITIAL_BACKOFF_MILLIS;
+                while (running) {
+                    PGNotification[] notifications =
+                            pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        deliver(notifications, receiver);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                deliveredVersion = NO_VERSION;
+                gap = true;
+                LOGGER.warn("Cache invalidation channel {} lost, reconnecting in {} ms",
+                        channel, backoff, e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void deliver(PGNotification[] notifications, Consumer<String> receiver) {
+        for (PGNotification notification : notifications) {
+            String parameter = notification.getParameter();
+            int space = parameter.indexOf(' ');
+            long version;
+            try {
+                version = Long.parseLong(parameter.substring(0, Math.max(space, 0)));
+            } catch (NumberFormatException e) {
+                // Not numbered, e.g. sent by a node of an older version.
+                version = NO_VERSION;
+                space = -1;
+            }
+            try {
+                receiver.accept(parameter.substring(space + 1));
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to apply cache invalidation from channel {}", channel, e);
+            }
+            deliveredVersion = version;
+        }
+    }
+
+    private static long readVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(VERSION_SQL)) {
+            return result.next() ? result.getLong(1) : NO_VERSION;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+record SearchRule<E>(String cacheName, Class<E> entityClass, Function<E, ?> attribute,
+                     BiPredicate<Object, Object> matcher) {
+
+    static final BiPredicate<Object, Object> EQUALS = Objects::equals;
+
+    SearchRule(String cacheName, Class<E> entityClass, Function<E, ?> attribute) {
+        this(cacheName, entityClass, attribute, null);
+    }
+
+    boolean cached() {
+        return matcher != null;
+    }
+
+    Object valueOf(Object entity) {
+        return entityClass.isInstance(entity) ? attribute.apply(entityClass.cast(entity)) : null;
+    }
+
+    boolean matches(Object key, Object value) {
+        return matcher.test(key, value);
+    }
+}
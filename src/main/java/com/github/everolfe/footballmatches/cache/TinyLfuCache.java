@@ -0,0 +1,241 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.NullValue;
+
+public class TinyLfuCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<Object, Object> store;
+    private final OffHeapStore offHeap;
+    private final CacheValueSerializer serializer;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight =
+            new ConcurrentHashMap<>();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder coalescedLoadCount = new LongAdder();
+
+    public TinyLfuCache(String name, Cache<Object, Object> store, boolean allowNullValues) {
+        this(name, store, null, null, allowNullValues);
+    }
+
+    public TinyLfuCache(String name, Cache<Object, Object> store, OffHeapStore offHeap,
+                        CacheValueSerializer serializer, boolean allowNullValues) {
+        super(allowNullValues);
+        this.name = name;
+        this.store = store;
+        this.offHeap = offHeap;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<Object, Object> getNativeCache() {
+        return store;
+    }
+
+    public OffHeapStore getOffHeapStore() {
+        return offHeap;
+    }
+
+    public Set<Object> keys() {
+        if (offHeap == null) {
+            return store.keys();
+        }
+        Set<Object> keys = new HashSet<>(offHeap.keys());
+        keys.addAll(store.keys());
+        return keys;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        if (CacheRefreshContext.isBypassing()) {
+            return null;
+        }
+        Object value = store.get(key);
+        if (value != null || offHeap == null) {
+            return value;
+        }
+        return promote(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, load);
+        if (running != null) {
+            coalescedLoadCount.increment();
+            return (T) fromStoreValue(await(key, valueLoader, running));
+        }
+        try {
+            cached = get(key);
+            if (cached != null) {
+                load.complete(toStoreValue(cached.get()));
+                return (T) cached.get();
+            }
+            loadCount.increment();
+            T value = valueLoader.call();
+            put(key, value);
+            load.complete(toStoreValue(value));
+            return value;
+        } catch (Exception e) {
+            load.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    public long loadCount() {
+        return loadCount.sum();
+    }
+
+    public long coalescedLoadCount() {
+        return coalescedLoadCount.sum();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        Runnable refresher = CacheRefreshContext.currentRefresher();
+        if (offHeap != null) {
+            writeOffHeap(key, storeValue, refresher, System.nanoTime());
+        }
+        store.put(key, storeValue, refresher);
+    }
+
+    void restore(Object key, Object storeValue, long writeTime) {
+        if (offHeap != null) {
+            writeOffHeap(key, storeValue, null, writeTime);
+        }
+        store.putIfAbsent(key, storeValue, null, writeTime);
+    }
+
+    void forEachEntry(Cache.EntryVisitor<Object, Object> visitor) {
+        Set<Object> visited = new HashSet<>();
+        store.forEachEntry((key, value, ageNanos) -> {
+            visited.add(key);
+            visitor.visit(key, value, ageNanos);
+        });
+        if (offHeap == null) {
+            return;
+        }
+        for (Object key : offHeap.keys()) {
+            OffHeapStore.Entry entry = visited.contains(key) ? null : offHeap.get(key);
+            if (entry == null) {
+                continue;
+            }
+            try {
+                visitor.visit(key, serializer.deserialize(entry.bytes()),
+                        System.nanoTime() - entry.writeTime());
+            } catch (IOException e) {
+                offHeap.remove(key);
+            }
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (offHeap == null) {
+            return toValueWrapper(store.putIfAbsent(key, toStoreValue(value)));
+        }
+        ValueWrapper existing = get(key);
+        if (existing == null) {
+            put(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (offHeap != null) {
+            offHeap.remove(key);
+        }
+        store.remove(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean removed = offHeap != null && offHeap.remove(key);
+        return store.remove(key) != null || removed;
+    }
+
+    @Override
+    public void clear() {
+        if (offHeap != null) {
+            offHeap.clear();
+        }
+        store.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = store.size() > 0 || offHeap != null && offHeap.size() > 0;
+        clear();
+        return notEmpty;
+    }
+
+    public void cleanUp() {
+        store.cleanUp();
+        if (offHeap != null) {
+            offHeap.cleanUp();
+        }
+    }
+
+    private Object await(Object key, Callable<?> valueLoader, CompletableFuture<Object> load) {
+        try {
+            return load.get();
+        } catch (ExecutionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private Object promote(Object key) {
+        OffHeapStore.Entry entry = offHeap.get(key);
+        if (entry == null) {
+            return null;
+        }
+        Object value;
+        try {
+            value = serializer.deserialize(entry.bytes());
+        } catch (IOException e) {
+            offHeap.remove(key);
+            return null;
+        }
+        Object existing = store.putIfAbsent(key, value, entry.refresher(), entry.writeTime());
+        return existing != null ? existing : value;
+    }
+
+    private void writeOffHeap(Object key, Object storeValue, Runnable refresher,
+                              long writeTime) {
+        if (storeValue instanceof NullValue) {
+            offHeap.remove(key);
+            return;
+        }
+        try {
+            offHeap.put(key, serializer.serialize(storeValue), refresher, writeTime);
+        } catch (IOException e) {
+            offHeap.remove(key);
+        }
+    }
+}
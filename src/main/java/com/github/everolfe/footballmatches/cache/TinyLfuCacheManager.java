@@ -0,0 +1,110 @@
+package com.github.everolfe.footballmatches.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+public class TinyLfuCacheManager implements CacheManager, DisposableBean {
+    private static final String CACHE_MANAGER_TAG = "cache.manager";
+    private static final String CACHE_MANAGER_NAME = "cacheManager";
+
+    private final ConcurrentMap<String, TinyLfuCache> caches = new ConcurrentHashMap<>();
+    private final CacheRegionProperties properties;
+    private final CacheDependencyIndex dependencyIndex;
+    private final CacheValueSerializer serializer;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    public TinyLfuCacheManager(CacheRegionProperties properties,
+                               CacheDependencyIndex dependencyIndex,
+                               CacheValueSerializer serializer,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.dependencyIndex = dependencyIndex;
+        this.serializer = serializer;
+        this.meterRegistry = meterRegistry;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-refresh-");
+        threadFactory.setDaemon(true);
+        this.refreshExecutor = new ThreadPoolExecutor(
+                properties.getRefreshThreads(), properties.getRefreshThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getRefreshQueueCapacity()),
+                threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        properties.getRegions().keySet().forEach(this::getCache);
+    }
+
+    @Override
+    public TinyLfuCache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    @Scheduled(fixedDelayString = "${cache.clean-up-interval:PT30S}")
+    public void cleanUp() {
+        caches.values().forEach(TinyLfuCache::cleanUp);
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private TinyLfuCache createCache(String name) {
+        CacheRegionProperties.Region region = properties.resolve(name);
+        Weigher<Object, Object> weigher = region.isWeighted()
+                ? Weigher.collectionSize()
+                : Weigher.singleton();
+        CacheListener<Object, Object> listener = dependencyIndex.listenerFor(name);
+        if (!region.isOffHeap()) {
+            Cache<Object, Object> store =
+                    new Cache<>(region.toPolicy(), weigher, refreshExecutor, listener);
+            return bind(new TinyLfuCache(name, store, true));
+        }
+        OffHeapStore offHeap = new OffHeapStore(region.getOffHeapSize().toBytes(),
+                (int) properties.getOffHeapSegmentSize().toBytes(),
+                region.getExpireAfterWrite());
+        // An entry stays indexed while either tier still holds it.
+        Cache<Object, Object> store = new Cache<>(region.toPolicy(), weigher, refreshExecutor,
+                new CacheListener<>() {
+                    @Override
+                    public void onWrite(Object key, Object value) {
+                        listener.onWrite(key, value);
+                    }
+
+                    @Override
+                    public void onRemoval(Object key, Object value) {
+                        if (!offHeap.containsKey(key)) {
+                            listener.onRemoval(key, value);
+                        }
+                    }
+                });
+        offHeap.onEviction(key -> {
+            if (!store.containsKey(key)) {
+                listener.onRemoval(key, null);
+            }
+        });
+        return bind(new TinyLfuCache(name, store, offHeap, serializer, true));
+    }
+
+    private TinyLfuCache bind(TinyLfuCache cache) {
+        if (meterRegistry != null) {
+            new TinyLfuCacheMeterBinder(cache, Tags.of(CACHE_MANAGER_TAG, CACHE_MANAGER_NAME))
+                    .bindTo(meterRegistry);
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.everolfe.footballmatches.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+public class TinyLfuCacheMeterBinder extends CacheMeterBinder<TinyLfuCache> {
+
+    private final TinyLfuCache cache;
+    private final Cache<Object, Object> store;
+    private final OffHeapStore offHeap;
+
+    public TinyLfuCacheMeterBinder(TinyLfuCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+        this.cache = cache;
+        this.store = cache.getNativeCache();
+        this.offHeap = cache.getOffHeapStore();
+    }
+
+    @Override
+    protected Long size() {
+        return store.size();
+    }
+
+    @Override
+    protected long hitCount() {
+        return store.stats().hitCount() + offHeapHits();
+    }
+
+    @Override
+    protected Long missCount() {
+        return store.stats().missCount() - offHeapHits();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return store.stats().evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        return store.stats().putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        Gauge.builder("cache.weighted.size", store, Cache::weightedSize)
+                .tags(getTagsWithCacheName())
+                .description("The sum of the weights of the entries in the cache")
+                .register(registry);
+        Gauge.builder("cache.max.weight", store, Cache::maximumWeight)
+                .tags(getTagsWithCacheName())
+                .description("The maximum weight the cache may hold")
+                .register(registry);
+        FunctionCounter.builder("cache.eviction.weight", store, c -> c.stats().evictionWeight())
+                .tags(getTagsWithCacheName())
+                .description("The sum of the weights of evicted entries")
+                .register(registry);
+        FunctionCounter.builder("cache.refreshes", store, c -> c.stats().refreshCount())
+                .tags(getTagsWithCacheName())
+                .description("The number of refresh-ahead reloads that were started")
+                .register(registry);
+        FunctionCounter.builder("cache.loads", cache, TinyLfuCache::loadCount)
+                .tags(getTagsWithCacheName())
+                .description("The number of values loaded after a miss")
+                .register(registry);
+        FunctionCounter.builder("cache.loads.coalesced", cache, TinyLfuCache::coalescedLoadCount)
+                .tags(getTagsWithCacheName())
+                .description("Misses that waited for a load already running for the same key")
+                .register(registry);
+        if (offHeap == null) {
+            return;
+        }
+        Gauge.builder("cache.offheap.size", offHeap, OffHeapStore::size)
+                .tags(getTagsWithCacheName())
+                .description("The number of entries held in the off-heap tier")
+                .register(registry);
+        Gauge.builder("cache.offheap.used", offHeap, OffHeapStore::usedBytes)
+                .tags(getTagsWithCacheName())
+                .baseUnit("bytes")
+                .description("Bytes of live serialized values in the off-heap tier")
+                .register(registry);
+        Gauge.builder("cache.offheap.capacity", offHeap, OffHeapStore::capacity)
+                .tags(getTagsWithCacheName())
+                .baseUnit("bytes")
+                .description("Direct memory reserved for the off-heap tier")
+                .register(registry);
+        FunctionCounter.builder("cache.offheap.hits", offHeap, OffHeapStore::hitCount)
+                .tags(getTagsWithCacheName())
+                .description("Near-tier misses that were served from the off-heap tier")
+                .register(registry);
+        FunctionCounter.builder("cache.offheap.evictions", offHeap, OffHeapStore::evictionCount)
+                .tags(getTagsWithCacheName())
+                .description("Entries dropped from the off-heap tier by expiry or recycling")
+                .register(registry);
+        FunctionCounter.builder("cache.offheap.rejected", offHeap, OffHeapStore::rejectedCount)
+                .tags(getTagsWithCacheName())
+                .description("Values too large for an off-heap segment, kept on-heap only")
+                .register(registry);
+    }
+
+    private long offHeapHits() {
+        return offHeap == null ? 0 : offHeap.hitCount();
+    }
+}
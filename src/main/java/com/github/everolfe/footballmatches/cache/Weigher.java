@@ -0,0 +1,19 @@
+package com.github.everolfe.footballmatches.cache;
+
+import java.util.Collection;
+
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    int weigh(K key, V value);
+
+    static <K, V> Weigher<K, V> singleton() {
+        return (key, value) -> 1;
+    }
+
+    static <K, V> Weigher<K, V> collectionSize() {
+        return (key, value) -> value instanceof Collection<?> collection
+                ? Math.max(1, collection.size())
+                : 1;
+    }
+}
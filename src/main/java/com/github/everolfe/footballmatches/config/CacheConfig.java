@@ -1,9 +1,66 @@
 package com.github.everolfe.footballmatches.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.everolfe.footballmatches.cache.CacheDependencyIndex;
+import com.github.everolfe.footballmatches.cache.CacheRegionProperties;
+import com.github.everolfe.footballmatches.cache.CacheValueSerializer;
+import com.github.everolfe.footballmatches.cache.InMemoryInvalidationTransport;
+import com.github.everolfe.footballmatches.cache.InvalidationBus;
+import com.github.everolfe.footballmatches.cache.InvalidationTransport;
+import com.github.everolfe.footballmatches.cache.PostgresInvalidationTransport;
+import com.github.everolfe.footballmatches.cache.TinyLfuCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheRegionProperties.class)
 public class CacheConfig {
-}
\ No newline at end of file
+
+    @Bean
+    public CacheDependencyIndex cacheDependencyIndex() {
+        return new CacheDependencyIndex();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.invalidation", name = "transport",
+            havingValue = "postgres", matchIfMissing = true)
+    public InvalidationTransport postgresInvalidationTransport(
+            DataSource dataSource, CacheRegionProperties properties) {
+        return new PostgresInvalidationTransport(
+                dataSource, properties.getInvalidation().getChannel());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "cache.invalidation", name = "transport",
+            havingValue = "memory")
+    public InvalidationTransport inMemoryInvalidationTransport() {
+        return new InMemoryInvalidationTransport();
+    }
+
+    @Bean
+    public InvalidationBus invalidationBus(InvalidationTransport invalidationTransport) {
+        return new InvalidationBus(invalidationTransport);
+    }
+
+    @Bean
+    public CacheValueSerializer cacheValueSerializer(ObjectMapper objectMapper) {
+        return new CacheValueSerializer(objectMapper);
+    }
+
+    @Bean
+    public CacheManager cacheManager(CacheRegionProperties properties,
+                                     CacheDependencyIndex dependencyIndex,
+                                     CacheValueSerializer serializer,
+                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        return new TinyLfuCacheManager(properties, dependencyIndex, serializer,
+                meterRegistry.getIfAvailable());
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.everolfe.footballmatches.config;
+
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheRegionProperties;
+import com.github.everolfe.footballmatches.cache.CacheSnapshot;
+import com.github.everolfe.footballmatches.cache.CacheValueSerializer;
+import com.github.everolfe.footballmatches.cache.CacheWarmUp;
+import com.github.everolfe.footballmatches.cache.CacheWarmUpTask;
+import com.github.everolfe.footballmatches.cache.InvalidationBus;
+import com.github.everolfe.footballmatches.dto.arena.ArenaDtoWithMatches;
+import com.github.everolfe.footballmatches.dto.team.TeamDtoWithMatchesAndPlayers;
+import com.github.everolfe.footballmatches.service.ArenaService;
+import com.github.everolfe.footballmatches.service.MatchService;
+import com.github.everolfe.footballmatches.service.TeamService;
+import java.time.Clock;
+import java.util.List;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheWarmUpConfig {
+
+    @Bean
+    public CacheSnapshot cacheSnapshot(CacheRegionProperties properties,
+                                       CacheValueSerializer serializer,
+                                       InvalidationBus invalidationBus) {
+        return new CacheSnapshot(properties, serializer, invalidationBus::deliveredVersion,
+                Clock.systemUTC());
+    }
+
+    @Bean
+    public CacheWarmUp cacheWarmUp(CacheManager cacheManager, CacheSnapshot snapshot,
+                                   CacheRegionProperties properties,
+                                   List<CacheWarmUpTask> tasks) {
+        return new CacheWarmUp(cacheManager, snapshot, properties, tasks);
+    }
+
+    @Bean
+    public CacheWarmUpTask matchesWarmUp(MatchService matchService) {
+        return new CacheWarmUpTask(CacheConstants.MATCHES_WITH_ARENA_AND_TEAMS,
+                matchService::readAll);
+    }
+
+    @Bean
+    public CacheWarmUpTask matchesByIdWarmUp(MatchService matchService) {
+        return new CacheWarmUpTask(CacheConstants.MATCHES, () ->
+                matchService.cacheById(matchService.readAll()));
+    }
+
+    @Bean
+    public CacheWarmUpTask teamsWarmUp(TeamService teamService) {
+        return new CacheWarmUpTask(CacheConstants.TEAMS_WITH_MATCHES_AND_PLAYERS,
+                teamService::readAll);
+    }
+
+    @Bean
+    public CacheWarmUpTask teamsByIdWarmUp(TeamService teamService) {
+        return new CacheWarmUpTask(CacheConstants.TEAMS, () -> teamService.cacheById(
+                teamService.readAll().stream().map(TeamDtoWithMatchesAndPlayers::getId).toList()));
+    }
+
+    @Bean
+    public CacheWarmUpTask arenasWarmUp(ArenaService arenaService) {
+        return new CacheWarmUpTask(CacheConstants.ARENAS_WITH_MATCHES, arenaService::readAll);
+    }
+
+    @Bean
+    public CacheWarmUpTask arenasByIdWarmUp(ArenaService arenaService) {
+        return new CacheWarmUpTask(CacheConstants.ARENAS, () -> arenaService.cacheById(
+                arenaService.readAll().stream().map(ArenaDtoWithMatches::getId).toList()));
+    }
+}
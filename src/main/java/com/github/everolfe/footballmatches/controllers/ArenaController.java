@@ -1,19 +1,28 @@
 package com.github.everolfe.footballmatches.controllers;
 //
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.everolfe.footballmatches.aspect.CounterAnnotation;
 import com.github.everolfe.footballmatches.controllers.constants.ArenaConstants;
+import com.github.everolfe.footballmatches.controllers.constants.ImportConstants;
+import com.github.everolfe.footballmatches.controllers.constants.PageConstants;
 import com.github.everolfe.footballmatches.controllers.constants.UrlConstants;
+import com.github.everolfe.footballmatches.dto.BulkInsertResult;
+import com.github.everolfe.footballmatches.dto.CursorPage;
+import com.github.everolfe.footballmatches.dto.ImportReport;
 import com.github.everolfe.footballmatches.dto.arena.ArenaDto;
 import com.github.everolfe.footballmatches.dto.arena.ArenaDtoWithMatches;
 import com.github.everolfe.footballmatches.exceptions.ResourcesNotFoundException;
 import com.github.everolfe.footballmatches.model.Arena;
 import com.github.everolfe.footballmatches.service.ArenaService;
+import com.github.everolfe.footballmatches.service.ImportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -23,9 +32,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = ArenaConstants.TAG_NAME,
     description = ArenaConstants.TAG_DESCRIPTION)
@@ -35,6 +46,7 @@ import org.springframework.web.bind.annotation.RestController;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080"})
 public class ArenaController {
     private final ArenaService arenaService;
+    private final ObjectMapper objectMapper;
 
     private static final String NEW_DATA = "New Data";
 
@@ -57,6 +69,29 @@ public class ArenaController {
         return Handler.handleResponse(arenas, !arenas.isEmpty());
     }
 
+    @Operation(summary = ArenaConstants.GET_PAGE_SUMMARY,
+            description = ArenaConstants.GET_PAGE_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.PAGE_URL)
+    public ResponseEntity<CursorPage<ArenaDtoWithMatches>> readArenasPage(
+            @Parameter(description = PageConstants.CURSOR_DESCRIPTION)
+            @RequestParam(value = PageConstants.CURSOR_PARAM, required = false)
+            final String cursor,
+            @Parameter(description = PageConstants.LIMIT_DESCRIPTION)
+            @RequestParam(value = PageConstants.LIMIT_PARAM, required = false)
+            final Integer limit) {
+        final CursorPage<ArenaDtoWithMatches> page = arenaService.readPage(cursor, limit);
+        return Handler.handleResponse(page, !page.getItems().isEmpty());
+    }
+
+    @Operation(summary = ArenaConstants.STREAM_SUMMARY,
+            description = ArenaConstants.STREAM_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.STREAM_URL)
+    public ResponseEntity<StreamingResponseBody> streamArenas() {
+        return JsonStreams.stream(objectMapper, arenaService::readPage);
+    }
+
     @Operation(summary = ArenaConstants.GET_BY_ID_SUMMARY,
             description = ArenaConstants.GET_BY_ID_DESCRIPTION)
     @CounterAnnotation
@@ -104,16 +139,44 @@ public class ArenaController {
         return Handler.handleResponse(arenas, !arenas.isEmpty());
     }
 
+    @Operation(summary = ArenaConstants.GET_BY_CAPACITY_PAGE_SUMMARY,
+            description = ArenaConstants.GET_BY_CAPACITY_PAGE_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.SEARCH_PAGE_URL)
+    public ResponseEntity<CursorPage<ArenaDto>> readArenasByCapacityPage(
+            @Parameter(description = ArenaConstants.MIN_CAPACITY_DESCRIPTION)
+            @RequestParam(required = false) Integer minCapacity,
+            @Parameter(description = ArenaConstants.MAX_CAPACITY_DESCRIPTION)
+            @RequestParam(required = false) Integer maxCapacity,
+            @Parameter(description = PageConstants.CURSOR_DESCRIPTION)
+            @RequestParam(value = PageConstants.CURSOR_PARAM, required = false)
+            final String cursor,
+            @Parameter(description = PageConstants.LIMIT_DESCRIPTION)
+            @RequestParam(value = PageConstants.LIMIT_PARAM, required = false)
+            final Integer limit) {
+        final CursorPage<ArenaDto> page =
+                arenaService.getArenasByCapacityPage(minCapacity, maxCapacity, cursor, limit);
+        return Handler.handleResponse(page, !page.getItems().isEmpty());
+    }
+
 
     @Operation(summary = ArenaConstants.BULK_CREATE_SUMMARY,
             description = ArenaConstants.BULK_CREATE_DESCRIPTION)
     @PostMapping(UrlConstants.BULK_CREATE)
-    public ResponseEntity<Void> createArenasBulk(
+    public ResponseEntity<BulkInsertResult> createArenasBulk(
             @Parameter(description = ArenaConstants.ARENAS_LIST_DESCRIPTION)
             @RequestBody final List<Arena> arenas) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(arenaService.createBulk(arenas));
+    }
 
-        arenaService.createBulk(arenas);
-
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+    @Operation(summary = ArenaConstants.IMPORT_SUMMARY,
+            description = ArenaConstants.IMPORT_DESCRIPTION)
+    @PostMapping(value = UrlConstants.IMPORT_URL,
+            consumes = {ImportConstants.NDJSON, ImportConstants.CSV})
+    public ResponseEntity<ImportReport> importArenas(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType,
+            final InputStream body) {
+        return ResponseEntity.ok(arenaService.importRecords(body, ImportFormat.of(contentType)));
     }
 }
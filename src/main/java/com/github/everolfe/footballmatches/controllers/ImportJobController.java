@@ -0,0 +1,66 @@
+package com.github.everolfe.footballmatches.controllers;
+
+import com.github.everolfe.footballmatches.aspect.CounterAnnotation;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.controllers.constants.ImportConstants;
+import com.github.everolfe.footballmatches.controllers.constants.ImportJobConstants;
+import com.github.everolfe.footballmatches.controllers.constants.UrlConstants;
+import com.github.everolfe.footballmatches.dto.ImportJobDto;
+import com.github.everolfe.footballmatches.service.ImportFormat;
+import com.github.everolfe.footballmatches.service.ImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.InputStream;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = ImportJobConstants.TAG_NAME,
+    description = ImportJobConstants.TAG_DESCRIPTION)
+@RestController
+@RequestMapping(UrlConstants.IMPORTS_URL)
+@AllArgsConstructor
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080"})
+public class ImportJobController {
+    private final ImportJobService importJobService;
+
+    @Operation(summary = ImportJobConstants.SUBMIT_SUMMARY,
+            description = ImportJobConstants.SUBMIT_DESCRIPTION)
+    @PostMapping(consumes = {ImportConstants.NDJSON, ImportConstants.CSV})
+    public ResponseEntity<Integer> submitImportJob(
+            @Parameter(description = ImportJobConstants.ENTITY_DESCRIPTION, example = "MATCH")
+            @RequestParam final EntityType entity,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType,
+            final InputStream body) {
+        return ResponseEntity.accepted()
+                .body(importJobService.submit(entity, ImportFormat.of(contentType), body));
+    }
+
+    @Operation(summary = ImportJobConstants.GET_BY_ID_SUMMARY,
+            description = ImportJobConstants.GET_BY_ID_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.ID_URL)
+    public ResponseEntity<ImportJobDto> readImportJob(
+            @Parameter(description = ImportJobConstants.ID_DESCRIPTION)
+            @PathVariable final Integer id) {
+        return ResponseEntity.ok(importJobService.getJob(id));
+    }
+
+    @Operation(summary = ImportJobConstants.RESUME_SUMMARY,
+            description = ImportJobConstants.RESUME_DESCRIPTION)
+    @PostMapping(UrlConstants.RESUME_URL)
+    public ResponseEntity<ImportJobDto> resumeImportJob(
+            @Parameter(description = ImportJobConstants.ID_DESCRIPTION)
+            @PathVariable final Integer id) {
+        return ResponseEntity.accepted().body(importJobService.resume(id));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.github.everolfe.footballmatches.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.everolfe.footballmatches.dto.CursorPage;
+import com.github.everolfe.footballmatches.service.Keyset;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public final class JsonStreams {
+
+    private JsonStreams() {}
+
+    public static <T> ResponseEntity<StreamingResponseBody> stream(ObjectMapper objectMapper,
+                                                                   PageSource<T> source) {
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                String cursor = null;
+                do {
+                    CursorPage<T> page = source.page(cursor, Keyset.MAX_LIMIT);
+                    for (T item : page.getItems()) {
+                        writer.writeValue(generator, item);
+                    }
+                    generator.flush();
+                    cursor = page.getNext();
+                } while (cursor != null);
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @FunctionalInterface
+    public interface PageSource<T> {
+        CursorPage<T> page(String cursor, Integer limit);
+    }
+}
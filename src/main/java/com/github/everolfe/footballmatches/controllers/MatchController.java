@@ -1,22 +1,32 @@
 package com.github.everolfe.footballmatches.controllers;
 //
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.everolfe.footballmatches.aspect.CounterAnnotation;
+import com.github.everolfe.footballmatches.controllers.constants.ImportConstants;
 import com.github.everolfe.footballmatches.controllers.constants.MatchConstants;
+import com.github.everolfe.footballmatches.controllers.constants.PageConstants;
 import com.github.everolfe.footballmatches.controllers.constants.UrlConstants;
+import com.github.everolfe.footballmatches.dto.BulkInsertResult;
+import com.github.everolfe.footballmatches.dto.CursorPage;
+import com.github.everolfe.footballmatches.dto.ImportReport;
 import com.github.everolfe.footballmatches.dto.match.MatchDtoWithArenaAndTeams;
 import com.github.everolfe.footballmatches.dto.match.MatchRequest;
+import com.github.everolfe.footballmatches.dto.match.MatchTeamLink;
 import com.github.everolfe.footballmatches.exceptions.BadRequestException;
 import com.github.everolfe.footballmatches.exceptions.ResourcesNotFoundException;
 import com.github.everolfe.footballmatches.model.Match;
+import com.github.everolfe.footballmatches.service.ImportFormat;
 import com.github.everolfe.footballmatches.service.MatchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -27,9 +37,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Tag(name = MatchConstants.TAG_NAME,
      description = MatchConstants.TAG_DESCRIPTION)
@@ -40,6 +52,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class MatchController {
 
     private final MatchService matchService;
+    private final ObjectMapper objectMapper;
 
     private static final String NEW_DATA = "New Data";
 
@@ -74,6 +87,29 @@ public class MatchController {
         return Handler.handleResponse(matches, !matches.isEmpty());
     }
 
+    @Operation(summary = MatchConstants.GET_PAGE_SUMMARY,
+            description = MatchConstants.GET_PAGE_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.PAGE_URL)
+    public ResponseEntity<CursorPage<MatchDtoWithArenaAndTeams>> readMatchesPage(
+            @Parameter(description = PageConstants.CURSOR_DESCRIPTION)
+            @RequestParam(value = PageConstants.CURSOR_PARAM, required = false)
+            final String cursor,
+            @Parameter(description = PageConstants.LIMIT_DESCRIPTION)
+            @RequestParam(value = PageConstants.LIMIT_PARAM, required = false)
+            final Integer limit) {
+        final CursorPage<MatchDtoWithArenaAndTeams> page = matchService.readPage(cursor, limit);
+        return Handler.handleResponse(page, !page.getItems().isEmpty());
+    }
+
+    @Operation(summary = MatchConstants.STREAM_SUMMARY,
+            description = MatchConstants.STREAM_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.STREAM_URL)
+    public ResponseEntity<StreamingResponseBody> streamMatches() {
+        return JsonStreams.stream(objectMapper, matchService::readPage);
+    }
+
     @Operation(summary = MatchConstants.GET_BY_ID_SUMMARY,
             description = MatchConstants.GET_BY_ID_DESCRIPTION)
     @CounterAnnotation
@@ -119,6 +155,38 @@ public class MatchController {
         return Handler.handleResponse(matches, !matches.isEmpty());
     }
 
+    @Operation(summary = MatchConstants.COMPLETE_TOURNAMENT_SUMMARY,
+            description = MatchConstants.COMPLETE_TOURNAMENT_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.COMPLETE_URL)
+    public ResponseEntity<List<String>> completeTournamentNames(
+            @Parameter(description = PageConstants.PREFIX_DESCRIPTION)
+            @RequestParam(value = PageConstants.PREFIX_PARAM) final String prefix,
+            @Parameter(description = PageConstants.LIMIT_DESCRIPTION)
+            @RequestParam(value = PageConstants.LIMIT_PARAM, required = false)
+            final Integer limit) {
+        final List<String> names = matchService.completeTournamentNames(prefix, limit);
+        return Handler.handleResponse(names, !names.isEmpty());
+    }
+
+    @Operation(summary = MatchConstants.GET_BY_TOURNAMENT_PAGE_SUMMARY,
+            description = MatchConstants.GET_BY_TOURNAMENT_PAGE_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.SEARCH_PAGE_URL)
+    public ResponseEntity<CursorPage<MatchDtoWithArenaAndTeams>> readMatchesByTournamentPage(
+            @Parameter(description = MatchConstants.TOURNAMENT_DESCRIPTION)
+            @RequestParam(value = "tournament") final String tournamentName,
+            @Parameter(description = PageConstants.CURSOR_DESCRIPTION)
+            @RequestParam(value = PageConstants.CURSOR_PARAM, required = false)
+            final String cursor,
+            @Parameter(description = PageConstants.LIMIT_DESCRIPTION)
+            @RequestParam(value = PageConstants.LIMIT_PARAM, required = false)
+            final Integer limit) {
+        final CursorPage<MatchDtoWithArenaAndTeams> page =
+                matchService.getMatchesByTournamentNamePage(tournamentName, cursor, limit);
+        return Handler.handleResponse(page, !page.getItems().isEmpty());
+    }
+
     @Operation(summary = MatchConstants.GET_BY_DATE_SUMMARY,
             description = MatchConstants.GET_BY_DATE_DESCRIPTION)
     @CounterAnnotation
@@ -137,6 +205,29 @@ public class MatchController {
         return ResponseEntity.status(HttpStatus.OK).body(matchDtoWithArenaAndTeamsList);
     }
 
+    @Operation(summary = MatchConstants.GET_BY_DATE_PAGE_SUMMARY,
+            description = MatchConstants.GET_BY_DATE_PAGE_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.SEARCH_BY_DATE_PAGE_URL)
+    public ResponseEntity<CursorPage<MatchDtoWithArenaAndTeams>> readMatchesByDateTimePage(
+            @Parameter(description = MatchConstants.START_DATE_DESCRIPTION)
+            @RequestParam(value = "startDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            final LocalDateTime startDate,
+            @Parameter(description = MatchConstants.END_DATE_DESCRIPTION)
+            @RequestParam(value = "endDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            final LocalDateTime endDate,
+            @Parameter(description = PageConstants.CURSOR_DESCRIPTION)
+            @RequestParam(value = PageConstants.CURSOR_PARAM, required = false)
+            final String cursor,
+            @Parameter(description = PageConstants.LIMIT_DESCRIPTION)
+            @RequestParam(value = PageConstants.LIMIT_PARAM, required = false)
+            final Integer limit) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(matchService.findMatchesByDatesPage(startDate, endDate, cursor, limit));
+    }
+
 
     @Operation(summary = MatchConstants.SET_ARENA_SUMMARY,
             description = MatchConstants.SET_ARENA_DESCRIPTION)
@@ -186,14 +277,42 @@ public class MatchController {
         return Handler.handleResponse(null, matchService.removeTeamFromMatch(id, teamId));
     }
 
+    @Operation(summary = MatchConstants.ADD_TEAMS_SUMMARY,
+            description = MatchConstants.ADD_TEAMS_DESCRIPTION)
+    @PatchMapping(UrlConstants.ADD_TEAMS_URL)
+    public ResponseEntity<Integer> addTeamsToMatches(
+            @Parameter(description = MatchConstants.LINKS_DESCRIPTION)
+            @RequestBody final List<MatchTeamLink> links)
+            throws ResourcesNotFoundException, BadRequestException {
+        return ResponseEntity.ok(matchService.addTeamsToMatches(links));
+    }
+
+    @Operation(summary = MatchConstants.REMOVE_TEAMS_SUMMARY,
+            description = MatchConstants.REMOVE_TEAMS_DESCRIPTION)
+    @PatchMapping(UrlConstants.REMOVE_TEAMS_URL)
+    public ResponseEntity<Integer> removeTeamsFromMatches(
+            @Parameter(description = MatchConstants.LINKS_DESCRIPTION)
+            @RequestBody final List<MatchTeamLink> links) throws BadRequestException {
+        return ResponseEntity.ok(matchService.removeTeamsFromMatches(links));
+    }
+
     @Operation(summary = MatchConstants.BULK_CREATE_SUMMARY,
             description = MatchConstants.BULK_CREATE_DESCRIPTION)
     @PostMapping(UrlConstants.BULK_CREATE)
-    public ResponseEntity<Void> createMatchesBulk(
+    public ResponseEntity<BulkInsertResult> createMatchesBulk(
             @Parameter(description = MatchConstants.MATCHES_LIST_DESCRIPTION)
             @RequestBody final List<Match> matches) {
-        matchService.createBulk(matches);
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(matchService.createBulk(matches));
     }
 
+    @Operation(summary = MatchConstants.IMPORT_SUMMARY,
+            description = MatchConstants.IMPORT_DESCRIPTION)
+    @PostMapping(value = UrlConstants.IMPORT_URL,
+            consumes = {ImportConstants.NDJSON, ImportConstants.CSV})
+    public ResponseEntity<ImportReport> importMatches(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType,
+            final InputStream body) {
+        return ResponseEntity.ok(matchService.importRecords(body, ImportFormat.of(contentType)));
+    }
 }
\ No newline at end of file
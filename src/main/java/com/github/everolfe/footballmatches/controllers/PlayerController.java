@@ -1,19 +1,28 @@
 package com.github.everolfe.footballmatches.controllers;
 //
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.everolfe.footballmatches.aspect.CounterAnnotation;
+import com.github.everolfe.footballmatches.controllers.constants.ImportConstants;
+import com.github.everolfe.footballmatches.controllers.constants.PageConstants;
 import com.github.everolfe.footballmatches.controllers.constants.PlayerConstants;
 import com.github.everolfe.footballmatches.controllers.constants.UrlConstants;
+import com.github.everolfe.footballmatches.dto.BulkInsertResult;
+import com.github.everolfe.footballmatches.dto.CursorPage;
+import com.github.everolfe.footballmatches.dto.ImportReport;
 import com.github.everolfe.footballmatches.dto.player.PlayerDto;
 import com.github.everolfe.footballmatches.dto.player.PlayerDtoWithTeam;
 import com.github.everolfe.footballmatches.exceptions.ResourcesNotFoundException;
 import com.github.everolfe.footballmatches.model.Player;
+import com.github.everolfe.footballmatches.service.ImportFormat;
 import com.github.everolfe.footballmatches.service.PlayerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -23,9 +32,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 @Tag(name = PlayerConstants.TAG_NAME,
@@ -37,6 +48,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class PlayerController {
 
     private final PlayerService playerService;
+    private final ObjectMapper objectMapper;
 
     private static final String NEW_DATA = "New Data";
 
@@ -62,6 +74,29 @@ public class PlayerController {
         return Handler.handleResponse(players, !players.isEmpty());
     }
 
+    @Operation(summary = PlayerConstants.GET_PAGE_SUMMARY,
+            description = PlayerConstants.GET_PAGE_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.PAGE_URL)
+    public ResponseEntity<CursorPage<PlayerDtoWithTeam>> readPlayersPage(
+            @Parameter(description = PageConstants.CURSOR_DESCRIPTION)
+            @RequestParam(value = PageConstants.CURSOR_PARAM, required = false)
+            final String cursor,
+            @Parameter(description = PageConstants.LIMIT_DESCRIPTION)
+            @RequestParam(value = PageConstants.LIMIT_PARAM, required = false)
+            final Integer limit) {
+        final CursorPage<PlayerDtoWithTeam> page = playerService.readPage(cursor, limit);
+        return Handler.handleResponse(page, !page.getItems().isEmpty());
+    }
+
+    @Operation(summary = PlayerConstants.STREAM_SUMMARY,
+            description = PlayerConstants.STREAM_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.STREAM_URL)
+    public ResponseEntity<StreamingResponseBody> streamPlayers() {
+        return JsonStreams.stream(objectMapper, playerService::readPage);
+    }
+
     @Operation(summary = PlayerConstants.GET_BY_ID_SUMMARY,
             description = PlayerConstants.GET_BY_ID_DESCRIPTION)
     @CounterAnnotation
@@ -110,16 +145,41 @@ public class PlayerController {
         return Handler.handleResponse(players, !players.isEmpty());
     }
 
+    @Operation(summary = PlayerConstants.GET_BY_AGE_PAGE_SUMMARY,
+            description = PlayerConstants.GET_BY_AGE_PAGE_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.SEARCH_PAGE_URL)
+    public ResponseEntity<CursorPage<PlayerDto>> readPlayersByAgePage(
+            @Parameter(description = PlayerConstants.AGE_DESCRIPTION)
+            @RequestParam(value = "age") final Integer age,
+            @Parameter(description = PageConstants.CURSOR_DESCRIPTION)
+            @RequestParam(value = PageConstants.CURSOR_PARAM, required = false)
+            final String cursor,
+            @Parameter(description = PageConstants.LIMIT_DESCRIPTION)
+            @RequestParam(value = PageConstants.LIMIT_PARAM, required = false)
+            final Integer limit) {
+        final CursorPage<PlayerDto> page = playerService.getPlayersByAgePage(age, cursor, limit);
+        return Handler.handleResponse(page, !page.getItems().isEmpty());
+    }
+
 
     @Operation(summary = PlayerConstants.BULK_CREATE_SUMMARY,
             description = PlayerConstants.BULK_CREATE_DESCRIPTION)
     @PostMapping(UrlConstants.BULK_CREATE)
-    public ResponseEntity<Void> createPlayersBulk(
+    public ResponseEntity<BulkInsertResult> createPlayersBulk(
             @Parameter(description = PlayerConstants.PLAYERS_LIST_DESCRIPTION)
             @RequestBody final List<Player> players) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(playerService.createBulk(players));
+    }
 
-        playerService.createBulk(players);
-
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+    @Operation(summary = PlayerConstants.IMPORT_SUMMARY,
+            description = PlayerConstants.IMPORT_DESCRIPTION)
+    @PostMapping(value = UrlConstants.IMPORT_URL,
+            consumes = {ImportConstants.NDJSON, ImportConstants.CSV})
+    public ResponseEntity<ImportReport> importPlayers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType,
+            final InputStream body) {
+        return ResponseEntity.ok(playerService.importRecords(body, ImportFormat.of(contentType)));
     }
 }
@@ -1,20 +1,30 @@
 package com.github.everolfe.footballmatches.controllers;
 //
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.everolfe.footballmatches.aspect.CounterAnnotation;
+import com.github.everolfe.footballmatches.controllers.constants.ImportConstants;
+import com.github.everolfe.footballmatches.controllers.constants.PageConstants;
 import com.github.everolfe.footballmatches.controllers.constants.TeamConstants;
 import com.github.everolfe.footballmatches.controllers.constants.UrlConstants;
+import com.github.everolfe.footballmatches.dto.BulkInsertResult;
+import com.github.everolfe.footballmatches.dto.CursorPage;
+import com.github.everolfe.footballmatches.dto.ImportReport;
 import com.github.everolfe.footballmatches.dto.team.TeamDtoWithMatchesAndPlayers;
 import com.github.everolfe.footballmatches.dto.team.TeamDtoWithPlayers;
+import com.github.everolfe.footballmatches.dto.team.TeamPlayerLink;
 import com.github.everolfe.footballmatches.exceptions.BadRequestException;
 import com.github.everolfe.footballmatches.exceptions.ResourcesNotFoundException;
 import com.github.everolfe.footballmatches.model.Team;
+import com.github.everolfe.footballmatches.service.ImportFormat;
 import com.github.everolfe.footballmatches.service.TeamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -25,9 +35,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 
@@ -40,6 +52,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class TeamController {
 
     private final TeamService teamService;
+    private final ObjectMapper objectMapper;
 
     private static final String NEW_DATA = "New Data";
 
@@ -62,6 +75,29 @@ public class TeamController {
         return Handler.handleResponse(teams, !teams.isEmpty());
     }
 
+    @Operation(summary = TeamConstants.GET_PAGE_SUMMARY,
+            description = TeamConstants.GET_PAGE_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.PAGE_URL)
+    public ResponseEntity<CursorPage<TeamDtoWithMatchesAndPlayers>> readTeamsPage(
+            @Parameter(description = PageConstants.CURSOR_DESCRIPTION)
+            @RequestParam(value = PageConstants.CURSOR_PARAM, required = false)
+            final String cursor,
+            @Parameter(description = PageConstants.LIMIT_DESCRIPTION)
+            @RequestParam(value = PageConstants.LIMIT_PARAM, required = false)
+            final Integer limit) {
+        final CursorPage<TeamDtoWithMatchesAndPlayers> page = teamService.readPage(cursor, limit);
+        return Handler.handleResponse(page, !page.getItems().isEmpty());
+    }
+
+    @Operation(summary = TeamConstants.STREAM_SUMMARY,
+            description = TeamConstants.STREAM_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.STREAM_URL)
+    public ResponseEntity<StreamingResponseBody> streamTeams() {
+        return JsonStreams.stream(objectMapper, teamService::readPage);
+    }
+
     @Operation(summary = TeamConstants.GET_BY_ID_SUMMARY,
             description = TeamConstants.GET_BY_ID_DESCRIPTION)
     @CounterAnnotation
@@ -104,6 +140,38 @@ public class TeamController {
         return Handler.handleResponse(teams, !teams.isEmpty());
     }
 
+    @Operation(summary = TeamConstants.COMPLETE_COUNTRY_SUMMARY,
+            description = TeamConstants.COMPLETE_COUNTRY_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.COMPLETE_URL)
+    public ResponseEntity<List<String>> completeCountries(
+            @Parameter(description = PageConstants.PREFIX_DESCRIPTION)
+            @RequestParam(value = PageConstants.PREFIX_PARAM) final String prefix,
+            @Parameter(description = PageConstants.LIMIT_DESCRIPTION)
+            @RequestParam(value = PageConstants.LIMIT_PARAM, required = false)
+            final Integer limit) {
+        final List<String> countries = teamService.completeCountries(prefix, limit);
+        return Handler.handleResponse(countries, !countries.isEmpty());
+    }
+
+    @Operation(summary = TeamConstants.GET_BY_COUNTRY_PAGE_SUMMARY,
+            description = TeamConstants.GET_BY_COUNTRY_PAGE_DESCRIPTION)
+    @CounterAnnotation
+    @GetMapping(UrlConstants.SEARCH_PAGE_URL)
+    public ResponseEntity<CursorPage<TeamDtoWithPlayers>> readTeamsByCountryPage(
+            @Parameter(description = TeamConstants.COUNTRY_DESCRIPTION)
+            @RequestParam(value = "country") final String country,
+            @Parameter(description = PageConstants.CURSOR_DESCRIPTION)
+            @RequestParam(value = PageConstants.CURSOR_PARAM, required = false)
+            final String cursor,
+            @Parameter(description = PageConstants.LIMIT_DESCRIPTION)
+            @RequestParam(value = PageConstants.LIMIT_PARAM, required = false)
+            final Integer limit) {
+        final CursorPage<TeamDtoWithPlayers> page =
+                teamService.getTeamsByCountryPage(country, cursor, limit);
+        return Handler.handleResponse(page, !page.getItems().isEmpty());
+    }
+
 
 
     @Operation(summary = TeamConstants.REMOVE_PLAYER_SUMMARY,
@@ -154,17 +222,44 @@ public class TeamController {
         return Handler.handleResponse(null, teamService.addPlayerToTeam(id, playerId));
     }
 
+    @Operation(summary = TeamConstants.ADD_PLAYERS_SUMMARY,
+            description = TeamConstants.ADD_PLAYERS_DESCRIPTION)
+    @PatchMapping(UrlConstants.ADD_PLAYERS_URL)
+    public ResponseEntity<Integer> addPlayersToTeams(
+            @Parameter(description = TeamConstants.LINKS_DESCRIPTION)
+            @RequestBody final List<TeamPlayerLink> links)
+            throws ResourcesNotFoundException, BadRequestException {
+        return ResponseEntity.ok(teamService.addPlayersToTeams(links));
+    }
+
+    @Operation(summary = TeamConstants.REMOVE_PLAYERS_SUMMARY,
+            description = TeamConstants.REMOVE_PLAYERS_DESCRIPTION)
+    @PatchMapping(UrlConstants.REMOVE_PLAYERS_URL)
+    public ResponseEntity<Integer> deletePlayersFromTeams(
+            @Parameter(description = TeamConstants.LINKS_DESCRIPTION)
+            @RequestBody final List<TeamPlayerLink> links) throws BadRequestException {
+        return ResponseEntity.ok(teamService.deletePlayersFromTeams(links));
+    }
+
 
 
     @Operation(summary = TeamConstants.BULK_CREATE_SUMMARY,
             description = TeamConstants.BULK_CREATE_DESCRIPTION)
     @PostMapping(UrlConstants.BULK_CREATE)
-    public ResponseEntity<Void> createTeamsBulk(
+    public ResponseEntity<BulkInsertResult> createTeamsBulk(
             @Parameter(description = TeamConstants.TEAMS_LIST_DESCRIPTION)
             @RequestBody final List<Team> teams) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(teamService.createBulk(teams));
+    }
 
-        teamService.createBulk(teams);
-
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+    @Operation(summary = TeamConstants.IMPORT_SUMMARY,
+            description = TeamConstants.IMPORT_DESCRIPTION)
+    @PostMapping(value = UrlConstants.IMPORT_URL,
+            consumes = {ImportConstants.NDJSON, ImportConstants.CSV})
+    public ResponseEntity<ImportReport> importTeams(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType,
+            final InputStream body) {
+        return ResponseEntity.ok(teamService.importRecords(body, ImportFormat.of(contentType)));
     }
 }
@@ -15,6 +15,11 @@ public final class ArenaConstants {
     public static final String UPDATE_SUMMARY = "Update arena";
     public static final String DELETE_SUMMARY = "Delete arena";
     public static final String BULK_CREATE_SUMMARY = "Bulk create arenas";
+    public static final String IMPORT_SUMMARY = "Import arenas from NDJSON or CSV";
+    public static final String GET_PAGE_SUMMARY = "Get a page of arenas";
+    public static final String STREAM_SUMMARY = "Stream all arenas";
+    public static final String GET_BY_CAPACITY_PAGE_SUMMARY =
+            "Get a page of arenas by capacity range";
 
     // Operation descriptions
     public static final String CREATE_DESCRIPTION = "Creates a new football arena";
@@ -30,6 +35,18 @@ public final class ArenaConstants {
             "Removes an arena from the system";
     public static final String BULK_CREATE_DESCRIPTION =
             "Creates multiple arenas in a single operation";
+    public static final String IMPORT_DESCRIPTION =
+            "Reads arenas from the request body one row at a time and inserts them in batches;"
+                    + " rows that fail validation are reported and skipped";
+    public static final String GET_PAGE_DESCRIPTION =
+            "Retrieves arenas with their matches information ordered by identifier,"
+                    + " one page at a time";
+    public static final String STREAM_DESCRIPTION =
+            "Writes all arenas with their matches information as one JSON array,"
+                    + " sending them as they are read";
+    public static final String GET_BY_CAPACITY_PAGE_DESCRIPTION =
+            "Finds arenas within specified capacity range ordered by capacity,"
+                    + " one page at a time";
 
     // Parameter descriptions
     public static final String ID_DESCRIPTION = "Unique identifier of the arena";
@@ -0,0 +1,8 @@
+package com.github.everolfe.footballmatches.controllers.constants;
+
+public final class ImportConstants {
+    private ImportConstants() {}
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+}
@@ -0,0 +1,28 @@
+package com.github.everolfe.footballmatches.controllers.constants;
+
+public final class ImportJobConstants {
+    private ImportJobConstants() {}
+
+    // Tag info
+    public static final String TAG_NAME = "Import Job Controller";
+    public static final String TAG_DESCRIPTION =
+            "Runs bulk imports in the background and reports their progress";
+
+    // Operation summaries
+    public static final String SUBMIT_SUMMARY = "Submit an import job";
+    public static final String GET_BY_ID_SUMMARY = "Get import job by ID";
+    public static final String RESUME_SUMMARY = "Resume an import job";
+
+    // Operation descriptions
+    public static final String SUBMIT_DESCRIPTION =
+            "Stores an NDJSON or CSV upload and imports it in parallel chunks, each committed"
+                    + " on its own; returns the job identifier";
+    public static final String GET_BY_ID_DESCRIPTION =
+            "Retrieves the state of an import job with the rows imported and rejected so far";
+    public static final String RESUME_DESCRIPTION =
+            "Restarts a failed import job from the chunks that have not been committed";
+
+    // Parameter descriptions
+    public static final String ID_DESCRIPTION = "Unique identifier of the import job";
+    public static final String ENTITY_DESCRIPTION = "Kind of records in the upload";
+}
@@ -18,7 +18,16 @@ public final class MatchConstants {
     public static final String DELETE_SUMMARY = "Delete match";
     public static final String ADD_TEAM_SUMMARY = "Add team to match";
     public static final String REMOVE_TEAM_SUMMARY = "Remove team from match";
+    public static final String ADD_TEAMS_SUMMARY = "Add teams to matches";
+    public static final String REMOVE_TEAMS_SUMMARY = "Remove teams from matches";
     public static final String BULK_CREATE_SUMMARY = "Bulk create matches";
+    public static final String IMPORT_SUMMARY = "Import matches from NDJSON or CSV";
+    public static final String GET_PAGE_SUMMARY = "Get a page of matches";
+    public static final String STREAM_SUMMARY = "Stream all matches";
+    public static final String GET_BY_TOURNAMENT_PAGE_SUMMARY =
+            "Get a page of matches by tournament";
+    public static final String GET_BY_DATE_PAGE_SUMMARY = "Get a page of matches by date range";
+    public static final String COMPLETE_TOURNAMENT_SUMMARY = "Complete tournament names";
 
     public static final String CREATE_DESCRIPTION =
             "Creates a new football match";
@@ -41,8 +50,28 @@ public final class MatchConstants {
     public static final String ADD_TEAM_DESCRIPTION = "Adds a team to an existing match";
     public static final String REMOVE_TEAM_DESCRIPTION =
             "Removes a team from an existing match";
+    public static final String ADD_TEAMS_DESCRIPTION =
+            "Adds many teams to matches in one operation; existing links are skipped";
+    public static final String REMOVE_TEAMS_DESCRIPTION =
+            "Removes many teams from matches in one operation";
     public static final String BULK_CREATE_DESCRIPTION =
             "Creates multiple matches in a single operation";
+    public static final String IMPORT_DESCRIPTION =
+            "Reads matches from the request body one row at a time and inserts them in batches;"
+                    + " rows that fail validation are reported and skipped";
+    public static final String GET_PAGE_DESCRIPTION =
+            "Retrieves matches with arena and teams information ordered by identifier,"
+                    + " one page at a time";
+    public static final String STREAM_DESCRIPTION =
+            "Writes all matches with arena and teams information as one JSON array,"
+                    + " sending them as they are read";
+    public static final String GET_BY_TOURNAMENT_PAGE_DESCRIPTION =
+            "Finds matches for specified tournament ordered by identifier, one page at a time";
+    public static final String GET_BY_DATE_PAGE_DESCRIPTION =
+            "Finds matches within specified date range ordered by date, one page at a time";
+    public static final String COMPLETE_TOURNAMENT_DESCRIPTION =
+            "Lists distinct tournament names starting with specified prefix in alphabetical"
+                    + " order";
 
     public static final String MATCH_JSON_DESCRIPTION = "JSON representation of match data";
     public static final String MATCH_ID_DESCRIPTION = "Unique identifier of the match";
@@ -53,4 +82,5 @@ public final class MatchConstants {
     public static final String TIME_DESCRIPTION = "New date and time for the match";
     public static final String TEAM_ID_DESCRIPTION = "Unique identifier of the team";
     public static final String MATCHES_LIST_DESCRIPTION = "List of matches to create";
+    public static final String LINKS_DESCRIPTION = "Pairs of match and team identifiers";
 }
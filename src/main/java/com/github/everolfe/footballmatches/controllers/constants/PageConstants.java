@@ -0,0 +1,16 @@
+package com.github.everolfe.footballmatches.controllers.constants;
+
+public final class PageConstants {
+    private PageConstants() {}
+
+    public static final String CURSOR_PARAM = "cursor";
+    public static final String LIMIT_PARAM = "limit";
+    public static final String PREFIX_PARAM = "prefix";
+
+    public static final String CURSOR_DESCRIPTION =
+            "Cursor returned as 'next' by the previous page; omit for the first page";
+    public static final String LIMIT_DESCRIPTION =
+            "Maximum number of items on the page (default 50, at most 500)";
+    public static final String PREFIX_DESCRIPTION =
+            "Beginning of the name to complete, ignoring case";
+}
@@ -16,6 +16,10 @@ public final class PlayerConstants {
     public static final String UPDATE_SUMMARY = "Update player";
     public static final String DELETE_SUMMARY = "Delete player";
     public static final String BULK_CREATE_SUMMARY = "Bulk create players";
+    public static final String IMPORT_SUMMARY = "Import players from NDJSON or CSV";
+    public static final String GET_PAGE_SUMMARY = "Get a page of players";
+    public static final String STREAM_SUMMARY = "Stream all players";
+    public static final String GET_BY_AGE_PAGE_SUMMARY = "Get a page of players by age";
 
     // Operation descriptions
     public static final String CREATE_DESCRIPTION = "Creates a new football player";
@@ -28,6 +32,17 @@ public final class PlayerConstants {
     public static final String DELETE_DESCRIPTION = "Removes a player from the system";
     public static final String BULK_CREATE_DESCRIPTION =
             "Creates multiple players in a single operation";
+    public static final String IMPORT_DESCRIPTION =
+            "Reads players from the request body one row at a time and inserts them in batches;"
+                    + " rows that fail validation are reported and skipped";
+    public static final String GET_PAGE_DESCRIPTION =
+            "Retrieves players with their team information ordered by identifier,"
+                    + " one page at a time";
+    public static final String STREAM_DESCRIPTION =
+            "Writes all players with their team information as one JSON array,"
+                    + " sending them as they are read";
+    public static final String GET_BY_AGE_PAGE_DESCRIPTION =
+            "Finds players of a specific age ordered by identifier, one page at a time";
 
     // Parameter descriptions
     public static final String PLAYER_JSON_DESCRIPTION = "JSON representation of player data";
@@ -14,10 +14,17 @@ public final class TeamConstants {
     public static final String UPDATE_SUMMARY = "Update team";
     public static final String ADD_PLAYER_SUMMARY = "Add player to team";
     public static final String REMOVE_PLAYER_SUMMARY = "Remove player from team";
+    public static final String ADD_PLAYERS_SUMMARY = "Add players to teams";
+    public static final String REMOVE_PLAYERS_SUMMARY = "Remove players from teams";
     public static final String ADD_MATCH_SUMMARY = "Add match to team";
     public static final String REMOVE_MATCH_SUMMARY = "Remove match from team";
     public static final String DELETE_SUMMARY = "Delete team";
     public static final String BULK_CREATE_SUMMARY = "Bulk create teams";
+    public static final String IMPORT_SUMMARY = "Import teams from NDJSON or CSV";
+    public static final String GET_PAGE_SUMMARY = "Get a page of teams";
+    public static final String STREAM_SUMMARY = "Stream all teams";
+    public static final String GET_BY_COUNTRY_PAGE_SUMMARY = "Get a page of teams by country";
+    public static final String COMPLETE_COUNTRY_SUMMARY = "Complete country names";
 
     // Operation descriptions
     public static final String CREATE_DESCRIPTION = "Creates a new football team";
@@ -30,11 +37,28 @@ public final class TeamConstants {
     public static final String UPDATE_DESCRIPTION = "Updates an existing team's information";
     public static final String ADD_PLAYER_DESCRIPTION = "Adds a player to an existing team";
     public static final String REMOVE_PLAYER_DESCRIPTION = "Removes a player from an existing team";
+    public static final String ADD_PLAYERS_DESCRIPTION =
+            "Moves many players to teams in one operation";
+    public static final String REMOVE_PLAYERS_DESCRIPTION =
+            "Removes many players from their teams in one operation";
     public static final String ADD_MATCH_DESCRIPTION = "Adds a match to an existing team";
     public static final String REMOVE_MATCH_DESCRIPTION = "Removes a match from an existing team";
     public static final String DELETE_DESCRIPTION = "Removes a team from the system";
     public static final String BULK_CREATE_DESCRIPTION =
             "Creates multiple teams in a single operation";
+    public static final String IMPORT_DESCRIPTION =
+            "Reads teams from the request body one row at a time and inserts them in batches;"
+                    + " rows that fail validation are reported and skipped";
+    public static final String GET_PAGE_DESCRIPTION =
+            "Retrieves teams with matches and players information ordered by identifier,"
+                    + " one page at a time";
+    public static final String STREAM_DESCRIPTION =
+            "Writes all teams with matches and players information as one JSON array,"
+                    + " sending them as they are read";
+    public static final String GET_BY_COUNTRY_PAGE_DESCRIPTION =
+            "Finds teams from specified country ordered by identifier, one page at a time";
+    public static final String COMPLETE_COUNTRY_DESCRIPTION =
+            "Lists distinct team countries starting with specified prefix in alphabetical order";
 
     // Parameter descriptions
     public static final String TEAM_JSON_DESCRIPTION = "JSON representation of team data";
@@ -43,4 +67,5 @@ public final class TeamConstants {
     public static final String PLAYER_ID_DESCRIPTION = "Unique identifier of the player";
     public static final String MATCH_ID_DESCRIPTION = "Unique identifier of the match";
     public static final String TEAMS_LIST_DESCRIPTION = "List of teams to create";
+    public static final String LINKS_DESCRIPTION = "Pairs of team and player identifiers";
 }
@@ -8,16 +8,24 @@ public final class UrlConstants {
     public static final String TEAMS_URL = "/teams";
     public static final String MATCHES_URL = "/matches";
     public static final String ARENAS_URL = "/arenas";
+    public static final String IMPORTS_URL = "/imports";
 
     public static final String BULK_CREATE = "/bulk-create";
+    public static final String IMPORT_URL = "/import";
     public static final String CREATE_URL = "/create";
     public static final String SEARCH_URL = "/search";
     public static final String ID_URL = "/{id}";
+    public static final String PAGE_URL = "/page";
+    public static final String STREAM_URL = "/stream";
 
     public static final String SEARCH_BY_DATE_URL = SEARCH_URL + "/by-date";
+    public static final String SEARCH_PAGE_URL = SEARCH_URL + PAGE_URL;
+    public static final String SEARCH_BY_DATE_PAGE_URL = SEARCH_BY_DATE_URL + PAGE_URL;
+    public static final String COMPLETE_URL = SEARCH_URL + "/complete";
 
     public static final String SET_ARENA_URL = ID_URL + "/set-arena";
     public static final String SET_TIME_URL = ID_URL + "/set-time";
+    public static final String RESUME_URL = ID_URL + "/resume";
 
     public static final String ADD_TEAM_URL = ID_URL + "/add-team";
     public static final String REMOVE_TEAM_URL = ID_URL + "/remove-team";
@@ -25,4 +33,9 @@ public final class UrlConstants {
     public static final String REMOVE_MATCH_URL = ID_URL + "/remove-matche";
     public static final String ADD_PLAYER_URL = ID_URL + "/add-player";
     public static final String REMOVE_PLAYER_URL = ID_URL + "/remove-player";
+
+    public static final String ADD_TEAMS_URL = "/add-teams";
+    public static final String REMOVE_TEAMS_URL = "/remove-teams";
+    public static final String ADD_PLAYERS_URL = "/add-players";
+    public static final String REMOVE_PLAYERS_URL = "/remove-players";
 }
@@ -0,0 +1,19 @@
+package com.github.everolfe.footballmatches.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk insert")
+public class BulkInsertResult {
+    private int rows;
+
+    private long elapsedMillis;
+
+    @Schema(description = "Inserted rows per second of wall-clock time")
+    private long rowsPerSecond;
+}
@@ -0,0 +1,18 @@
+package com.github.everolfe.footballmatches.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of a keyset-paginated listing")
+public class CursorPage<T> {
+    private List<T> items;
+
+    @Schema(description = "Cursor of the next page, absent on the last page")
+    private String next;
+}
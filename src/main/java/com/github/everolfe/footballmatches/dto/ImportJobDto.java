@@ -0,0 +1,41 @@
+package com.github.everolfe.footballmatches.dto;
+
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.model.ImportJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "State and progress of an import job")
+public class ImportJobDto {
+    private Integer id;
+
+    private EntityType entity;
+
+    private ImportJobStatus status;
+
+    private int chunks;
+
+    @Schema(description = "Chunks committed so far; a resumed job skips them")
+    private long chunksDone;
+
+    private long rowsImported;
+
+    private long rowsFailed;
+
+    @Schema(description = "Why the job stopped, when it failed")
+    private String error;
+
+    @Schema(description = "First rejected row of each chunk that had one, and chunk failures")
+    private List<String> chunkErrors;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,38 @@
+package com.github.everolfe.footballmatches.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a streaming import")
+public class ImportReport {
+    private long rowsRead;
+
+    private long imported;
+
+    private long failed;
+
+    @Schema(description = "Rejected rows, capped at the configured maximum")
+    private List<RowError> errors;
+
+    private long elapsedMillis;
+
+    @Schema(description = "Imported rows per second of wall-clock time")
+    private long rowsPerSecond;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "A rejected row of an import")
+    public static class RowError {
+        @Schema(description = "Line of the row in the uploaded file, starting at 1")
+        private long line;
+
+        private String message;
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.everolfe.footballmatches.dto.match;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A team taking part in a match")
+public class MatchTeamLink {
+    private Integer matchId;
+    private Integer teamId;
+}
@@ -4,11 +4,14 @@ import com.github.everolfe.footballmatches.dto.player.PlayerDto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 
 @Data
+@NoArgsConstructor
 @Schema(description = "Team with only players")
 public class TeamDtoWithPlayers {
     private Integer id;
@@ -23,4 +26,12 @@ public class TeamDtoWithPlayers {
 
     @Schema(description = "List of players in team")
     private List<PlayerDto> playerDtoList;
+
+    // Used by projection queries; players are added separately.
+    public TeamDtoWithPlayers(Integer id, String teamName, String country) {
+        this.id = id;
+        this.teamName = teamName;
+        this.country = country;
+        this.playerDtoList = new ArrayList<>();
+    }
 }
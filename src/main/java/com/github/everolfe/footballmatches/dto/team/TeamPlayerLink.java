@@ -0,0 +1,15 @@
+package com.github.everolfe.footballmatches.dto.team;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A player belonging to a team")
+public class TeamPlayerLink {
+    private Integer teamId;
+    private Integer playerId;
+}
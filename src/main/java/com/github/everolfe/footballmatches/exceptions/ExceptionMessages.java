@@ -24,4 +24,8 @@ public final class ExceptionMessages {
         return "Player" + DOESNT_EXIST_MESSAGE + id;
     }
 
+    public static String getImportJobNotExistMessage(Integer id) {
+        return "Import job" + DOESNT_EXIST_MESSAGE + id;
+    }
+
 }
@@ -0,0 +1,127 @@
+package com.github.everolfe.footballmatches.index;
+
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.repository.ArenaRepository;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CapacityIndex extends EntityIndex<Integer> {
+
+    private static final long ID_MASK = 0xFFFF_FFFFL;
+
+    private final ArenaRepository arenaRepository;
+    private final Map<Integer, Integer> capacityById = new HashMap<>();
+    private long[] keys = new long[16];
+    private int size;
+
+    public CapacityIndex(ArenaRepository arenaRepository, CacheInvalidator cacheInvalidator) {
+        super(EntityType.ARENA, CacheConstants.ARENAS_BY_CAPACITY, Integer.class,
+                cacheInvalidator);
+        this.arenaRepository = arenaRepository;
+    }
+
+    public List<Integer> between(int minCapacity, int maxCapacity) {
+        if (minCapacity > maxCapacity) {
+            return new ArrayList<>();
+        }
+        return read(() -> {
+            int from = position(key(minCapacity, 0));
+            int to = positionAfter(key(maxCapacity, -1));
+            List<Integer> ids = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                ids.add((int) keys[i]);
+            }
+            return ids;
+        });
+    }
+
+    @Override
+    protected List<Row<Integer>> loadAfter(int afterId, int limit) {
+        return arenaRepository.findDtosAfter(afterId, Limit.of(limit)).stream()
+                .map(arena -> new Row<>(arena.getId(), arena.getCapacity()))
+                .toList();
+    }
+
+    @Override
+    protected void index(Integer id, Integer capacity) {
+        long key = key(capacity, id);
+        int at = position(key);
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        keys[at] = key;
+        size++;
+        capacityById.put(id, capacity);
+    }
+
+    // Sorts the batch and merges it in one pass instead of shifting the array per id.
+    @Override
+    protected void indexAll(List<Row<Integer>> rows) {
+        long[] added = new long[rows.size()];
+        for (int i = 0; i < added.length; i++) {
+            Row<Integer> row = rows.get(i);
+            added[i] = key(row.value(), row.id());
+            capacityById.put(row.id(), row.value());
+        }
+        Arrays.sort(added);
+        long[] merged = new long[Math.max(16, size + added.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size && j < added.length) {
+            merged[k++] = keys[i] <= added[j] ? keys[i++] : added[j++];
+        }
+        while (i < size) {
+            merged[k++] = keys[i++];
+        }
+        while (j < added.length) {
+            merged[k++] = added[j++];
+        }
+        keys = merged;
+        size = k;
+    }
+
+    @Override
+    protected void unindex(Integer id) {
+        Integer capacity = capacityById.remove(id);
+        if (capacity == null) {
+            return;
+        }
+        int at = position(key(capacity, id));
+        if (at < size && keys[at] == key(capacity, id)) {
+            System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+            size--;
+        }
+    }
+
+    @Override
+    protected void clear() {
+        capacityById.clear();
+        keys = new long[16];
+        size = 0;
+    }
+
+    // Orders by capacity, then by id read as unsigned.
+    private static long key(int capacity, int id) {
+        return (long) capacity << 32 | id & ID_MASK;
+    }
+
+    private int position(long key) {
+        int at = Arrays.binarySearch(keys, 0, size, key);
+        return at < 0 ? -at - 1 : at;
+    }
+
+    private int positionAfter(long key) {
+        int at = Arrays.binarySearch(keys, 0, size, key);
+        return at < 0 ? -at - 1 : at + 1;
+    }
+}
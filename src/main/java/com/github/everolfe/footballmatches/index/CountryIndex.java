@@ -0,0 +1,27 @@
+package com.github.everolfe.footballmatches.index;
+
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.repository.TeamRepository;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CountryIndex extends TermIndex {
+
+    private final TeamRepository teamRepository;
+
+    public CountryIndex(TeamRepository teamRepository, CacheInvalidator cacheInvalidator) {
+        super(EntityType.TEAM, CacheConstants.TEAMS_BY_COUNTRY, cacheInvalidator);
+        this.teamRepository = teamRepository;
+    }
+
+    @Override
+    protected List<Row<String>> loadAfter(int afterId, int limit) {
+        return teamRepository.findCountriesAfter(afterId, Limit.of(limit)).stream()
+                .map(team -> new Row<>(team.getId(), team.getTerm()))
+                .toList();
+    }
+}
@@ -0,0 +1,177 @@
+package com.github.everolfe.footballmatches.index;
+
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.cache.InvalidationEvent;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+public abstract class EntityIndex<V> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityIndex.class);
+    private static final int LOAD_BATCH = 10_000;
+
+    private final EntityType type;
+    private final String searchRegion;
+    private final Class<V> valueType;
+    private final ExecutorService loader;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Ids put or removed while a load runs; the load must not overwrite them.
+    private final Set<Integer> touchedWhileLoading = new HashSet<>();
+    private boolean loading;
+    private volatile boolean ready;
+
+    protected EntityIndex(EntityType type, String searchRegion, Class<V> valueType,
+                          CacheInvalidator cacheInvalidator) {
+        this.type = type;
+        this.searchRegion = searchRegion;
+        this.valueType = valueType;
+        CustomizableThreadFactory threadFactory =
+                new CustomizableThreadFactory(searchRegion + "-index-loader-");
+        threadFactory.setDaemon(true);
+        this.loader = Executors.newSingleThreadExecutor(threadFactory);
+        cacheInvalidator.addListener(this::apply, this::reload);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        ready = false;
+        try {
+            loader.execute(this::load);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("The {} index is shut down, not reloading", searchRegion);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void put(Integer id, V value) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                touchedWhileLoading.add(id);
+            }
+            unindex(id);
+            if (value != null) {
+                index(id, value);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer id) {
+        put(id, null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    protected <T> T read(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    protected abstract List<Row<V>> loadAfter(int afterId, int limit);
+
+    protected abstract void index(Integer id, V value);
+
+    protected void indexAll(List<Row<V>> rows) {
+        for (Row<V> row : rows) {
+            index(row.id(), row.value());
+        }
+    }
+
+    protected abstract void unindex(Integer id);
+
+    protected abstract void clear();
+
+    void apply(List<InvalidationEvent> events) {
+        for (InvalidationEvent event : events) {
+            Integer id = event.entity().id();
+            if (event.entity().type() != type || id == null) {
+                continue;
+            }
+            Object value = event.searchValues().get(searchRegion);
+            if (event.kind() == InvalidationEvent.Kind.DELETED) {
+                remove(id);
+            } else if (valueType.isInstance(value)) {
+                put(id, valueType.cast(value));
+            }
+        }
+    }
+
+    void load() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            int loaded = 0;
+            int afterId = -1;
+            List<Row<V>> batch;
+            do {
+                batch = loadAfter(afterId, LOAD_BATCH);
+                lock.writeLock().lock();
+                try {
+                    List<Row<V>> rows = new ArrayList<>(batch.size());
+                    for (Row<V> row : batch) {
+                        if (row.value() != null && !touchedWhileLoading.contains(row.id())) {
+                            rows.add(row);
+                        }
+                    }
+                    indexAll(rows);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).id();
+                    loaded += batch.size();
+                }
+            } while (batch.size() == LOAD_BATCH);
+            ready = true;
+            LOGGER.info("The {} index loaded {} rows in {} ms", searchRegion, loaded,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not load the {} index, searches use the database",
+                    searchRegion, e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                loading = false;
+                touchedWhileLoading.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    protected record Row<V>(Integer id, V value) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.everolfe.footballmatches.index;
+
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.repository.MatchRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MatchScheduleIndex extends EntityIndex<LocalDateTime> {
+
+    private final MatchRepository matchRepository;
+    private final NavigableMap<Long, DayBucket> days = new TreeMap<>();
+    private final Map<Integer, LocalDateTime> timeById = new HashMap<>();
+
+    public MatchScheduleIndex(MatchRepository matchRepository,
+                              CacheInvalidator cacheInvalidator) {
+        super(EntityType.MATCH, CacheConstants.MATCHES_BY_DATE, LocalDateTime.class,
+                cacheInvalidator);
+        this.matchRepository = matchRepository;
+    }
+
+    public List<Integer> between(LocalDateTime start, LocalDateTime end) {
+        if (start.isAfter(end)) {
+            return new ArrayList<>();
+        }
+        long startDay = start.toLocalDate().toEpochDay();
+        long endDay = end.toLocalDate().toEpochDay();
+        long startNanos = start.toLocalTime().toNanoOfDay();
+        long endNanos = end.toLocalTime().toNanoOfDay();
+        return read(() -> {
+            List<Integer> ids = new ArrayList<>();
+            for (Map.Entry<Long, DayBucket> day
+                    : days.subMap(startDay, true, endDay, true).entrySet()) {
+                DayBucket bucket = day.getValue();
+                int from = day.getKey() == startDay ? bucket.firstAtOrAfter(startNanos) : 0;
+                int to = day.getKey() == endDay ? bucket.firstAfter(endNanos) : bucket.size;
+                for (int i = from; i < to; i++) {
+                    ids.add(bucket.ids[i]);
+                }
+            }
+            return ids;
+        });
+    }
+
+    @Override
+    protected List<Row<LocalDateTime>> loadAfter(int afterId, int limit) {
+        return matchRepository.findTimesAfter(afterId, Limit.of(limit)).stream()
+                .map(match -> new Row<>(match.getId(), match.getDateTime()))
+                .toList();
+    }
+
+    @Override
+    protected void index(Integer id, LocalDateTime dateTime) {
+        timeById.put(id, dateTime);
+        days.computeIfAbsent(dateTime.toLocalDate().toEpochDay(), day -> new DayBucket())
+                .add(dateTime.toLocalTime().toNanoOfDay(), id);
+    }
+
+    @Override
+    protected void unindex(Integer id) {
+        LocalDateTime dateTime = timeById.remove(id);
+        if (dateTime == null) {
+            return;
+        }
+        long day = dateTime.toLocalDate().toEpochDay();
+        DayBucket bucket = days.get(day);
+        if (bucket != null && bucket.remove(dateTime.toLocalTime().toNanoOfDay(), id)
+                && bucket.size == 0) {
+            days.remove(day);
+        }
+    }
+
+    @Override
+    protected void clear() {
+        days.clear();
+        timeById.clear();
+    }
+
+    private static final class DayBucket {
+        private long[] nanos = new long[4];
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(long nanoOfDay, int id) {
+            int at = position(nanoOfDay, id);
+            if (size == ids.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(nanos, at, nanos, at + 1, size - at);
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            nanos[at] = nanoOfDay;
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(long nanoOfDay, int id) {
+            int at = position(nanoOfDay, id);
+            if (at == size || nanos[at] != nanoOfDay || ids[at] != id) {
+                return false;
+            }
+            System.arraycopy(nanos, at + 1, nanos, at, size - at - 1);
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        int firstAtOrAfter(long nanoOfDay) {
+            return position(nanoOfDay, Integer.MIN_VALUE);
+        }
+
+        int firstAfter(long nanoOfDay) {
+            return position(nanoOfDay + 1, Integer.MIN_VALUE);
+        }
+
+        private int position(long nanoOfDay, int id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (nanos[mid] < nanoOfDay || nanos[mid] == nanoOfDay && ids[mid] < id) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
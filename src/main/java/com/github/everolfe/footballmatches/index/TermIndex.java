@@ -0,0 +1,114 @@
+package com.github.everolfe.footballmatches.index;
+
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+public abstract class TermIndex extends EntityIndex<String> {
+
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Integer, Postings> postingsById = new HashMap<>();
+
+    protected TermIndex(EntityType type, String searchRegion,
+                        CacheInvalidator cacheInvalidator) {
+        super(type, searchRegion, String.class, cacheInvalidator);
+    }
+
+    public List<Integer> exact(String term) {
+        String folded = fold(term);
+        return read(() -> {
+            Postings postings = terms.get(folded);
+            return postings == null ? new ArrayList<>() : postings.ids();
+        });
+    }
+
+    public List<String> complete(String prefix, int limit) {
+        String folded = fold(prefix);
+        return read(() -> {
+            List<String> completions = new ArrayList<>(Math.min(limit, terms.size()));
+            for (Postings postings : terms.tailMap(folded, true).values()) {
+                if (completions.size() == limit || !postings.term.startsWith(folded)) {
+                    break;
+                }
+                completions.add(postings.spelling);
+            }
+            return completions;
+        });
+    }
+
+    public static String fold(String term) {
+        return term.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    protected void index(Integer id, String term) {
+        Postings postings = terms.computeIfAbsent(fold(term), folded -> new Postings(folded, term));
+        postings.add(id);
+        postingsById.put(id, postings);
+    }
+
+    @Override
+    protected void unindex(Integer id) {
+        Postings postings = postingsById.remove(id);
+        if (postings != null && postings.remove(id) && postings.size == 0) {
+            terms.remove(postings.term);
+        }
+    }
+
+    @Override
+    protected void clear() {
+        terms.clear();
+        postingsById.clear();
+    }
+
+    private static final class Postings {
+        private final String term;
+        private final String spelling;
+        private int[] ids = new int[2];
+        private int size;
+
+        Postings(String term, String spelling) {
+            this.term = term;
+            this.spelling = spelling;
+        }
+
+        void add(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        List<Integer> ids() {
+            List<Integer> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(ids[i]);
+            }
+            return list;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.everolfe.footballmatches.index;
+
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.repository.MatchRepository;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TournamentIndex extends TermIndex {
+
+    private final MatchRepository matchRepository;
+
+    public TournamentIndex(MatchRepository matchRepository, CacheInvalidator cacheInvalidator) {
+        super(EntityType.MATCH, CacheConstants.MATCHES_BY_TOURNAMENT, cacheInvalidator);
+        this.matchRepository = matchRepository;
+    }
+
+    @Override
+    protected List<Row<String>> loadAfter(int afterId, int limit) {
+        return matchRepository.findTournamentNamesAfter(afterId, Limit.of(limit)).stream()
+                .map(match -> new Row<>(match.getId(), match.getTerm()))
+                .toList();
+    }
+}
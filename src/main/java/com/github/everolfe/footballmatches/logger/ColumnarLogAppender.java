@@ -0,0 +1,183 @@
+package com.github.everolfe.footballmatches.logger;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.AppenderBase;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class ColumnarLogAppender extends AppenderBase<ILoggingEvent> {
+
+    static final String FILE_SUFFIX = ".blk";
+
+    private String directory = "./logs/structured";
+    private int blockRecords = 512;
+    private long flushMillis = 1000;
+    private int maxHistory = 30;
+
+    private LogBlock.Builder block = new LogBlock.Builder();
+    private LocalDate blockDate;
+    private long blockStarted;
+    private FileChannel file;
+    private LocalDate fileDate;
+    private ScheduledExecutorService flusher;
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public void setBlockRecords(int blockRecords) {
+        this.blockRecords = blockRecords;
+    }
+
+    public void setFlushMillis(long flushMillis) {
+        this.flushMillis = flushMillis;
+    }
+
+    public void setMaxHistory(int maxHistory) {
+        this.maxHistory = maxHistory;
+    }
+
+    @Override
+    public void start() {
+        try {
+            Files.createDirectories(Paths.get(directory));
+        } catch (IOException e) {
+            addError("Could not create " + directory, e);
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "structured-log-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushIfStale, flushMillis, flushMillis,
+                TimeUnit.MILLISECONDS);
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        synchronized (this) {
+            flush();
+            closeFile();
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        long timestamp = event.getTimeStamp();
+        LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(timestamp),
+                ZoneId.systemDefault());
+        if (block.size() > 0 && !date.equals(blockDate)) {
+            flush();
+        }
+        if (block.size() == 0) {
+            blockDate = date;
+            blockStarted = System.currentTimeMillis();
+        }
+        IThrowableProxy throwable = event.getThrowableProxy();
+        block.add(timestamp, Math.max(0, LogBlock.LEVELS.indexOf(event.getLevel().toString())),
+                event.getLoggerName(), event.getThreadName(), event.getFormattedMessage(),
+                throwable == null ? null : ThrowableProxyUtil.asString(throwable));
+        if (block.size() >= blockRecords) {
+            flush();
+        }
+    }
+
+    private synchronized void flushIfStale() {
+        try {
+            if (block.size() > 0 && System.currentTimeMillis() - blockStarted >= flushMillis) {
+                flush();
+            }
+        } catch (RuntimeException e) {
+            addError("Could not flush the structured log", e);
+        }
+    }
+
+    private void flush() {
+        if (block.size() == 0) {
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(block.encode());
+        LocalDate date = blockDate;
+        block = new LogBlock.Builder();
+        try {
+            FileChannel channel = file(date);
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } catch (IOException e) {
+            addError("Could not write a structured log block", e);
+            // Reopening drops what part of the block was written.
+            closeFile();
+        }
+    }
+
+    private FileChannel file(LocalDate date) throws IOException {
+        if (file != null && date.equals(fileDate)) {
+            return file;
+        }
+        closeFile();
+        FileChannel channel = FileChannel.open(Paths.get(directory, date + FILE_SUFFIX),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long end = LogBlock.completeLength(channel);
+        channel.truncate(end);
+        channel.position(end);
+        file = channel;
+        fileDate = date;
+        deleteBefore(date.minusDays(maxHistory));
+        return channel;
+    }
+
+    private void deleteBefore(LocalDate cutoff) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(directory),
+                "*" + FILE_SUFFIX)) {
+            for (Path old : files) {
+                String name = old.getFileName().toString();
+                try {
+                    LocalDate date = LocalDate.parse(
+                            name.substring(0, name.length() - FILE_SUFFIX.length()));
+                    if (date.isBefore(cutoff)) {
+                        Files.deleteIfExists(old);
+                    }
+                } catch (DateTimeParseException e) {
+                    // Not a day file.
+                }
+            }
+        } catch (IOException e) {
+            addWarn("Could not delete old structured log files: " + e.getMessage());
+        }
+    }
+
+    private void closeFile() {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            addWarn("Could not close the structured log file: " + e.getMessage());
+        }
+        file = null;
+        fileDate = null;
+    }
+}
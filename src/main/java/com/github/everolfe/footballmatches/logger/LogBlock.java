@@ -0,0 +1,283 @@
+package com.github.everolfe.footballmatches.logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+final class LogBlock {
+
+    static final int MAGIC = 0x4C42_4C4B;
+    static final int HEADER_LENGTH = 40;
+    static final List<String> LEVELS = List.of("TRACE", "DEBUG", "INFO", "WARN", "ERROR");
+
+    private final long[] timestamps;
+    private final byte[] levels;
+    private final int[] loggerIds;
+    private final int[] threadIds;
+    private final List<String> loggers;
+    private final List<String> threads;
+    private final ByteBuffer texts;
+
+    private LogBlock(Header header, Names names, ByteBuffer columns) {
+        int records = header.records();
+        this.loggers = names.loggers();
+        this.threads = names.threads();
+        this.timestamps = new long[records];
+        for (int i = 0; i < records; i++) {
+            timestamps[i] = header.minTimestamp() + readVarLong(columns);
+        }
+        this.levels = new byte[records];
+        columns.get(levels);
+        this.loggerIds = readVarInts(columns, records);
+        this.threadIds = readVarInts(columns, records);
+        this.texts = columns.slice();
+    }
+
+    static LogBlock read(FileChannel channel, long offset, Header header) throws IOException {
+        ByteBuffer rest = readFully(channel, offset + HEADER_LENGTH,
+                header.namesLength() + header.columnsLength());
+        CRC32 crc = new CRC32();
+        crc.update(rest.duplicate());
+        if ((int) crc.getValue() != header.crc()) {
+            throw new IOException("Corrupt log block at " + offset);
+        }
+        Names names = Names.read(rest.slice(0, header.namesLength()));
+        return new LogBlock(header, names,
+                rest.slice(header.namesLength(), header.columnsLength()));
+    }
+
+    static List<String> readLoggers(FileChannel channel, long offset, Header header)
+            throws IOException {
+        return Names.read(readFully(channel, offset + HEADER_LENGTH, header.namesLength()))
+                .loggers();
+    }
+
+    void select(long from, long to, int minLevel, Predicate<String> logger,
+                List<LogRecord> out, int limit) {
+        boolean[] loggerAccepted = new boolean[loggers.size()];
+        for (int i = 0; i < loggerAccepted.length; i++) {
+            loggerAccepted[i] = logger.test(loggers.get(i));
+        }
+        int records = timestamps.length;
+        int[] selected = new int[records];
+        int count = 0;
+        for (int i = 0; i < records && out.size() + count < limit; i++) {
+            if (timestamps[i] >= from && timestamps[i] < to && levels[i] >= minLevel
+                    && loggerAccepted[loggerIds[i]]) {
+                selected[count++] = i;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        // Messages, then throwables: positions of the 2 * records strings, undecoded.
+        ByteBuffer text = texts.duplicate();
+        int[] starts = new int[2 * records];
+        int[] lengths = new int[2 * records];
+        for (int i = 0; i < starts.length; i++) {
+            lengths[i] = (int) readVarLong(text);
+            starts[i] = text.position();
+            text.position(starts[i] + lengths[i]);
+        }
+        for (int j = 0; j < count; j++) {
+            int i = selected[j];
+            String throwable = lengths[records + i] == 0 ? null
+                    : string(text, starts[records + i], lengths[records + i]);
+            out.add(new LogRecord(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamps[i]),
+                            ZoneId.systemDefault()),
+                    LEVELS.get(levels[i]), loggers.get(loggerIds[i]), threads.get(threadIds[i]),
+                    string(text, starts[i], lengths[i]), throwable));
+        }
+    }
+
+    static Header readHeader(FileChannel channel, long offset, long size) throws IOException {
+        if (size - offset < HEADER_LENGTH) {
+            return null;
+        }
+        ByteBuffer buffer = readFully(channel, offset, HEADER_LENGTH);
+        if (buffer.getInt() != MAGIC) {
+            return null;
+        }
+        Header header = new Header(buffer.getInt(), buffer.getLong(), buffer.getLong(),
+                buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+        if (header.namesLength() < 0 || header.columnsLength() < 0
+                || size - offset < header.length()) {
+            return null;
+        }
+        return header;
+    }
+
+    static long completeLength(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long offset = 0;
+        for (Header header = readHeader(channel, 0, size); header != null;
+                header = readHeader(channel, offset, size)) {
+            offset += header.length();
+        }
+        return offset;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Log block cut short at " + position);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static int[] readVarInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = (int) readVarLong(buffer);
+        }
+        return values;
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte next = buffer.get();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+    }
+
+    private static List<String> readStrings(ByteBuffer buffer, int count) {
+        List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = (int) readVarLong(buffer);
+            strings.add(string(buffer, buffer.position(), length));
+            buffer.position(buffer.position() + length);
+        }
+        return strings;
+    }
+
+    private static String string(ByteBuffer buffer, int position, int length) {
+        return new String(buffer.array(), buffer.arrayOffset() + position, length,
+                StandardCharsets.UTF_8);
+    }
+
+    record Header(int records, long minTimestamp, long maxTimestamp, int levelMask,
+                  int namesLength, int columnsLength, int crc) {
+
+        long length() {
+            return (long) HEADER_LENGTH + namesLength + columnsLength;
+        }
+
+        boolean overlaps(long from, long to) {
+            return maxTimestamp >= from && minTimestamp < to;
+        }
+
+        boolean hasLevelFrom(int level) {
+            return levelMask >>> level != 0;
+        }
+    }
+
+    private record Names(List<String> loggers, List<String> threads) {
+        static Names read(ByteBuffer buffer) {
+            List<String> loggers = readStrings(buffer, (int) readVarLong(buffer));
+            List<String> threads = readStrings(buffer, (int) readVarLong(buffer));
+            return new Names(loggers, threads);
+        }
+    }
+
+    static final class Builder {
+        private final Map<String, Integer> loggers = new LinkedHashMap<>();
+        private final Map<String, Integer> threads = new LinkedHashMap<>();
+        private final Column timestamps = new Column();
+        private final Column levels = new Column();
+        private final Column loggerIds = new Column();
+        private final Column threadIds = new Column();
+        private final Column messages = new Column();
+        private final Column throwables = new Column();
+        private final List<Long> times = new ArrayList<>();
+        private long minTimestamp = Long.MAX_VALUE;
+        private long maxTimestamp = Long.MIN_VALUE;
+        private int levelMask;
+
+        void add(long timestamp, int level, String logger, String thread, String message,
+                 String throwable) {
+            times.add(timestamp);
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+            levels.write(level);
+            levelMask |= 1 << level;
+            loggerIds.writeVarLong(loggers.computeIfAbsent(logger, name -> loggers.size()));
+            threadIds.writeVarLong(threads.computeIfAbsent(thread, name -> threads.size()));
+            messages.writeString(message == null ? "" : message);
+            throwables.writeString(throwable == null ? "" : throwable);
+        }
+
+        int size() {
+            return times.size();
+        }
+
+        byte[] encode() {
+            for (long time : times) {
+                timestamps.writeVarLong(time - minTimestamp);
+            }
+            Column names = new Column();
+            for (Map<String, Integer> dictionary : List.of(loggers, threads)) {
+                names.writeVarLong(dictionary.size());
+                dictionary.keySet().forEach(names::writeString);
+            }
+            Column columns = new Column();
+            for (Column column : List.of(timestamps, levels, loggerIds, threadIds, messages,
+                    throwables)) {
+                column.appendTo(columns);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(names.buffer(), 0, names.size());
+            crc.update(columns.buffer(), 0, columns.size());
+            ByteBuffer block = ByteBuffer.allocate(HEADER_LENGTH + names.size() + columns.size());
+            block.putInt(MAGIC).putInt(size()).putLong(minTimestamp).putLong(maxTimestamp)
+                    .putInt(levelMask).putInt(names.size()).putInt(columns.size())
+                    .putInt((int) crc.getValue())
+                    .put(names.buffer(), 0, names.size())
+                    .put(columns.buffer(), 0, columns.size());
+            return block.array();
+        }
+    }
+
+    private static final class Column extends ByteArrayOutputStream {
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        void appendTo(Column target) {
+            target.write(buf, 0, count);
+        }
+    }
+}
@@ -4,9 +4,13 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -41,10 +45,42 @@ public class LogController {
             @Parameter(description = "Task ID", required = true)
             @RequestParam String id) {
         String status = logService.getTaskStatus(id);
-        return status.equals("NOT_FOUND") ? ResponseEntity.notFound().build()
+        return status.equals(LogTaskRegistry.NOT_FOUND) ? ResponseEntity.notFound().build()
                 : ResponseEntity.ok(status);
     }
 
+    @Operation(summary = "Get statuses of several async log generation tasks",
+            description = "Unknown and expired task IDs are reported as NOT_FOUND")
+    @GetMapping("/task/statuses")
+    public ResponseEntity<Map<String, String>> getTaskStatuses(
+            @Parameter(description = "Task IDs", required = true)
+            @RequestParam List<String> ids) {
+        return ResponseEntity.ok(logService.getTaskStatuses(ids));
+    }
+
+    @Operation(summary = "Query structured log records",
+            description = "Records logged from 'from' to 'to' (exclusive) at 'level' or"
+                    + " higher; 'logger' keeps one logger, a package or a simple class name")
+    @GetMapping("/query")
+    public ResponseEntity<List<LogRecord>> queryLogs(
+            @Parameter(description = "Start of the range", example = "2025-02-20T14:00:00",
+                    required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+            @Parameter(description = "End of the range", example = "2025-02-20T14:05:00",
+                    required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime to,
+            @Parameter(description = "Lowest level", example = "ERROR")
+            @RequestParam(required = false) String level,
+            @Parameter(description = "Logger, package or simple class name",
+                    example = "MatchService")
+            @RequestParam(required = false) String logger,
+            @Parameter(description = "Maximum number of records, 100 by default")
+            @RequestParam(required = false) Integer limit) throws IOException {
+        return ResponseEntity.ok(logService.queryLogs(from, to, level, logger, limit));
+    }
+
     @Operation(summary = "Get generated log file by task ID")
     @GetMapping("/task/file")
     public ResponseEntity<Resource> getTaskFile(
@@ -64,7 +100,9 @@ public class LogController {
 
 
     @Operation(summary = "Get log file by date",
-            description = "Allow you to get log file by specified date")
+            description = "Allow you to get log file by specified date;"
+                    + " past dates are sent as their gzip archives with Content-Encoding: gzip;"
+                    + " supports Range requests to resume a download")
     @GetMapping
     public ResponseEntity<Resource> getLogsByDate(
             @Parameter(description = "Log date",
@@ -72,15 +110,18 @@ public class LogController {
                     required = true)
             @RequestParam String date) {
         try {
-            ByteArrayResource resource = logService.getLogsByDate(date);
-            if (resource == null) {
+            LogPartitions.Download download = logService.getLogsByDate(date);
+            if (download == null) {
                 return ResponseEntity.notFound().build();
             }
-            return ResponseEntity.ok()
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION,
                             "attachment; filename=logs_" + date + ".log")
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .body(resource);
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM);
+            if (download.gzip()) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(download.resource());
 
         } catch (IOException e) {
             return ResponseEntity.internalServerError().body(
@@ -0,0 +1,150 @@
+package com.github.everolfe.footballmatches.logger;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.springframework.core.io.AbstractResource;
+
+class LogInflatingResource extends AbstractResource {
+
+    private final List<LogPartitions.Segment> segments;
+    private final long[] lengths;
+    private final String filename;
+    private final long length;
+
+    LogInflatingResource(List<LogPartitions.Segment> segments, String filename)
+            throws IOException {
+        this.segments = List.copyOf(segments);
+        this.filename = filename;
+        this.lengths = new long[this.segments.size()];
+        long total = 0;
+        for (int i = 0; i < lengths.length; i++) {
+            LogPartitions.Segment segment = this.segments.get(i);
+            lengths[i] = segment.compressed()
+                    ? inflatedLength(segment.file()) : segment.length();
+            total += lengths[i];
+        }
+        this.length = total;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new InflatingInputStream();
+    }
+
+    @Override
+    public long contentLength() {
+        return length;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public String getDescription() {
+        return "inflated log segments " + segments;
+    }
+
+    // ISIZE from the gzip trailer: the inflated length modulo 4 GiB.
+    private static long inflatedLength(Path part) throws IOException {
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.READ)) {
+            ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            long position = channel.size() - Integer.BYTES;
+            while (trailer.hasRemaining()) {
+                if (position < 0 || channel.read(trailer, position + trailer.position()) < 0) {
+                    throw new EOFException("Log part " + part + " has no gzip trailer");
+                }
+            }
+            return Integer.toUnsignedLong(trailer.flip().getInt());
+        }
+    }
+
+    private final class InflatingInputStream extends InputStream {
+        private InputStream current;
+        private int segment;
+        private long offsetInSegment;
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int count) throws IOException {
+            if (count == 0) {
+                return 0;
+            }
+            if (!nextSegment()) {
+                return -1;
+            }
+            int wanted = (int) Math.min(count, lengths[segment] - offsetInSegment);
+            int read = open().read(bytes, offset, wanted);
+            if (read < 0) {
+                throw ended();
+            }
+            offsetInSegment += read;
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = 0;
+            while (skipped < count && nextSegment()) {
+                long step = Math.min(count - skipped, lengths[segment] - offsetInSegment);
+                if (offsetInSegment + step < lengths[segment]) {
+                    step = open().skip(step);
+                    if (step <= 0) {
+                        throw ended();
+                    }
+                }
+                offsetInSegment += step;
+                skipped += step;
+            }
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+        }
+
+        private boolean nextSegment() throws IOException {
+            while (segment < segments.size() && offsetInSegment == lengths[segment]) {
+                close();
+                segment++;
+                offsetInSegment = 0;
+            }
+            return segment < segments.size();
+        }
+
+        private InputStream open() throws IOException {
+            if (current == null) {
+                current = LogPartitions.plain(segments.get(segment));
+            }
+            return current;
+        }
+
+        private EOFException ended() {
+            return new EOFException("Log segment " + segments.get(segment)
+                    + " is shorter than its gzip trailer says");
+        }
+    }
+}
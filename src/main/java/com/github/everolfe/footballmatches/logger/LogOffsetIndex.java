@@ -0,0 +1,380 @@
+package com.github.everolfe.footballmatches.logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LogOffsetIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogOffsetIndex.class);
+    private static final String LOG_FILE_PATH = "./logs/logfile.log";
+    private static final String SIDECAR_SUFFIX = ".idx";
+    // Length of "yyyy-MM-dd HH", the start of every timestamped line.
+    private static final int HOUR_LENGTH = 13;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long DEFAULT_CHUNK_SIZE = 32L * 1024 * 1024;
+    private static final int HEAD_LENGTH = 64;
+
+    private final Path logFile;
+    private final Path sidecar;
+    private final long chunkSize;
+
+    private final NavigableMap<String, List<Run>> runsByHour = new TreeMap<>();
+    private Run openRun;
+    private long indexedTo;
+    private int sidecarLines;
+    private boolean loaded;
+    private byte[] head;
+
+    public LogOffsetIndex() {
+        this(Paths.get(LOG_FILE_PATH));
+    }
+
+    public LogOffsetIndex(Path logFile) {
+        this(logFile, DEFAULT_CHUNK_SIZE);
+    }
+
+    public LogOffsetIndex(Path logFile, long chunkSize) {
+        this.logFile = logFile;
+        this.chunkSize = chunkSize;
+        this.sidecar = logFile.resolveSibling(logFile.getFileName() + SIDECAR_SUFFIX);
+    }
+
+    public List<Range> find(String prefix) throws IOException {
+        return find(prefix, percent -> { });
+    }
+
+    public synchronized List<Range> find(String prefix, IntConsumer progress)
+            throws IOException {
+        refresh(progress);
+        List<Run> runs = new ArrayList<>();
+        for (List<Run> hour : runsByHour.subMap(prefix, true, prefix + Character.MAX_VALUE,
+                false).values()) {
+            runs.addAll(hour);
+        }
+        runs.sort(Comparator.comparingLong(run -> run.start));
+        List<Range> ranges = new ArrayList<>();
+        for (Run run : runs) {
+            int last = ranges.size() - 1;
+            if (last >= 0 && ranges.get(last).end() == run.start) {
+                ranges.set(last, new Range(ranges.get(last).start(), run.end));
+            } else {
+                ranges.add(new Range(run.start, run.end));
+            }
+        }
+        return ranges;
+    }
+
+    List<LogPartitions.Segment> segments(List<Range> ranges) {
+        return ranges.stream()
+                .map(range -> new LogPartitions.Segment(logFile, range.start(), range.end(),
+                        false))
+                .toList();
+    }
+
+    public Path logFile() {
+        return logFile;
+    }
+
+    void refresh(IntConsumer progress) throws IOException {
+        if (!loaded) {
+            load();
+            loaded = true;
+        }
+        if (!Files.exists(logFile)) {
+            if (indexedTo > 0) {
+                reset();
+            }
+            return;
+        }
+        long size = Files.size(logFile);
+        if (size < indexedTo) {
+            LOGGER.info("{} shrank from {} to {} bytes, rebuilding its index",
+                    logFile, indexedTo, size);
+            reset();
+        } else if (indexedTo > 0 && !startsAsIndexed()) {
+            LOGGER.info("{} was rolled over, rebuilding its index", logFile);
+            reset();
+        }
+        if (size == indexedTo) {
+            return;
+        }
+        List<Run> touched = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel, size);
+            int chunks = bounds.length - 1;
+            AtomicInteger scanned = new AtomicInteger();
+            List<List<Run>> runsByChunk;
+            try {
+                runsByChunk = IntStream.range(0, chunks).parallel()
+                        .mapToObj(chunk -> {
+                            List<Run> runs = scanChunk(channel, bounds[chunk], bounds[chunk + 1]);
+                            progress.accept(100 * scanned.incrementAndGet() / chunks);
+                            return runs;
+                        })
+                        .toList();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            for (List<Run> runs : runsByChunk) {
+                for (Run run : runs) {
+                    addRun(run, touched);
+                }
+            }
+            // A trailing line without its newline is still being written; it is indexed later.
+            indexedTo = bounds[chunks];
+        }
+        persist(touched);
+    }
+
+    private boolean startsAsIndexed() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(HEAD_LENGTH, indexedTo));
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            int read;
+            do {
+                read = channel.read(buffer, buffer.position());
+            } while (read > 0 && buffer.hasRemaining());
+        }
+        byte[] current = Arrays.copyOf(buffer.array(), buffer.position());
+        boolean same;
+        if (head == null) {
+            Run first = runsByHour.values().stream()
+                    .flatMap(List::stream)
+                    .min(Comparator.comparingLong(run -> run.start))
+                    .orElse(null);
+            same = first == null || first.start != 0
+                    || first.hour.equals(hourOf(current, current.length));
+        } else {
+            same = Arrays.equals(head, 0, head.length, current, 0,
+                    Math.min(head.length, current.length));
+        }
+        if (same) {
+            head = current;
+        }
+        return same;
+    }
+
+    private long[] chunkBounds(FileChannel channel, long size) throws IOException {
+        long end = lastLineEnd(channel, size);
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(indexedTo);
+        long bound = indexedTo;
+        while (end - bound > chunkSize) {
+            bound = lineEndAfter(channel, bound + chunkSize - 1, end);
+            if (bound >= end) {
+                break;
+            }
+            bounds.add(bound);
+        }
+        bounds.add(end);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long lineEndAfter(FileChannel channel, long from, long end)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = from;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return end;
+    }
+
+    private long lastLineEnd(FileChannel channel, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long end = size;
+        while (end > indexedTo) {
+            int length = (int) Math.min(buffer.capacity(), end - indexedTo);
+            buffer.clear();
+            buffer.limit(length);
+            channel.read(buffer, end - length);
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return end - length + i + 1;
+                }
+            }
+            end -= length;
+        }
+        return indexedTo;
+    }
+
+    private static List<Run> scanChunk(FileChannel channel, long start, long end) {
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<Run> runs = new ArrayList<>();
+        Run current = null;
+        byte[] head = new byte[HOUR_LENGTH];
+        int headLength = 0;
+        long lineStart = start;
+        int length = buffer.limit();
+        for (int i = 0; i < length; i++) {
+            byte next = buffer.get(i);
+            if (next == '\n') {
+                long lineEnd = start + i + 1;
+                String hour = hourOf(head, headLength);
+                if (current == null || hour != null && !hour.equals(current.hour)) {
+                    current = new Run(hour, lineStart, lineEnd);
+                    runs.add(current);
+                } else {
+                    current.end = lineEnd;
+                }
+                lineStart = lineEnd;
+                headLength = 0;
+            } else if (headLength < HOUR_LENGTH) {
+                head[headLength++] = next;
+            }
+        }
+        return runs;
+    }
+
+    private void addRun(Run run, List<Run> touched) {
+        if (run.hour != null && (openRun == null || !run.hour.equals(openRun.hour))) {
+            openRun = run;
+            runsByHour.computeIfAbsent(run.hour, key -> new ArrayList<>()).add(openRun);
+            touched.add(openRun);
+        } else if (openRun != null) {
+            openRun.end = run.end;
+            if (touched.isEmpty() || touched.get(touched.size() - 1) != openRun) {
+                touched.add(openRun);
+            }
+        }
+    }
+
+    private static String hourOf(byte[] head, int length) {
+        if (length < HOUR_LENGTH) {
+            return null;
+        }
+        for (int i = 0; i < HOUR_LENGTH; i++) {
+            boolean separator = i == 4 || i == 7 || i == 10;
+            byte expected = (byte) (i == 10 ? ' ' : '-');
+            if (separator ? head[i] != expected : head[i] < '0' || head[i] > '9') {
+                return null;
+            }
+        }
+        return new String(head, 0, HOUR_LENGTH, StandardCharsets.US_ASCII);
+    }
+
+    private void load() {
+        if (!Files.exists(sidecar)) {
+            return;
+        }
+        try {
+            Map<Long, Run> runsByStart = new TreeMap<>();
+            for (String line : Files.readAllLines(sidecar, StandardCharsets.US_ASCII)) {
+                String[] fields = line.split(" ", 3);
+                long start = Long.parseLong(fields[0]);
+                long end = Long.parseLong(fields[1]);
+                Run run = runsByStart.computeIfAbsent(start,
+                        key -> new Run(fields[2], start, end));
+                run.end = Math.max(run.end, end);
+                sidecarLines++;
+            }
+            for (Run run : runsByStart.values()) {
+                runsByHour.computeIfAbsent(run.hour, key -> new ArrayList<>()).add(run);
+                openRun = run;
+                indexedTo = Math.max(indexedTo, run.end);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not read {}, rebuilding the log index", sidecar, e);
+            runsByHour.clear();
+            openRun = null;
+            indexedTo = 0;
+            sidecarLines = 0;
+        }
+    }
+
+    private void reset() throws IOException {
+        runsByHour.clear();
+        openRun = null;
+        indexedTo = 0;
+        sidecarLines = 0;
+        head = null;
+        Files.deleteIfExists(sidecar);
+    }
+
+    private void persist(List<Run> touched) {
+        if (touched.isEmpty()) {
+            return;
+        }
+        int runs = runsByHour.values().stream().mapToInt(List::size).sum();
+        try {
+            if (sidecarLines + touched.size() > 2 * runs + 64) {
+                List<Run> all = new ArrayList<>(runs);
+                runsByHour.values().forEach(all::addAll);
+                all.sort(Comparator.comparingLong(run -> run.start));
+                Path temporary = sidecar.resolveSibling(sidecar.getFileName() + ".tmp");
+                Files.write(temporary, lines(all), StandardCharsets.US_ASCII);
+                Files.move(temporary, sidecar, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                sidecarLines = all.size();
+            } else {
+                Files.write(sidecar, lines(touched), StandardCharsets.US_ASCII,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                sidecarLines += touched.size();
+            }
+        } catch (IOException e) {
+            // The in-memory index is still right, and a sidecar cut short fails to load
+            // on the next start, which rebuilds it.
+            LOGGER.warn("Could not write {}", sidecar, e);
+        }
+    }
+
+    private static List<String> lines(List<Run> runs) {
+        List<String> lines = new ArrayList<>(runs.size());
+        for (Run run : runs) {
+            lines.add(run.start + " " + run.end + " " + run.hour);
+        }
+        return lines;
+    }
+
+    public record Range(long start, long end) {
+    }
+
+    private static final class Run {
+        private final String hour;
+        private final long start;
+        private long end;
+
+        Run(String hour, long start, long end) {
+            this.hour = hour;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
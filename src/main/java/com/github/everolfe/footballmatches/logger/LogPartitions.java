@@ -0,0 +1,132 @@
+package com.github.everolfe.footballmatches.logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LogPartitions {
+
+    private static final String COMPRESSED_SUFFIX = ".gz";
+
+    private final LogOffsetIndex logOffsetIndex;
+    private final Path logFile;
+    private final Pattern partName;
+
+    public LogPartitions(LogOffsetIndex logOffsetIndex) {
+        this.logOffsetIndex = logOffsetIndex;
+        this.logFile = logOffsetIndex.logFile();
+        String base = logFile.getFileName().toString().replaceFirst("\\.log$", "");
+        this.partName = Pattern.compile(Pattern.quote(base) + "\\.(\\d+)\\.log(\\.gz)?");
+    }
+
+    public List<Segment> find(String date) throws IOException {
+        return find(date, percent -> { });
+    }
+
+    public List<Segment> find(String date, IntConsumer progress) throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        for (Path part : parts(date)) {
+            segments.add(new Segment(part, 0, Files.size(part), isCompressed(part)));
+        }
+        if (activeMayHold(date)) {
+            segments.addAll(logOffsetIndex.segments(logOffsetIndex.find(date, progress)));
+        } else {
+            progress.accept(100);
+        }
+        return segments;
+    }
+
+    public Download download(List<Segment> segments, String filename) throws IOException {
+        boolean compressed = segments.stream().allMatch(Segment::compressed);
+        if (compressed || segments.stream().noneMatch(Segment::compressed)) {
+            return new Download(new LogRangesResource(segments, filename), compressed);
+        }
+        return new Download(new LogInflatingResource(segments, filename), false);
+    }
+
+    public void copy(Segment segment, WritableByteChannel target) throws IOException {
+        if (segment.compressed()) {
+            try (InputStream in = plain(segment)) {
+                OutputStream out = Channels.newOutputStream(target);
+                in.transferTo(out);
+                out.flush();
+            }
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(segment.file(), StandardOpenOption.READ)) {
+            long position = segment.start();
+            while (position < segment.end()) {
+                long sent = channel.transferTo(position, segment.end() - position, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    private List<Path> parts(String date) throws IOException {
+        Path directory = logFile.resolveSibling(date);
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> partName.matcher(file.getFileName().toString())
+                            .matches())
+                    .sorted(Comparator.comparingLong(this::partNumber))
+                    .toList();
+        }
+    }
+
+    private long partNumber(Path part) {
+        Matcher matcher = partName.matcher(part.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : Long.MAX_VALUE;
+    }
+
+    // Logback rolls over before writing the first line of a new day.
+    private boolean activeMayHold(String date) throws IOException {
+        if (!Files.exists(logFile)) {
+            return false;
+        }
+        LocalDate written = LocalDate.ofInstant(Files.getLastModifiedTime(logFile).toInstant(),
+                ZoneId.systemDefault());
+        return !written.isAfter(LocalDate.parse(date));
+    }
+
+    private static boolean isCompressed(Path part) {
+        return part.getFileName().toString().endsWith(COMPRESSED_SUFFIX);
+    }
+
+    static InputStream plain(Segment segment) throws IOException {
+        InputStream in = new LogRangesResource(List.of(segment), null).getInputStream();
+        return segment.compressed() ? new GZIPInputStream(in) : in;
+    }
+
+    public record Segment(Path file, long start, long end, boolean compressed) {
+        public long length() {
+            return end - start;
+        }
+    }
+
+    public record Download(Resource resource, boolean gzip) {
+    }
+}
@@ -0,0 +1,148 @@
+package com.github.everolfe.footballmatches.logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.springframework.core.io.AbstractResource;
+
+class LogRangesResource extends AbstractResource {
+
+    private final List<LogPartitions.Segment> segments;
+    private final String filename;
+    private final long length;
+
+    LogRangesResource(List<LogPartitions.Segment> segments, String filename) {
+        this.segments = List.copyOf(segments);
+        this.filename = filename;
+        this.length = this.segments.stream().mapToLong(LogPartitions.Segment::length).sum();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new RangesInputStream();
+    }
+
+    @Override
+    public long contentLength() {
+        return length;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public String getDescription() {
+        return "log segments " + segments;
+    }
+
+    private final class RangesInputStream extends InputStream {
+        private FileChannel channel;
+        private int segment;
+        private int openSegment = -1;
+        private long offsetInSegment;
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int count) throws IOException {
+            if (count == 0) {
+                return 0;
+            }
+            if (!nextSegment()) {
+                return -1;
+            }
+            LogPartitions.Segment current = segments.get(segment);
+            int wanted = (int) Math.min(count, current.length() - offsetInSegment);
+            int read = channel().read(ByteBuffer.wrap(bytes, offset, wanted),
+                    current.start() + offsetInSegment);
+            if (read < 0) {
+                return -1;
+            }
+            offsetInSegment += read;
+            return read;
+        }
+
+        @Override
+        public long skip(long count) {
+            long skipped = 0;
+            while (skipped < count && nextSegment()) {
+                LogPartitions.Segment current = segments.get(segment);
+                long step = Math.min(count - skipped, current.length() - offsetInSegment);
+                offsetInSegment += step;
+                skipped += step;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            if (!nextSegment()) {
+                return 0;
+            }
+            return (int) Math.min(Integer.MAX_VALUE,
+                    segments.get(segment).length() - offsetInSegment);
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            WritableByteChannel target = Channels.newChannel(out);
+            long transferred = 0;
+            while (nextSegment()) {
+                LogPartitions.Segment current = segments.get(segment);
+                long sent = channel().transferTo(current.start() + offsetInSegment,
+                        current.length() - offsetInSegment, target);
+                if (sent <= 0) {
+                    break;
+                }
+                offsetInSegment += sent;
+                transferred += sent;
+            }
+            return transferred;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+
+        private boolean nextSegment() {
+            while (segment < segments.size()
+                    && offsetInSegment == segments.get(segment).length()) {
+                segment++;
+                offsetInSegment = 0;
+            }
+            return segment < segments.size();
+        }
+
+        private FileChannel channel() throws IOException {
+            if (openSegment != segment) {
+                LogPartitions.Segment current = segments.get(segment);
+                if (channel == null || !segments.get(openSegment).file().equals(current.file())) {
+                    close();
+                    channel = FileChannel.open(current.file(), StandardOpenOption.READ);
+                }
+                openSegment = segment;
+            }
+            return channel;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.everolfe.footballmatches.logger;
+
+import java.time.LocalDateTime;
+
+public record LogRecord(LocalDateTime timestamp, String level, String logger, String thread,
+                        String message, String throwable) {
+}
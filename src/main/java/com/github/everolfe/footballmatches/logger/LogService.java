@@ -1,17 +1,12 @@
 package com.github.everolfe.footballmatches.logger;
 
 import com.github.everolfe.footballmatches.aspect.AspectAnnotation;
+import com.github.everolfe.footballmatches.exceptions.BadRequestException;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.NoSuchFileException;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Stream;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
@@ -19,52 +14,56 @@ import org.springframework.stereotype.Service;
 
 @Service
 public class LogService {
-    private static final String LOG_FILE_PATH = "./logs/logfile.log";
+    private static final int DEFAULT_QUERY_LIMIT = 100;
+    private static final int MAX_QUERY_LIMIT = 1000;
 
-    private final Map<String, String> taskStatus = new ConcurrentHashMap<>();
-    private final Map<String, Path> taskFiles = new ConcurrentHashMap<>();
-    private final LogAsync logAsync;
-    private final AtomicInteger taskCounter = new AtomicInteger(0);
+    private final LogTaskRegistry logTaskRegistry;
+    private final LogPartitions logPartitions;
+    private final StructuredLogReader structuredLogReader;
 
-    public LogService(LogAsync logAsyncService) {
-        this.logAsync = logAsyncService;
+    public LogService(LogTaskRegistry logTaskRegistry, LogPartitions logPartitions,
+                      StructuredLogReader structuredLogReader) {
+        this.logTaskRegistry = logTaskRegistry;
+        this.logPartitions = logPartitions;
+        this.structuredLogReader = structuredLogReader;
     }
 
     @AspectAnnotation
-    public ByteArrayResource getLogsByDate(String date) throws IOException {
+    public LogPartitions.Download getLogsByDate(String date) throws IOException {
         if (!isValidDate(date)) {
             throw new IllegalArgumentException("Invalid date format");
         }
-        List<String> filteredLogs = filterLogsByDate(date);
-        if (filteredLogs.isEmpty()) {
+        List<LogPartitions.Segment> segments = logPartitions.find(date);
+        if (segments.isEmpty()) {
             return null;
         }
-        String logsContent = String.join("\n", filteredLogs);
-        return new ByteArrayResource(logsContent.getBytes());
+        return logPartitions.download(segments, "logs_" + date + ".log");
     }
 
     @AspectAnnotation
-    private List<String> filterLogsByDate(String date) throws IOException {
-        Path logFilePath = Paths.get(LOG_FILE_PATH);
-        if (!Files.exists(logFilePath)) {
-            return List.of();
+    public List<LogRecord> queryLogs(LocalDateTime from, LocalDateTime to, String level,
+                                     String logger, Integer limit) throws IOException {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BadRequestException("Both from and to are required, from before to");
         }
-
-        try (Stream<String> lines = Files.lines(logFilePath)) {
-            return lines.filter(line -> line.contains(date))
-                    .toList();
+        String minLevel = level == null ? LogBlock.LEVELS.get(0) : level.toUpperCase(Locale.ROOT);
+        if (!LogBlock.LEVELS.contains(minLevel)) {
+            throw new BadRequestException("Level must be one of " + LogBlock.LEVELS);
+        }
+        int max = limit == null ? DEFAULT_QUERY_LIMIT : limit;
+        if (max < 1 || max > MAX_QUERY_LIMIT) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_QUERY_LIMIT);
         }
+        return structuredLogReader.query(from, to, minLevel,
+                logger == null || logger.isBlank() ? null : logger, max);
     }
 
     @AspectAnnotation
-    public String startAsyncLogGeneration(final String date) throws IOException {
+    public String startAsyncLogGeneration(final String date) {
         if (!isValidDate(date)) {
             throw new IllegalArgumentException("Invalid date format");
         }
-        String taskId = String.valueOf(taskCounter.incrementAndGet());
-        taskStatus.put(taskId, "IN_PROGRESS");
-        logAsync.generateLogFileAsync(taskId, taskStatus, taskFiles, date);
-        return taskId;
+        return logTaskRegistry.submit(date);
     }
 
     private boolean isValidDate(String date) {
@@ -72,14 +71,14 @@ public class LogService {
     }
 
     public String getTaskStatus(String taskId) {
-        return taskStatus.getOrDefault(taskId, "NOT_FOUND");
+        return logTaskRegistry.status(taskId);
+    }
+
+    public Map<String, String> getTaskStatuses(List<String> taskIds) {
+        return logTaskRegistry.statuses(taskIds);
     }
 
     public Resource getTaskFile(String taskId) throws IOException {
-        Path path = taskFiles.get(taskId);
-        if (path == null || !Files.exists(path)) {
-            throw new NoSuchFileException("Файл не найден для ID: " + taskId);
-        }
-        return new FileSystemResource(path.toFile());
+        return new FileSystemResource(logTaskRegistry.file(taskId).toFile());
     }
 }
@@ -0,0 +1,243 @@
+package com.github.everolfe.footballmatches.logger;
+
+import com.github.everolfe.footballmatches.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LogTaskRegistry implements MeterBinder {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogTaskRegistry.class);
+
+    public static final String NOT_FOUND = "NOT_FOUND";
+    private static final String QUEUED = "QUEUED";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String COMPLETED_NO_DATA = "COMPLETED_NO_DATA";
+
+    private final LogPartitions logPartitions;
+    private final Path directory;
+    private final Duration ttl;
+    private final int maxTasks;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, LogTask> tasks = new ConcurrentHashMap<>();
+    private final Map<String, LogTask> unfinishedByDate = new HashMap<>();
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public LogTaskRegistry(LogPartitions logPartitions,
+                           @Value("${log-task.dir:./logs/tasks}") String directory,
+                           @Value("${log-task.workers:2}") int workers,
+                           @Value("${log-task.queue-capacity:16}") int queueCapacity,
+                           @Value("${log-task.ttl:PT1H}") Duration ttl,
+                           @Value("${log-task.max-tasks:1000}") int maxTasks) {
+        this.logPartitions = logPartitions;
+        this.directory = Paths.get(directory);
+        this.ttl = ttl;
+        this.maxTasks = maxTasks;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("log-task-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public synchronized String submit(String date) {
+        LogTask unfinished = unfinishedByDate.get(date);
+        if (unfinished != null) {
+            joined.increment();
+            return unfinished.id;
+        }
+        makeRoom();
+        LogTask task = new LogTask(UUID.randomUUID().toString(), date);
+        tasks.put(task.id, task);
+        unfinishedByDate.put(date, task);
+        try {
+            executor.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            tasks.remove(task.id);
+            unfinishedByDate.remove(date);
+            rejected.increment();
+            throw new ServiceUnavailableException(
+                    "Too many log tasks are waiting, try again later");
+        }
+        return task.id;
+    }
+
+    public String status(String id) {
+        LogTask task = tasks.get(id);
+        return task == null ? NOT_FOUND : task.status;
+    }
+
+    public Map<String, String> statuses(Collection<String> ids) {
+        Map<String, String> statuses = new LinkedHashMap<>();
+        for (String id : ids) {
+            statuses.put(id, status(id));
+        }
+        return statuses;
+    }
+
+    public Path file(String id) throws NoSuchFileException {
+        LogTask task = tasks.get(id);
+        Path path = task == null ? null : task.file;
+        if (path == null || !Files.exists(path)) {
+            throw new NoSuchFileException("Файл не найден для ID: " + id);
+        }
+        return path;
+    }
+
+    @Scheduled(fixedDelayString = "${log-task.clean-up-interval:PT1M}")
+    public void purgeExpired() {
+        Instant expiry = Instant.now().minus(ttl);
+        for (LogTask task : tasks.values()) {
+            Instant finishedAt = task.finishedAt;
+            if (finishedAt != null && !finishedAt.isAfter(expiry)) {
+                forget(task);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void deleteOrphanedFiles() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (tasks.values().stream().noneMatch(task -> file.equals(task.file))) {
+                    delete(file);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not list log task files in {}", directory, e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "log-task", Tags.empty()).bindTo(registry);
+        Gauge.builder("log.task.records", tasks, Map::size)
+                .description("The number of log tasks kept")
+                .register(registry);
+        FunctionCounter.builder("log.task.joined", joined, LongAdder::sum)
+                .description("Requests that joined the unfinished export of the same date")
+                .register(registry);
+        FunctionCounter.builder("log.task.rejected", rejected, LongAdder::sum)
+                .description("Requests refused because the log task queue was full")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(LogTask task) {
+        Path file = directory.resolve("logs_" + task.date + "_" + task.id + ".log");
+        try {
+            List<LogPartitions.Segment> segments = logPartitions.find(task.date,
+                    percent -> task.status = "IN_PROGRESS: indexing " + percent + "%");
+            if (segments.isEmpty()) {
+                finish(task, COMPLETED_NO_DATA);
+                return;
+            }
+            Files.createDirectories(directory);
+            try (FileChannel out = FileChannel.open(file,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                long total = segments.stream().mapToLong(LogPartitions.Segment::length).sum();
+                long copied = 0;
+                for (LogPartitions.Segment segment : segments) {
+                    logPartitions.copy(segment, out);
+                    copied += segment.length();
+                    task.status = "IN_PROGRESS: extracting " + 100 * copied / total + "%";
+                }
+            }
+            task.file = file;
+            finish(task, COMPLETED);
+        } catch (Exception e) {
+            delete(file);
+            finish(task, "FAILED: " + e.getMessage());
+        }
+    }
+
+    private synchronized void finish(LogTask task, String status) {
+        task.status = status;
+        task.finishedAt = Instant.now();
+        unfinishedByDate.remove(task.date, task);
+    }
+
+    private void makeRoom() {
+        if (tasks.size() < maxTasks) {
+            return;
+        }
+        purgeExpired();
+        List<LogTask> finished = tasks.values().stream()
+                .filter(task -> task.finishedAt != null)
+                .sorted(Comparator.comparing(task -> task.finishedAt))
+                .toList();
+        for (int i = 0; i < finished.size() && tasks.size() >= maxTasks; i++) {
+            forget(finished.get(i));
+        }
+    }
+
+    private void forget(LogTask task) {
+        if (tasks.remove(task.id, task) && task.file != null) {
+            delete(task.file);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete log task file {}", file, e);
+        }
+    }
+
+    private static final class LogTask {
+        private final String id;
+        private final String date;
+        private volatile String status = QUEUED;
+        private volatile Path file;
+        private volatile Instant finishedAt;
+
+        LogTask(String id, String date) {
+            this.id = id;
+            this.date = date;
+        }
+    }
+}
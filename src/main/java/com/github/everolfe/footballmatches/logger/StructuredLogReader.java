@@ -0,0 +1,97 @@
+package com.github.everolfe.footballmatches.logger;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StructuredLogReader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StructuredLogReader.class);
+
+    private final Path directory;
+    private final Map<Path, FileBlocks> blocksByFile = new HashMap<>();
+
+    public StructuredLogReader(@Value("${log-query.dir:./logs/structured}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    public List<LogRecord> query(LocalDateTime from, LocalDateTime to, String level,
+                                 String logger, int limit) throws IOException {
+        long fromMillis = from.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long toMillis = to.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        int minLevel = LogBlock.LEVELS.indexOf(level);
+        Predicate<String> loggerFilter = logger == null ? name -> true
+                : name -> name.equals(logger) || name.startsWith(logger + ".")
+                        || name.endsWith("." + logger);
+        List<LogRecord> records = new ArrayList<>();
+        for (LocalDate day = from.toLocalDate();
+                !day.isAfter(to.toLocalDate()) && records.size() < limit;
+                day = day.plusDays(1)) {
+            Path file = directory.resolve(day + ColumnarLogAppender.FILE_SUFFIX);
+            if (!Files.exists(file)) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                for (BlockRef block : blocks(file, channel)) {
+                    if (records.size() >= limit) {
+                        break;
+                    }
+                    LogBlock.Header header = block.header();
+                    if (!header.overlaps(fromMillis, toMillis) || !header.hasLevelFrom(minLevel)
+                            || logger != null && LogBlock.readLoggers(channel, block.offset(),
+                                    header).stream().noneMatch(loggerFilter)) {
+                        continue;
+                    }
+                    try {
+                        LogBlock.read(channel, block.offset(), header)
+                                .select(fromMillis, toMillis, minLevel, loggerFilter, records,
+                                        limit);
+                    } catch (IOException e) {
+                        LOGGER.warn("Skipping a block of {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+        }
+        return records;
+    }
+
+    private synchronized List<BlockRef> blocks(Path file, FileChannel channel)
+            throws IOException {
+        FileBlocks known = blocksByFile.computeIfAbsent(file, key -> new FileBlocks());
+        long size = channel.size();
+        if (size < known.scannedTo) {
+            known.blocks.clear();
+            known.scannedTo = 0;
+        }
+        for (LogBlock.Header header = LogBlock.readHeader(channel, known.scannedTo, size);
+                header != null; header = LogBlock.readHeader(channel, known.scannedTo, size)) {
+            known.blocks.add(new BlockRef(known.scannedTo, header));
+            known.scannedTo += header.length();
+        }
+        blocksByFile.keySet().removeIf(path -> !path.equals(file) && !Files.exists(path));
+        return List.copyOf(known.blocks);
+    }
+
+    private record BlockRef(long offset, LogBlock.Header header) {
+    }
+
+    private static final class FileBlocks {
+        private final List<BlockRef> blocks = new ArrayList<>();
+        private long scannedTo;
+    }
+}
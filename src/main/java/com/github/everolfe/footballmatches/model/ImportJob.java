@@ -0,0 +1,58 @@
+package com.github.everolfe.footballmatches.model;
+
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.service.ImportFormat;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Data;
+
+@Entity
+@Table(name = "import_jobs")
+@Data
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Integer id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity")
+    private EntityType entity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format")
+    private ImportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private ImportJobStatus status;
+
+    @Column(name = "directory")
+    private String directory;
+
+    @Column(name = "chunk_count")
+    private int chunkCount;
+
+    @Column(name = "error")
+    private String error;
+
+    @Column(name = "owner")
+    private String owner;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
\ No newline at end of file
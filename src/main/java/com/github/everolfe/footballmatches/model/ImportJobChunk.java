@@ -0,0 +1,43 @@
+package com.github.everolfe.footballmatches.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+@Entity
+@Table(name = "import_job_chunks")
+@Data
+public class ImportJobChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "job_id")
+    private Integer jobId;
+
+    @Column(name = "chunk_index")
+    private int chunkIndex;
+
+    // Upload line the chunk starts at, to report rejected rows by upload line.
+    @Column(name = "first_line")
+    private long firstLine;
+
+    // Set in the transaction that inserts the chunk's rows, so a chunk runs at most once.
+    @Column(name = "done")
+    private boolean done;
+
+    @Column(name = "rows_imported")
+    private int rowsImported;
+
+    @Column(name = "rows_failed")
+    private int rowsFailed;
+
+    @Column(name = "error")
+    private String error;
+}
\ No newline at end of file
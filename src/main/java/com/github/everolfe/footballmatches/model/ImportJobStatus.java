@@ -0,0 +1,5 @@
+package com.github.everolfe.footballmatches.model;
+
+public enum ImportJobStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED
+}
\ No newline at end of file
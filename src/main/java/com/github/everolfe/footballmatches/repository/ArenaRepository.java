@@ -1,29 +1,71 @@
 package com.github.everolfe.footballmatches.repository;
 
+import com.github.everolfe.footballmatches.dto.arena.ArenaDto;
 import com.github.everolfe.footballmatches.model.Arena;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 
 public interface ArenaRepository extends JpaRepository<Arena, Integer> {
 
+    String ARENA_DTO = "SELECT new com.github.everolfe.footballmatches.dto.arena.ArenaDto("
+            + "a.id, a.city, a.capacity) FROM Arena a";
+
     //@Query(value = "SELECT * FROM arenas
     // WHERE capacity BETWEEN :minValue AND :maxValue ORDER BY capacity ASC", nativeQuery = true)
     //@Query(value = "SELECT * FROM arenas
     // WHERE capacity <= :maxValue ORDER BY capacity DESC", nativeQuery = true)
     //@Query(value = "SELECT * FROM arenas
     // WHERE capacity >= :minValue ORDER BY capacity ASC", nativeQuery = true)
-    @Query("SELECT a FROM Arena a WHERE a.capacity BETWEEN"
+    @Query(ARENA_DTO + " WHERE a.capacity BETWEEN"
             + " :minValue AND :maxValue ORDER BY a.capacity ASC")
-    List<Arena> findByCapacityBetween(
+    List<ArenaDto> findByCapacityBetween(
             @Param("minValue") Integer minCapacity, @Param("maxValue") Integer maxCapacity);
 
-    @Query("Select a FROM Arena a WHERE"
+    @Query(ARENA_DTO + " WHERE"
             + " a.capacity <= :maxValue ORDER BY a.capacity DESC")
-    List<Arena> findByCapacityLessThanEqual(@Param("maxValue") Integer maxCapacity);
+    List<ArenaDto> findByCapacityLessThanEqual(@Param("maxValue") Integer maxCapacity);
+
+    @Query(ARENA_DTO + " WHERE a.capacity >= :minValue ORDER BY a.capacity ASC")
+    List<ArenaDto> findByCapacityGreaterThanEqual(@Param("minValue") Integer minCapacity);
+
+    @Query(ARENA_DTO + " WHERE a.id = :id")
+    Optional<ArenaDto> findDtoById(@Param("id") Integer id);
+
+    @Query(ARENA_DTO + " WHERE a.id IN :ids")
+    List<ArenaDto> findDtosByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(ARENA_DTO + " WHERE a.id > :afterId ORDER BY a.id")
+    List<ArenaDto> findDtosAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "matchList")
+    @Query("SELECT a FROM Arena a")
+    List<Arena> findAllWithMatches();
+
+    @EntityGraph(attributePaths = "matchList")
+    @Query("SELECT a FROM Arena a WHERE a.id IN :ids")
+    List<Arena> findWithMatchesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT a.id FROM Arena a WHERE a.id > :afterId ORDER BY a.id")
+    List<Integer> findIdsAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    @Query(ARENA_DTO + " WHERE a.capacity BETWEEN :minValue AND :maxValue"
+            + " AND (a.capacity > :afterCapacity"
+            + " OR a.capacity = :afterCapacity AND a.id > :afterId)"
+            + " ORDER BY a.capacity, a.id")
+    List<ArenaDto> findByCapacityBetweenAfter(@Param("minValue") Integer minCapacity,
+                                           @Param("maxValue") Integer maxCapacity,
+                                           @Param("afterCapacity") Integer afterCapacity,
+                                           @Param("afterId") Integer afterId, Limit limit);
 
-    @Query("Select a FROM Arena a WHERE a.capacity >= :minValue ORDER BY a.capacity ASC")
-    List<Arena> findByCapacityGreaterThanEqual(@Param("minValue") Integer minCapacity);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Arena a WHERE a.id = :id")
+    int deleteRowById(@Param("id") Integer id);
 }
@@ -0,0 +1,149 @@
+package com.github.everolfe.footballmatches.repository;
+
+import com.github.everolfe.footballmatches.model.Arena;
+import com.github.everolfe.footballmatches.model.Match;
+import com.github.everolfe.footballmatches.model.Player;
+import com.github.everolfe.footballmatches.model.Team;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Hibernate cannot join-fetch two lists at once, so each plan fetches one per query.
+@Component
+@AllArgsConstructor
+public class FetchPlans {
+
+    // Keeps IN lists well below the driver's bind-parameter limit.
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    private final MatchRepository matchRepository;
+    private final TeamRepository teamRepository;
+    private final ArenaRepository arenaRepository;
+    private final PlayerRepository playerRepository;
+
+    public List<Match> allMatchesWithArenaAndTeams() {
+        return withTeamPlayers(matchRepository.findAllWithArenaAndTeams());
+    }
+
+    public Optional<Match> matchWithArenaAndTeams(Integer id) {
+        Optional<Match> match = matchRepository.findWithArenaAndTeamsById(id);
+        match.ifPresent(found -> withTeamPlayers(List.of(found)));
+        return match;
+    }
+
+    public List<Match> withTeamPlayers(List<Match> matches) {
+        // Entities are compared by identity: @Data hashCode would walk lazy collections.
+        Set<Team> teams = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Match match : matches) {
+            if (match.getTeamList() != null) {
+                teams.addAll(match.getTeamList());
+            }
+        }
+        forEachChunk(teams, teamRepository::fetchPlayers);
+        return matches;
+    }
+
+    public List<Team> allTeamsWithMatchesAndPlayers() {
+        List<Team> teams = teamRepository.findAllWithPlayers();
+        teamRepository.findAllWithMatches();
+        return teams;
+    }
+
+    public List<Arena> allArenasWithMatches() {
+        return withMatchTeams(arenaRepository.findAllWithMatches());
+    }
+
+    public List<Player> allPlayersWithTeam() {
+        List<Player> players = playerRepository.findAllWithTeam();
+        if (players.stream().map(Player::getTeam).anyMatch(Objects::nonNull)) {
+            teamRepository.findAllWithMatches();
+        }
+        return players;
+    }
+
+    // Page plans: the same shapes for the given ids only, in the order of the ids.
+
+    public List<Match> matchesWithArenaAndTeams(List<Integer> ids) {
+        return inIdOrder(ids, withTeamPlayers(matchRepository.findWithArenaAndTeamsByIdIn(ids)),
+                Match::getId);
+    }
+
+    public List<Team> teamsWithMatchesAndPlayers(List<Integer> ids) {
+        List<Team> teams = teamRepository.findWithPlayersByIdIn(ids);
+        if (!teams.isEmpty()) {
+            teamRepository.fetchMatchesWithArena(teams);
+        }
+        return inIdOrder(ids, teams, Team::getId);
+    }
+
+    public List<Arena> arenasWithMatches(List<Integer> ids) {
+        return inIdOrder(ids, withMatchTeams(arenaRepository.findWithMatchesByIdIn(ids)),
+                Arena::getId);
+    }
+
+    public List<Player> playersWithTeam(List<Integer> ids) {
+        List<Player> players = playerRepository.findWithTeamByIdIn(ids);
+        Set<Team> teams = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Player player : players) {
+            if (player.getTeam() != null) {
+                teams.add(player.getTeam());
+            }
+        }
+        forEachChunk(teams, teamRepository::fetchMatchesWithArena);
+        return inIdOrder(ids, players, Player::getId);
+    }
+
+    private List<Arena> withMatchTeams(List<Arena> arenas) {
+        Set<Match> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Arena arena : arenas) {
+            if (arena.getMatchList() != null) {
+                matches.addAll(arena.getMatchList());
+            }
+        }
+        forEachChunk(matches, matchRepository::fetchTeams);
+        withTeamPlayers(new ArrayList<>(matches));
+        return arenas;
+    }
+
+    private static <T> List<T> inIdOrder(List<Integer> ids, List<T> entities,
+                                         Function<T, Integer> idOf) {
+        Map<Integer, T> byId = new HashMap<>();
+        for (T entity : entities) {
+            byId.put(idOf.apply(entity), entity);
+        }
+        List<T> ordered = new ArrayList<>(entities.size());
+        for (Integer id : ids) {
+            T entity = byId.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+
+    private static <T> void forEachChunk(Collection<T> values,
+                                         Consumer<List<T>> query) {
+        List<T> chunk = new ArrayList<>(Math.min(values.size(), IN_CHUNK_SIZE));
+        for (T value : values) {
+            chunk.add(value);
+            if (chunk.size() == IN_CHUNK_SIZE) {
+                query.accept(chunk);
+                chunk = new ArrayList<>(IN_CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            query.accept(chunk);
+        }
+    }
+}
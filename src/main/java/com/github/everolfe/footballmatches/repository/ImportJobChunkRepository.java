@@ -0,0 +1,35 @@
+package com.github.everolfe.footballmatches.repository;
+
+import com.github.everolfe.footballmatches.model.ImportJobChunk;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface ImportJobChunkRepository extends JpaRepository<ImportJobChunk, Integer> {
+
+    List<ImportJobChunk> findByJobIdAndDoneFalseOrderByChunkIndex(Integer jobId);
+
+    List<ImportJobChunk> findTop100ByJobIdAndErrorIsNotNullOrderByChunkIndex(Integer jobId);
+
+    // FOR UPDATE SKIP LOCKED; -2 is Hibernate's skip-locked timeout.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM ImportJobChunk c WHERE c.id = :id AND c.done = false")
+    Optional<ImportJobChunk> lockPending(@Param("id") Integer id);
+
+    @Modifying
+    @Query("UPDATE ImportJobChunk c SET c.error = :error WHERE c.id = :id AND c.done = false")
+    int recordFailure(@Param("id") Integer id, @Param("error") String error);
+
+    @Query("SELECT COUNT(c) AS chunksDone, COALESCE(SUM(c.rowsImported), 0) AS rowsImported,"
+            + " COALESCE(SUM(c.rowsFailed), 0) AS rowsFailed"
+            + " FROM ImportJobChunk c WHERE c.jobId = :jobId AND c.done = true")
+    ImportJobProgress summarize(@Param("jobId") Integer jobId);
+}
@@ -0,0 +1,10 @@
+package com.github.everolfe.footballmatches.repository;
+
+public interface ImportJobProgress {
+
+    long getChunksDone();
+
+    long getRowsImported();
+
+    long getRowsFailed();
+}
@@ -0,0 +1,39 @@
+package com.github.everolfe.footballmatches.repository;
+
+import com.github.everolfe.footballmatches.model.ImportJob;
+import com.github.everolfe.footballmatches.model.ImportJobStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, Integer> {
+
+    List<ImportJob> findByStatusInOrderById(Collection<ImportJobStatus> statuses);
+
+    // Claims the job unless another node holds a lease renewed after expiry.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.owner = :owner, j.heartbeatAt = :now,"
+            + " j.status = :running, j.error = NULL, j.updatedAt = :now"
+            + " WHERE j.id = :id AND j.status IN :claimable"
+            + " AND (j.owner IS NULL OR j.owner = :owner OR j.heartbeatAt < :expiry)")
+    int claim(@Param("id") Integer id, @Param("owner") String owner,
+              @Param("running") ImportJobStatus running,
+              @Param("claimable") Collection<ImportJobStatus> claimable,
+              @Param("now") LocalDateTime now, @Param("expiry") LocalDateTime expiry);
+
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.heartbeatAt = :now WHERE j.owner = :owner")
+    int renewLeases(@Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.status = :status, j.error = :error, j.owner = NULL,"
+            + " j.heartbeatAt = NULL, j.updatedAt = :now"
+            + " WHERE j.id = :id AND j.owner = :owner")
+    int release(@Param("id") Integer id, @Param("owner") String owner,
+                @Param("status") ImportJobStatus status, @Param("error") String error,
+                @Param("now") LocalDateTime now);
+}
@@ -2,8 +2,13 @@ package com.github.everolfe.footballmatches.repository;
 
 import com.github.everolfe.footballmatches.model.Match;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,16 +25,108 @@ public interface MatchRepository extends JpaRepository<Match, Integer> {
     //@Query(value = "SELECT * FROM matches
     // WHERE date_time BETWEEN :startDate AND :endDate", nativeQuery = true)
 
+    @EntityGraph(attributePaths = {"arena", "teamList"})
+    @Query("SELECT m FROM Match m")
+    List<Match> findAllWithArenaAndTeams();
+
+    @EntityGraph(attributePaths = {"arena", "teamList"})
+    @Query("SELECT m FROM Match m WHERE m.id = :id")
+    Optional<Match> findWithArenaAndTeamsById(@Param("id") Integer id);
+
+    @EntityGraph(attributePaths = "teamList")
+    @Query("SELECT m FROM Match m")
+    List<Match> findAllWithTeams();
+
+    @EntityGraph(attributePaths = {"arena", "teamList"})
     @Query("SELECT m FROM Match m WHERE LOWER(m.tournamentName) = LOWER(:tournamentName)")
     List<Match> findByTournamentNameIgnoreCase(@Param("tournamentName") String tournamentName);
 
+    @EntityGraph(attributePaths = {"arena", "teamList"})
     @Query("SELECT m FROM Match m WHERE m.dateTime <= :endDate")
     List<Match> findByDateTimeLessThanEqual(@Param("endDate") LocalDateTime endDate);
 
+    @EntityGraph(attributePaths = {"arena", "teamList"})
     @Query("SELECT m FROM Match m WHERE m.dateTime >= :startDate")
     List<Match> findByDateTimeGreaterThanEqual(@Param("startDate") LocalDateTime startDate);
 
+    @EntityGraph(attributePaths = {"arena", "teamList"})
     @Query("SELECT m FROM Match m WHERE m.dateTime BETWEEN :startDate AND :endDate")
     List<Match> findByDateTimeBetween(@Param("startDate") LocalDateTime startDate,
                                       @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT m.id FROM Match m WHERE m.id > :afterId ORDER BY m.id")
+    List<Integer> findIdsAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    @Query("SELECT m.id FROM Match m WHERE LOWER(m.tournamentName) = LOWER(:tournamentName)"
+            + " AND m.id > :afterId ORDER BY m.id")
+    List<Integer> findIdsByTournamentNameAfter(@Param("tournamentName") String tournamentName,
+                                               @Param("afterId") Integer afterId, Limit limit);
+
+    @Query("SELECT m.id FROM Match m WHERE m.dateTime BETWEEN :startDate AND :endDate"
+            + " AND (m.dateTime > :afterDateTime"
+            + " OR m.dateTime = :afterDateTime AND m.id > :afterId)"
+            + " ORDER BY m.dateTime, m.id")
+    List<Integer> findIdsByDateTimeBetweenAfter(@Param("startDate") LocalDateTime startDate,
+                                                @Param("endDate") LocalDateTime endDate,
+                                                @Param("afterDateTime") LocalDateTime afterDateTime,
+                                                @Param("afterId") Integer afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"arena", "teamList"})
+    @Query("SELECT m FROM Match m WHERE m.id IN :ids")
+    List<Match> findWithArenaAndTeamsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT DISTINCT m FROM Match m LEFT JOIN FETCH m.teamList WHERE m IN :matches")
+    List<Match> fetchTeams(@Param("matches") Collection<Match> matches);
+
+    @Query("SELECT m.id FROM Match m WHERE m.id IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT m.id AS id, m.dateTime AS dateTime FROM Match m WHERE m.id > :afterId"
+            + " ORDER BY m.id")
+    List<MatchTimeView> findTimesAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    @Query("SELECT m.id AS id, m.tournamentName AS term FROM Match m WHERE m.id > :afterId"
+            + " ORDER BY m.id")
+    List<TermView> findTournamentNamesAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    @Query("SELECT MIN(m.tournamentName) FROM Match m"
+            + " WHERE SUBSTRING(LOWER(m.tournamentName), 1, LENGTH(:prefix)) = :prefix"
+            + " GROUP BY LOWER(m.tournamentName) ORDER BY LOWER(m.tournamentName)")
+    List<String> findTournamentNamesStartingWith(@Param("prefix") String prefix, Limit limit);
+
+    // Batch links: the i-th match id pairs with the i-th team id, one array parameter each.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO match_teams (match_id, team_id)"
+            + " SELECT DISTINCT l.match_id, l.team_id"
+            + " FROM UNNEST(:matchIds, :teamIds) AS l(match_id, team_id)"
+            + " WHERE NOT EXISTS (SELECT 1 FROM match_teams mt"
+            + " WHERE mt.match_id = l.match_id AND mt.team_id = l.team_id)",
+            nativeQuery = true)
+    int linkTeams(@Param("matchIds") Integer[] matchIds, @Param("teamIds") Integer[] teamIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM match_teams WHERE (match_id, team_id) IN"
+            + " (SELECT l.match_id, l.team_id"
+            + " FROM UNNEST(:matchIds, :teamIds) AS l(match_id, team_id))",
+            nativeQuery = true)
+    int unlinkTeams(@Param("matchIds") Integer[] matchIds, @Param("teamIds") Integer[] teamIds);
+
+    // Cascading deletes: each unlinks all rows with one statement, without loading them.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM match_teams WHERE team_id = :teamId", nativeQuery = true)
+    int unlinkTeam(@Param("teamId") Integer teamId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM match_teams WHERE match_id = :matchId", nativeQuery = true)
+    int unlinkAllTeams(@Param("matchId") Integer matchId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Match m SET m.arena = NULL WHERE m.arena.id = :arenaId")
+    int detachFromArena(@Param("arenaId") Integer arenaId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Match m WHERE m.id = :id")
+    int deleteRowById(@Param("id") Integer id);
 }
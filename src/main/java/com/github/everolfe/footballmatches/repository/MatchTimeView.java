@@ -0,0 +1,10 @@
+package com.github.everolfe.footballmatches.repository;
+
+import java.time.LocalDateTime;
+
+public interface MatchTimeView {
+
+    Integer getId();
+
+    LocalDateTime getDateTime();
+}
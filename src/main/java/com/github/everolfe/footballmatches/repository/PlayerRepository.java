@@ -1,18 +1,75 @@
 package com.github.everolfe.footballmatches.repository;
 
+import com.github.everolfe.footballmatches.dto.player.PlayerDto;
 import com.github.everolfe.footballmatches.model.Player;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 
 public interface PlayerRepository extends JpaRepository<Player, Integer> {
 
+    String PLAYER_DTO = "SELECT new com.github.everolfe.footballmatches.dto.player.PlayerDto("
+            + "p.id, p.name, p.age, p.country) FROM Player p";
+
     //native query
     //@Query(value = "SELECT * FROM players WHERE age = :age" , nativeQuery = true)
     //JPQL
-    @Query("SELECT p FROM Player p WHERE p.age = :age")
-    List<Player> findByAge(@Param("age") Integer age);
+    @Query(PLAYER_DTO + " WHERE p.age = :age")
+    List<PlayerDto> findByAge(@Param("age") Integer age);
+
+    @EntityGraph(attributePaths = "team")
+    @Query("SELECT p FROM Player p")
+    List<Player> findAllWithTeam();
+
+    @Query(PLAYER_DTO + " WHERE p.id = :id")
+    Optional<PlayerDto> findDtoById(@Param("id") Integer id);
+
+    @Query("SELECT p.team.id AS teamId, p.id AS id, p.name AS name, p.age AS age,"
+            + " p.country AS country FROM Player p WHERE p.team.id IN :teamIds ORDER BY p.id")
+    List<TeamPlayerView> findTeamPlayersByTeamIdIn(@Param("teamIds") Collection<Integer> teamIds);
+
+    @EntityGraph(attributePaths = "team")
+    @Query("SELECT p FROM Player p WHERE p.id IN :ids")
+    List<Player> findWithTeamByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT p.id FROM Player p WHERE p.id > :afterId ORDER BY p.id")
+    List<Integer> findIdsAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    @Query(PLAYER_DTO + " WHERE p.age = :age AND p.id > :afterId ORDER BY p.id")
+    List<PlayerDto> findByAgeAfter(@Param("age") Integer age, @Param("afterId") Integer afterId,
+                                Limit limit);
+
+    @Query("SELECT p.id FROM Player p WHERE p.id IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    // Batch links: the i-th player id pairs with the i-th team id.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE players SET team_id = (SELECT l.team_id"
+            + " FROM UNNEST(:playerIds, :teamIds) AS l(player_id, team_id)"
+            + " WHERE l.player_id = players.id)"
+            + " WHERE id = ANY(:playerIds)",
+            nativeQuery = true)
+    int linkToTeams(@Param("playerIds") Integer[] playerIds, @Param("teamIds") Integer[] teamIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE players SET team_id = NULL WHERE (id, team_id) IN"
+            + " (SELECT l.player_id, l.team_id"
+            + " FROM UNNEST(:playerIds, :teamIds) AS l(player_id, team_id))",
+            nativeQuery = true)
+    int unlinkFromTeams(@Param("playerIds") Integer[] playerIds,
+                        @Param("teamIds") Integer[] teamIds);
+
+    // Cascading deletes: each unlinks all rows with one statement, without loading them.
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Player p SET p.team = NULL WHERE p.team.id = :teamId")
+    int detachFromTeam(@Param("teamId") Integer teamId);
 }
@@ -0,0 +1,20 @@
+package com.github.everolfe.footballmatches.repository;
+
+import com.github.everolfe.footballmatches.dto.player.PlayerDto;
+
+public interface TeamPlayerView {
+
+    Integer getTeamId();
+
+    Integer getId();
+
+    String getName();
+
+    Integer getAge();
+
+    String getCountry();
+
+    default PlayerDto toDto() {
+        return new PlayerDto(getId(), getName(), getAge(), getCountry());
+    }
+}
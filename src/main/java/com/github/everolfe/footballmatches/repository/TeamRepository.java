@@ -1,8 +1,14 @@
 package com.github.everolfe.footballmatches.repository;
 
+import com.github.everolfe.footballmatches.dto.team.TeamDtoWithPlayers;
 import com.github.everolfe.footballmatches.model.Team;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,11 +18,61 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Integer> {
 
+    String TEAM_DTO = "SELECT new com.github.everolfe.footballmatches.dto.team.TeamDtoWithPlayers("
+            + "t.id, t.teamName, t.country) FROM Team t";
+
     //native query
     //@Query(
     // value = "SELECT * FROM teams WHERE LOWER(country) = LOWER(:country)", nativeQuery = true)
     //JPQL
-    @Query("SELECT t FROM Team t WHERE LOWER(t.country) = LOWER(:country)")
-    List<Team> findByCountryIgnoreCase(@Param("country") String country);
+    @Query(TEAM_DTO + " WHERE LOWER(t.country) = LOWER(:country) ORDER BY t.id")
+    List<TeamDtoWithPlayers> findByCountryIgnoreCase(@Param("country") String country);
+
+    @EntityGraph(attributePaths = "players")
+    @Query("SELECT t FROM Team t")
+    List<Team> findAllWithPlayers();
+
+    @Query(TEAM_DTO + " WHERE t.id = :id")
+    Optional<TeamDtoWithPlayers> findDtoById(@Param("id") Integer id);
+
+    @EntityGraph(attributePaths = {"matches", "matches.arena"})
+    @Query("SELECT t FROM Team t")
+    List<Team> findAllWithMatches();
+
+    @Query("SELECT DISTINCT t FROM Team t LEFT JOIN FETCH t.players WHERE t IN :teams")
+    List<Team> fetchPlayers(@Param("teams") Collection<Team> teams);
+
+    @Query("SELECT DISTINCT t FROM Team t LEFT JOIN FETCH t.matches m LEFT JOIN FETCH m.arena"
+            + " WHERE t IN :teams")
+    List<Team> fetchMatchesWithArena(@Param("teams") Collection<Team> teams);
+
+    @EntityGraph(attributePaths = "players")
+    @Query("SELECT t FROM Team t WHERE t.id IN :ids")
+    List<Team> findWithPlayersByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT t.id FROM Team t WHERE t.id > :afterId ORDER BY t.id")
+    List<Integer> findIdsAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    @Query(TEAM_DTO + " WHERE LOWER(t.country) = LOWER(:country)"
+            + " AND t.id > :afterId ORDER BY t.id")
+    List<TeamDtoWithPlayers> findByCountryAfter(@Param("country") String country,
+                                                @Param("afterId") Integer afterId, Limit limit);
+
+    @Query("SELECT t.id FROM Team t WHERE t.id IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    @Query(TEAM_DTO + " WHERE t.id IN :ids")
+    List<TeamDtoWithPlayers> findDtosByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT t.id AS id, t.country AS term FROM Team t WHERE t.id > :afterId ORDER BY t.id")
+    List<TermView> findCountriesAfter(@Param("afterId") Integer afterId, Limit limit);
+
+    @Query("SELECT MIN(t.country) FROM Team t"
+            + " WHERE SUBSTRING(LOWER(t.country), 1, LENGTH(:prefix)) = :prefix"
+            + " GROUP BY LOWER(t.country) ORDER BY LOWER(t.country)")
+    List<String> findCountriesStartingWith(@Param("prefix") String prefix, Limit limit);
 
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Team t WHERE t.id = :id")
+    int deleteRowById(@Param("id") Integer id);
 }
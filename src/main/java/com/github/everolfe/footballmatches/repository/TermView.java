@@ -0,0 +1,8 @@
+package com.github.everolfe.footballmatches.repository;
+
+public interface TermView {
+
+    Integer getId();
+
+    String getTerm();
+}
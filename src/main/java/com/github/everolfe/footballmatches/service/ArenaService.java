@@ -1,27 +1,37 @@
 package com.github.everolfe.footballmatches.service;
 
 import com.github.everolfe.footballmatches.aspect.AspectAnnotation;
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.dto.BulkInsertResult;
+import com.github.everolfe.footballmatches.dto.CursorPage;
+import com.github.everolfe.footballmatches.dto.ImportReport;
 import com.github.everolfe.footballmatches.dto.arena.ArenaDto;
 import com.github.everolfe.footballmatches.dto.arena.ArenaDtoWithMatches;
 import com.github.everolfe.footballmatches.exceptions.BadRequestException;
 import com.github.everolfe.footballmatches.exceptions.ExceptionMessages;
 import com.github.everolfe.footballmatches.exceptions.ResourcesNotFoundException;
 import com.github.everolfe.footballmatches.exceptions.ValidationUtils;
+import com.github.everolfe.footballmatches.index.CapacityIndex;
 import com.github.everolfe.footballmatches.mapper.ArenaMapper;
 import com.github.everolfe.footballmatches.model.Arena;
-import com.github.everolfe.footballmatches.model.Match;
 import com.github.everolfe.footballmatches.repository.ArenaRepository;
+import com.github.everolfe.footballmatches.repository.FetchPlans;
 import com.github.everolfe.footballmatches.repository.MatchRepository;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import lombok.AllArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 
@@ -31,13 +41,19 @@ public class ArenaService {
 
     private static final String ID_FIELD = "id";
     private static final String CAPACITY_FIELD = "capacity";
-    private static final String CACHE_NAME = "arenas";
-    private static final String CACHE_NAME_WITH_MATCHES = "arenasWithMatches";
+    private static final String CACHE_NAME = CacheConstants.ARENAS;
+    private static final String CACHE_NAME_WITH_MATCHES = CacheConstants.ARENAS_WITH_MATCHES;
 
     private final ArenaRepository arenaRepository;
     private final MatchRepository matchRepository;
+    private final FetchPlans fetchPlans;
 
     private final ArenaMapper arenaMapper;
+    private final CacheInvalidator cacheInvalidator;
+    private final BulkInserter bulkInserter;
+    private final StreamingImporter streamingImporter;
+    private final CapacityIndex capacityIndex;
+    private final CacheManager cacheManager;
 
     @AspectAnnotation
     @CachePut(value = CACHE_NAME, key = "#result.id")
@@ -48,15 +64,16 @@ public class ArenaService {
         ValidationUtils.validateProperName(arena.getCity());
         ValidationUtils.validateNonNegative(CAPACITY_FIELD, arena.getCapacity());
         arenaRepository.save(arena);
+        cacheInvalidator.created(arena);
         return arenaMapper.toDto(arena);
     }
 
     @AspectAnnotation
-    @Cacheable(value = CACHE_NAME_WITH_MATCHES)
+    @Cacheable(value = CACHE_NAME_WITH_MATCHES, sync = true)
     @Transactional(readOnly = true)
     public List<ArenaDtoWithMatches> readAll() {
         List<ArenaDtoWithMatches> arenaDtoWithMatches = new ArrayList<>();
-        List<Arena> arenas = arenaRepository.findAll();
+        List<Arena> arenas = fetchPlans.allArenasWithMatches();
         if (!arenas.isEmpty()) {
             for (Arena arena : arenas) {
                 arenaDtoWithMatches.add(arenaMapper.toDtoWithMatches(arena));
@@ -66,20 +83,32 @@ public class ArenaService {
     }
 
     @AspectAnnotation
-    @Cacheable(value = CACHE_NAME, key = "#id")
+    @Transactional(readOnly = true)
+    public CursorPage<ArenaDtoWithMatches> readPage(final String cursor, final Integer limit) {
+        int size = Keyset.limit(limit);
+        List<Integer> ids = arenaRepository.findIdsAfter(
+                Keyset.afterId(KeysetCursor.decode(cursor)), Limit.of(size + 1));
+        return Keyset.pageOfIds(ids, size, fetchPlans::arenasWithMatches,
+                arenaMapper::toDtoWithMatches, arena -> KeysetCursor.after(arena.getId()));
+    }
+
+    @AspectAnnotation
+    @Cacheable(value = CACHE_NAME, key = "#id", sync = true)
     @Transactional(readOnly = true)
     public ArenaDto read(final Integer id) {
         ValidationUtils.validateNonNegative(ID_FIELD, id);
-        return arenaMapper.toDto(arenaRepository.findById(id)
+        return arenaRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourcesNotFoundException(
-                        ExceptionMessages.getArenaNotExistMessage(id))));
+                        ExceptionMessages.getArenaNotExistMessage(id)));
+    }
+
+    @Transactional(readOnly = true)
+    public void cacheById(final List<Integer> ids) {
+        CachedReads.byId(cacheManager.getCache(CACHE_NAME), ArenaDto.class, ids,
+                arenaRepository::findDtosByIdIn, ArenaDto::getId);
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME_WITH_MATCHES, allEntries = true),
-            @CacheEvict(value = CACHE_NAME, key = "#id")
-    })
     @Transactional
     public boolean update(Arena arena, final Integer id) {
         ValidationUtils.validateNonNegative(ID_FIELD, id);
@@ -89,6 +118,7 @@ public class ArenaService {
                 .map(existingArena -> {
                     arena.setId(id);
                     arenaRepository.save(arena);
+                    cacheInvalidator.changed(arena);
                     return true;
                 })
                 .orElseThrow(() -> new ResourcesNotFoundException(
@@ -96,24 +126,15 @@ public class ArenaService {
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME, key = "#id"),
-            @CacheEvict(value = CACHE_NAME_WITH_MATCHES, allEntries = true)
-    })
     @Transactional
     public boolean delete(final Integer id) {
         ValidationUtils.validateNonNegative(ID_FIELD, id);
         Optional<Arena> arenaOptional = arenaRepository.findById(id);
         if (arenaOptional.isPresent()) {
             Arena arena = arenaOptional.get();
-            List<Match> matchList = arena.getMatchList();
-            if (matchList != null) {
-                matchList.forEach(match -> {
-                    match.setArena(null);
-                    matchRepository.save(match);
-                });
-            }
-            arenaRepository.deleteById(id);
+            cacheInvalidator.deleted(arena);
+            matchRepository.detachFromArena(id);
+            arenaRepository.deleteRowById(id);
             return true;
         } else {
             throw new ResourcesNotFoundException(ExceptionMessages.getArenaNotExistMessage(id));
@@ -126,49 +147,100 @@ public class ArenaService {
     }
 
     @AspectAnnotation
-    @Cacheable(value = "arenasByCapacity", key = "{#minCapacity, #maxCapacity}")
     @Transactional(readOnly = true)
     public List<ArenaDto> getArenasByCapacity(
             final Integer minCapacity, final Integer maxCapacity) {
         ValidationUtils.validateNonNegative(CAPACITY_FIELD, minCapacity);
         ValidationUtils.validateNonNegative(CAPACITY_FIELD, maxCapacity);
-        List<ArenaDto> arenaDto = new ArrayList<>();
         if (checkValidCapacity(minCapacity, maxCapacity)) {
-            return arenaDto;
+            return new ArrayList<>();
+        } else if (capacityIndex.isReady()) {
+            return findIndexedArenas(minCapacity == null ? Integer.MIN_VALUE : minCapacity,
+                    maxCapacity == null ? Integer.MAX_VALUE : maxCapacity);
         } else if (minCapacity == null) {
-            for (Arena arena : arenaRepository.findByCapacityLessThanEqual(maxCapacity)) {
-                arenaDto.add(arenaMapper.toDto(arena));
-            }
+            return arenaRepository.findByCapacityLessThanEqual(maxCapacity);
         } else if (maxCapacity == null) {
-            for (Arena arena : arenaRepository.findByCapacityGreaterThanEqual(minCapacity)) {
-                arenaDto.add(arenaMapper.toDto(arena));
-            }
+            return arenaRepository.findByCapacityGreaterThanEqual(minCapacity);
         } else {
-            for (Arena arena : arenaRepository.findByCapacityBetween(minCapacity, maxCapacity)) {
-                arenaDto.add(arenaMapper.toDto(arena));
+            return arenaRepository.findByCapacityBetween(minCapacity, maxCapacity);
+        }
+    }
+
+    private List<ArenaDto> findIndexedArenas(int minCapacity, int maxCapacity) {
+        List<Integer> ids = capacityIndex.between(minCapacity, maxCapacity);
+        Map<Integer, ArenaDto> found = CachedReads.byId(cacheManager.getCache(CACHE_NAME),
+                ArenaDto.class, ids, arenaRepository::findDtosByIdIn, ArenaDto::getId);
+        List<ArenaDto> arenas = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            ArenaDto arena = found.get(id);
+            if (arena == null) {
+                // Deleted on another node.
+                capacityIndex.remove(id);
+            } else if (arena.getCapacity() == null || arena.getCapacity() < minCapacity
+                    || arena.getCapacity() > maxCapacity) {
+                // Resized on another node before its event arrived here.
+                capacityIndex.put(id, arena.getCapacity());
+            } else {
+                arenas.add(arena);
             }
         }
-        return arenaDto;
+        return arenas;
     }
 
     @AspectAnnotation
-    @CacheEvict(value = CACHE_NAME_WITH_MATCHES, allEntries = true)
-    @Transactional
-    public void createBulk(List<Arena> arenas) {
+    @Transactional(readOnly = true)
+    public CursorPage<ArenaDto> getArenasByCapacityPage(final Integer minCapacity,
+                                                        final Integer maxCapacity,
+                                                        final String cursor,
+                                                        final Integer limit) {
+        ValidationUtils.validateNonNegative(CAPACITY_FIELD, minCapacity);
+        ValidationUtils.validateNonNegative(CAPACITY_FIELD, maxCapacity);
+        if (checkValidCapacity(minCapacity, maxCapacity)) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+        int size = Keyset.limit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int min = minCapacity == null ? 0 : minCapacity;
+        List<ArenaDto> arenas = arenaRepository.findByCapacityBetweenAfter(min,
+                maxCapacity == null ? Integer.MAX_VALUE : maxCapacity,
+                after == null ? min : after.intKey(), Keyset.afterId(after),
+                Limit.of(size + 1));
+        return Keyset.page(arenas, size, Function.identity(),
+                arena -> KeysetCursor.after(arena.getCapacity(), arena.getId()));
+    }
+
+    @AspectAnnotation
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkInsertResult createBulk(List<Arena> arenas) {
         if (arenas == null) {
             throw new BadRequestException("Arena list cannot be null");
         }
         List<Arena> validArenas = arenas.stream()
                 .filter(Objects::nonNull)
                 .map(arena -> {
-                    ValidationUtils.validateProperName(arena.getCity());
-                    ValidationUtils.validateNonNegative(CAPACITY_FIELD, arena.getCapacity());
+                    validate(arena);
                     return arena;
                 })
                 .toList();
         if (validArenas.isEmpty()) {
             throw new BadRequestException("No valid arenas provided");
         }
-        arenaRepository.saveAll(validArenas);
+        return bulkInserter.insert(validArenas, arenaRepository, cacheInvalidator::created);
+    }
+
+    @AspectAnnotation
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportReport importRecords(InputStream in, ImportFormat format) {
+        return streamingImporter.importRecords(in, format, importTarget());
+    }
+
+    public ImportTarget<Arena> importTarget() {
+        return new ImportTarget<>(Arena.class, ArenaService::validate, arenaRepository,
+                cacheInvalidator::created);
+    }
+
+    private static void validate(Arena arena) {
+        ValidationUtils.validateProperName(arena.getCity());
+        ValidationUtils.validateNonNegative(CAPACITY_FIELD, arena.getCapacity());
     }
-}
+}
\ No newline at end of file
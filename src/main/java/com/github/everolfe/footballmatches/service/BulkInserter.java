@@ -0,0 +1,53 @@
+package com.github.everolfe.footballmatches.service;
+
+import com.github.everolfe.footballmatches.dto.BulkInsertResult;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class BulkInserter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkInserter.class);
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BulkInserter(EntityManager entityManager,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${bulk-insert.chunk-size:1000}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public <T> BulkInsertResult insert(List<T> entities, JpaRepository<T, Integer> repository,
+                                       Consumer<List<T>> afterChunk) {
+        long start = System.nanoTime();
+        for (int from = 0; from < entities.size(); from += chunkSize) {
+            List<T> chunk = entities.subList(from, Math.min(entities.size(), from + chunkSize));
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.saveAll(chunk);
+                entityManager.flush();
+                entityManager.clear();
+                afterChunk.accept(chunk);
+            });
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long rowsPerSecond = elapsedNanos == 0
+                ? 0 : entities.size() * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        BulkInsertResult result = new BulkInsertResult(entities.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+        LOGGER.info("Bulk insert of {} rows took {} ms ({} rows/s)", result.getRows(),
+                result.getElapsedMillis(), result.getRowsPerSecond());
+        return result;
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.everolfe.footballmatches.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.cache.Cache;
+
+public final class CachedReads {
+
+    static final int LOAD_CHUNK = 500;
+
+    private CachedReads() {
+        throw new UnsupportedOperationException(
+                "This is a utility class and cannot be instantiated");
+    }
+
+    static <T> Map<Integer, T> byId(Cache cache, Class<T> type, List<Integer> ids,
+                                    Function<List<Integer>, List<T>> load,
+                                    Function<T, Integer> idOf) {
+        Map<Integer, T> found = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            T value = cache == null ? null : cache.get(id, type);
+            if (value == null) {
+                missing.add(id);
+            } else {
+                found.put(id, value);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += LOAD_CHUNK) {
+            List<Integer> chunk = missing.subList(from,
+                    Math.min(from + LOAD_CHUNK, missing.size()));
+            for (T value : load.apply(chunk)) {
+                found.put(idOf.apply(value), value);
+                if (cache != null) {
+                    cache.put(idOf.apply(value), value);
+                }
+            }
+        }
+        return found;
+    }
+
+    static <T> void putAll(Cache cache, List<T> values, Function<T, Integer> idOf) {
+        if (cache == null) {
+            return;
+        }
+        for (T value : values) {
+            cache.putIfAbsent(idOf.apply(value), value);
+        }
+    }
+}
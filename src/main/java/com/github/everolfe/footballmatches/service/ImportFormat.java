@@ -0,0 +1,31 @@
+package com.github.everolfe.footballmatches.service;
+
+import com.github.everolfe.footballmatches.exceptions.BadRequestException;
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final MediaType mediaType;
+
+    ImportFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ImportFormat of(String contentType) {
+        if (contentType != null) {
+            MediaType requested = MediaType.parseMediaType(contentType);
+            for (ImportFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(requested)) {
+                    return format;
+                }
+            }
+        }
+        throw new BadRequestException("Unsupported import content type: " + contentType);
+    }
+}
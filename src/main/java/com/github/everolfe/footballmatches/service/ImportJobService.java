@@ -0,0 +1,385 @@
+package com.github.everolfe.footballmatches.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.everolfe.footballmatches.aspect.AspectAnnotation;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.dto.ImportJobDto;
+import com.github.everolfe.footballmatches.exceptions.BadRequestException;
+import com.github.everolfe.footballmatches.exceptions.ExceptionMessages;
+import com.github.everolfe.footballmatches.exceptions.ResourcesNotFoundException;
+import com.github.everolfe.footballmatches.model.ImportJob;
+import com.github.everolfe.footballmatches.model.ImportJobChunk;
+import com.github.everolfe.footballmatches.model.ImportJobStatus;
+import com.github.everolfe.footballmatches.repository.ImportJobChunkRepository;
+import com.github.everolfe.footballmatches.repository.ImportJobProgress;
+import com.github.everolfe.footballmatches.repository.ImportJobRepository;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class ImportJobService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImportJobService.class);
+
+    private static final String CHUNK_FILE = "chunk-";
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final List<ImportJobStatus> UNFINISHED = List.of(
+            ImportJobStatus.QUEUED, ImportJobStatus.RUNNING, ImportJobStatus.FAILED);
+    private static final List<ImportJobStatus> LEASED = List.of(
+            ImportJobStatus.QUEUED, ImportJobStatus.RUNNING);
+
+    private final ImportJobRepository jobRepository;
+    private final ImportJobChunkRepository chunkRepository;
+    private final BulkInserter bulkInserter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<EntityType, ImportTarget<?>> targets = new EnumMap<>(EntityType.class);
+    private final Path jobDirectory;
+    private final int chunkSize;
+    private final ExecutorService workers;
+    private final Set<Integer> running = ConcurrentHashMap.newKeySet();
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Duration lease;
+
+    public ImportJobService(ImportJobRepository jobRepository,
+                            ImportJobChunkRepository chunkRepository,
+                            BulkInserter bulkInserter, ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            MatchService matchService, TeamService teamService,
+                            ArenaService arenaService, PlayerService playerService,
+                            @Value("${import.job-dir:./imports}") String jobDirectory,
+                            @Value("${bulk-insert.chunk-size:1000}") int chunkSize,
+                            @Value("${import.job-workers:4}") int workers,
+                            @Value("${import.job-lease:PT1M}") Duration lease) {
+        this.jobRepository = jobRepository;
+        this.chunkRepository = chunkRepository;
+        this.bulkInserter = bulkInserter;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.targets.put(EntityType.MATCH, matchService.importTarget());
+        this.targets.put(EntityType.TEAM, teamService.importTarget());
+        this.targets.put(EntityType.ARENA, arenaService.importTarget());
+        this.targets.put(EntityType.PLAYER, playerService.importTarget());
+        this.jobDirectory = Paths.get(jobDirectory);
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "import-job-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @AspectAnnotation
+    public Integer submit(EntityType entity, ImportFormat format, InputStream in) {
+        if (entity == null) {
+            throw new BadRequestException("Import entity cannot be null");
+        }
+        Path directory;
+        List<Long> firstLines = new ArrayList<>();
+        try {
+            Files.createDirectories(jobDirectory);
+            directory = Files.createTempDirectory(jobDirectory, "job-");
+            split(in, format, directory, firstLines);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store import", e);
+        }
+        ImportJob job = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            ImportJob created = new ImportJob();
+            created.setEntity(entity);
+            created.setFormat(format);
+            created.setStatus(ImportJobStatus.QUEUED);
+            created.setDirectory(directory.toString());
+            created.setChunkCount(firstLines.size());
+            created.setCreatedAt(now);
+            created.setUpdatedAt(now);
+            jobRepository.save(created);
+            List<ImportJobChunk> chunks = new ArrayList<>(firstLines.size());
+            for (int i = 0; i < firstLines.size(); i++) {
+                ImportJobChunk chunk = new ImportJobChunk();
+                chunk.setJobId(created.getId());
+                chunk.setChunkIndex(i);
+                chunk.setFirstLine(firstLines.get(i));
+                chunks.add(chunk);
+            }
+            chunkRepository.saveAll(chunks);
+            return created;
+        });
+        start(job);
+        return job.getId();
+    }
+
+    @AspectAnnotation
+    public ImportJobDto getJob(Integer id) {
+        return toDto(findJob(id));
+    }
+
+    @AspectAnnotation
+    public ImportJobDto resume(Integer id) {
+        ImportJob job = findJob(id);
+        if (job.getStatus() == ImportJobStatus.COMPLETED) {
+            throw new BadRequestException("Import job " + id + " has already completed");
+        }
+        if (!Files.isDirectory(Paths.get(job.getDirectory()))) {
+            throw new BadRequestException("The upload of import job " + id
+                    + " is on another node");
+        }
+        if (!start(job)) {
+            throw new BadRequestException("Import job " + id + " is already running");
+        }
+        return toDto(findJob(id));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        takeOver(UNFINISHED);
+    }
+
+    @Scheduled(fixedDelayString = "${import.job-heartbeat:PT15S}")
+    public void renewLeases() {
+        if (!running.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    jobRepository.renewLeases(nodeId, LocalDateTime.now()));
+        }
+        takeOver(LEASED);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void takeOver(List<ImportJobStatus> statuses) {
+        LocalDateTime expiry = LocalDateTime.now().minus(lease);
+        for (ImportJob job : jobRepository.findByStatusInOrderById(statuses)) {
+            boolean leased = job.getOwner() != null && job.getHeartbeatAt() != null
+                    && job.getHeartbeatAt().isAfter(expiry);
+            if (!leased && Files.isDirectory(Paths.get(job.getDirectory())) && start(job)) {
+                LOGGER.info("Resumed import job {} ({})", job.getId(), job.getStatus());
+            }
+        }
+    }
+
+    private boolean start(ImportJob job) {
+        if (!running.add(job.getId())) {
+            return false;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Integer claimed = transactionTemplate.execute(status -> jobRepository.claim(
+                    job.getId(), nodeId, ImportJobStatus.RUNNING, UNFINISHED, now,
+                    now.minus(lease)));
+            if (claimed == null || claimed == 0) {
+                running.remove(job.getId());
+                return false;
+            }
+            ImportTarget<?> target = targets.get(job.getEntity());
+            CompletableFuture<?>[] chunks = chunkRepository
+                    .findByJobIdAndDoneFalseOrderByChunkIndex(job.getId()).stream()
+                    .map(chunk -> CompletableFuture.runAsync(
+                            () -> runChunk(job, chunk, target), workers))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(chunks)
+                    .whenComplete((ignored, failure) -> finish(job.getId()));
+            return true;
+        } catch (RuntimeException e) {
+            running.remove(job.getId());
+            throw e;
+        }
+    }
+
+    private <T> void runChunk(ImportJob job, ImportJobChunk chunk, ImportTarget<T> target) {
+        Path file = chunkFile(Paths.get(job.getDirectory()), chunk.getChunkIndex());
+        // CSV chunk files repeat the header, so their rows start one line later.
+        long lineOffset = chunk.getFirstLine() - (job.getFormat() == ImportFormat.CSV ? 2 : 1);
+        List<T> records = new ArrayList<>();
+        String firstError = null;
+        int rejected = 0;
+        try (RecordReader<T> reader = new RecordReader<>(Files.newInputStream(file),
+                job.getFormat(), objectMapper, target.type())) {
+            while (true) {
+                try {
+                    T record = reader.next();
+                    if (record == null) {
+                        break;
+                    }
+                    target.validator().accept(record);
+                    records.add(record);
+                } catch (RuntimeException e) {
+                    if (firstError == null) {
+                        firstError = "Line " + (lineOffset + reader.line()) + ": "
+                                + e.getMessage();
+                    }
+                    rejected++;
+                }
+            }
+            String error = truncate(firstError);
+            int failed = rejected;
+            Boolean inserted = transactionTemplate.execute(status -> {
+                ImportJobChunk pending = chunkRepository.lockPending(chunk.getId())
+                        .orElse(null);
+                if (pending == null) {
+                    return false;
+                }
+                bulkInserter.insert(records, target.repository(), target.afterChunk());
+                pending.setRowsImported(records.size());
+                pending.setRowsFailed(failed);
+                pending.setError(error);
+                pending.setDone(true);
+                chunkRepository.save(pending);
+                return true;
+            });
+            if (!Boolean.TRUE.equals(inserted)) {
+                LOGGER.info("Chunk {} of import job {} skipped: done or being inserted"
+                        + " elsewhere", chunk.getChunkIndex(), job.getId());
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Chunk {} of import job {} failed: {}", chunk.getChunkIndex(),
+                    job.getId(), e.getMessage());
+            String error = truncate("Chunk " + chunk.getChunkIndex() + " failed: "
+                    + e.getMessage());
+            transactionTemplate.executeWithoutResult(status ->
+                    chunkRepository.recordFailure(chunk.getId(), error));
+        }
+    }
+
+    private void finish(Integer id) {
+        try {
+            ImportJob job = findJob(id);
+            List<ImportJobChunk> pending =
+                    chunkRepository.findByJobIdAndDoneFalseOrderByChunkIndex(id);
+            ImportJobStatus outcome = pending.isEmpty()
+                    ? ImportJobStatus.COMPLETED : ImportJobStatus.FAILED;
+            String error = pending.isEmpty() ? null : pending.size() + " of "
+                    + job.getChunkCount() + " chunks not imported; first: "
+                    + pending.get(0).getError();
+            Integer released = transactionTemplate.execute(status -> jobRepository.release(
+                    id, nodeId, outcome, error, LocalDateTime.now()));
+            if (released == null || released == 0) {
+                LOGGER.warn("Import job {} was taken over by another node", id);
+                return;
+            }
+            if (outcome == ImportJobStatus.COMPLETED) {
+                deleteDirectory(Paths.get(job.getDirectory()));
+            }
+            LOGGER.info("Import job {} {}", id, outcome);
+        } finally {
+            running.remove(id);
+        }
+    }
+
+    private void split(InputStream in, ImportFormat format, Path directory,
+                       List<Long> firstLines) throws IOException {
+        BufferedWriter out = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String header = null;
+            int rows = 0;
+            long line = 0;
+            String row;
+            while ((row = reader.readLine()) != null) {
+                line++;
+                if (row.isBlank()) {
+                    // Kept inside a chunk so its line numbers still match the upload.
+                    if (out != null) {
+                        out.newLine();
+                    }
+                    continue;
+                }
+                if (format == ImportFormat.CSV && header == null) {
+                    header = row;
+                    continue;
+                }
+                if (out == null) {
+                    out = Files.newBufferedWriter(chunkFile(directory, firstLines.size()));
+                    firstLines.add(line);
+                    if (header != null) {
+                        out.write(header);
+                        out.newLine();
+                    }
+                }
+                out.write(row);
+                out.newLine();
+                if (++rows == chunkSize) {
+                    out.close();
+                    out = null;
+                    rows = 0;
+                }
+            }
+        } finally {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+
+    private ImportJob findJob(Integer id) {
+        return jobRepository.findById(id).orElseThrow(() -> new ResourcesNotFoundException(
+                ExceptionMessages.getImportJobNotExistMessage(id)));
+    }
+
+    private ImportJobDto toDto(ImportJob job) {
+        ImportJobProgress progress = chunkRepository.summarize(job.getId());
+        List<String> chunkErrors = chunkRepository
+                .findTop100ByJobIdAndErrorIsNotNullOrderByChunkIndex(job.getId()).stream()
+                .map(ImportJobChunk::getError)
+                .toList();
+        return new ImportJobDto(job.getId(), job.getEntity(), job.getStatus(),
+                job.getChunkCount(), progress.getChunksDone(), progress.getRowsImported(),
+                progress.getRowsFailed(), job.getError(), chunkErrors, job.getCreatedAt(),
+                job.getUpdatedAt());
+    }
+
+    private static Path chunkFile(Path directory, int index) {
+        return directory.resolve(CHUNK_FILE + index);
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= MAX_ERROR_LENGTH
+                ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static void deleteDirectory(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete import files {}: {}", directory, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.github.everolfe.footballmatches.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public record ImportTarget<T>(Class<T> type, Consumer<T> validator,
+                              JpaRepository<T, Integer> repository,
+                              Consumer<List<T>> afterChunk) {
+}
@@ -0,0 +1,61 @@
+package com.github.everolfe.footballmatches.service;
+
+import com.github.everolfe.footballmatches.dto.CursorPage;
+import com.github.everolfe.footballmatches.exceptions.BadRequestException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+public final class Keyset {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    // Stand-ins for an open date range; keyset conditions cannot take null bounds.
+    static final LocalDateTime MIN_DATE_TIME = LocalDateTime.of(1, 1, 1, 0, 0);
+    static final LocalDateTime MAX_DATE_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private Keyset() {
+        throw new UnsupportedOperationException(
+                "This is a utility class and cannot be instantiated");
+    }
+
+    public static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (requested < 1) {
+            throw new BadRequestException("Page limit must be greater than 0");
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    static int afterId(KeysetCursor cursor) {
+        return cursor == null ? 0 : cursor.id();
+    }
+
+    static <E, T> CursorPage<T> page(List<E> rows, int limit, Function<E, T> toDto,
+                                     Function<E, KeysetCursor> cursorOf) {
+        return build(rows.size() > limit, rows.subList(0, Math.min(rows.size(), limit)),
+                toDto, cursorOf);
+    }
+
+    static <E, T> CursorPage<T> pageOfIds(List<Integer> ids, int limit,
+                                          Function<List<Integer>, List<E>> load,
+                                          Function<E, T> toDto,
+                                          Function<E, KeysetCursor> cursorOf) {
+        List<Integer> pageIds = ids.subList(0, Math.min(ids.size(), limit));
+        return build(ids.size() > limit, pageIds.isEmpty() ? List.of() : load.apply(pageIds),
+                toDto, cursorOf);
+    }
+
+    private static <E, T> CursorPage<T> build(boolean hasNext, List<E> rows,
+                                              Function<E, T> toDto,
+                                              Function<E, KeysetCursor> cursorOf) {
+        List<T> items = rows.stream().map(toDto).toList();
+        String next = hasNext && !rows.isEmpty()
+                ? cursorOf.apply(rows.get(rows.size() - 1)).encode()
+                : null;
+        return new CursorPage<>(items, next);
+    }
+}
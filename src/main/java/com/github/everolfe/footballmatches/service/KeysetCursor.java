@@ -0,0 +1,63 @@
+package com.github.everolfe.footballmatches.service;
+
+import com.github.everolfe.footballmatches.exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record KeysetCursor(String key, int id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static KeysetCursor after(int id) {
+        return new KeysetCursor("", id);
+    }
+
+    public static KeysetCursor after(Object key, int id) {
+        return new KeysetCursor(String.valueOf(key), id);
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException(invalid(cursor));
+            }
+            return new KeysetCursor(decoded.substring(0, separator),
+                    Integer.parseInt(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(invalid(cursor));
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime dateTimeKey() {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException(invalid(encode()));
+        }
+    }
+
+    public int intKey() {
+        try {
+            return Integer.parseInt(key);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException(invalid(encode()));
+        }
+    }
+
+    private static String invalid(String cursor) {
+        return "Invalid page cursor: " + cursor;
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.everolfe.footballmatches.service;
+
+import com.github.everolfe.footballmatches.cache.EntityRef;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.exceptions.BadRequestException;
+import com.github.everolfe.footballmatches.exceptions.ResourcesNotFoundException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+final class LinkBatches {
+
+    // Keeps the IN lists of the existence checks below the driver's parameter limit.
+    static final int MAX_LINKS = 10_000;
+
+    private LinkBatches() {
+        throw new UnsupportedOperationException(
+                "This is a utility class and cannot be instantiated");
+    }
+
+    static <L> void validate(List<L> links, Function<L, Integer> left,
+                             Function<L, Integer> right) {
+        if (links == null || links.isEmpty()) {
+            throw new BadRequestException("Link list cannot be empty");
+        }
+        if (links.size() > MAX_LINKS) {
+            throw new BadRequestException("At most " + MAX_LINKS + " links per request");
+        }
+        for (L link : links) {
+            if (link == null || !isId(left.apply(link)) || !isId(right.apply(link))) {
+                throw new BadRequestException("Invalid link: " + link);
+            }
+        }
+    }
+
+    static <L> Set<Integer> ids(List<L> links, Function<L, Integer> column) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (L link : links) {
+            ids.add(column.apply(link));
+        }
+        return ids;
+    }
+
+    static <L> Integer[] column(List<L> links, Function<L, Integer> column) {
+        return links.stream().map(column).toArray(Integer[]::new);
+    }
+
+    static void requireExisting(Set<Integer> ids,
+                                Function<Collection<Integer>, List<Integer>> existing,
+                                Function<Integer, String> notFoundMessage) {
+        Set<Integer> found = new HashSet<>(existing.apply(ids));
+        for (Integer id : ids) {
+            if (!found.contains(id)) {
+                throw new ResourcesNotFoundException(notFoundMessage.apply(id));
+            }
+        }
+    }
+
+    static List<EntityRef> refs(EntityType leftType, Set<Integer> leftIds,
+                                EntityType rightType, Set<Integer> rightIds) {
+        List<EntityRef> refs = new ArrayList<>(leftIds.size() + rightIds.size());
+        leftIds.forEach(id -> refs.add(new EntityRef(leftType, id)));
+        rightIds.forEach(id -> refs.add(new EntityRef(rightType, id)));
+        return refs;
+    }
+
+    private static boolean isId(Integer id) {
+        return id != null && id >= 0;
+    }
+}
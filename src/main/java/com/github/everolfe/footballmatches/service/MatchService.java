@@ -1,29 +1,43 @@
 package com.github.everolfe.footballmatches.service;
 
 import com.github.everolfe.footballmatches.aspect.AspectAnnotation;
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.dto.BulkInsertResult;
+import com.github.everolfe.footballmatches.dto.CursorPage;
+import com.github.everolfe.footballmatches.dto.ImportReport;
 import com.github.everolfe.footballmatches.dto.match.MatchDtoWithArenaAndTeams;
+import com.github.everolfe.footballmatches.dto.match.MatchTeamLink;
 import com.github.everolfe.footballmatches.exceptions.BadRequestException;
 import com.github.everolfe.footballmatches.exceptions.ExceptionMessages;
 import com.github.everolfe.footballmatches.exceptions.ResourcesNotFoundException;
 import com.github.everolfe.footballmatches.exceptions.ValidationUtils;
+import com.github.everolfe.footballmatches.index.MatchScheduleIndex;
+import com.github.everolfe.footballmatches.index.TermIndex;
+import com.github.everolfe.footballmatches.index.TournamentIndex;
 import com.github.everolfe.footballmatches.mapper.MatchMapper;
 import com.github.everolfe.footballmatches.model.Arena;
 import com.github.everolfe.footballmatches.model.Match;
 import com.github.everolfe.footballmatches.model.Team;
 import com.github.everolfe.footballmatches.repository.ArenaRepository;
+import com.github.everolfe.footballmatches.repository.FetchPlans;
 import com.github.everolfe.footballmatches.repository.MatchRepository;
 import com.github.everolfe.footballmatches.repository.TeamRepository;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import lombok.AllArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 
@@ -33,17 +47,24 @@ public class MatchService  {
 
     private static final String ID_FIELD = "id";
     private static final String TOURNAMENT_NAME_FIELD = "tournamentName";
-    private static final String CACHE_NAME = "matches";
-    private static final String CACHE_NAME_WITH_ARENA_AND_TEAMS = "matchesWithArenaAndTeams";
+    private static final String CACHE_NAME = CacheConstants.MATCHES;
+    private static final String CACHE_NAME_WITH_ARENA_AND_TEAMS =
+            CacheConstants.MATCHES_WITH_ARENA_AND_TEAMS;
 
     private final MatchRepository matchRepository;
     private final TeamRepository teamRepository;
     private final ArenaRepository arenaRepository;
+    private final FetchPlans fetchPlans;
 
     private final MatchMapper matchMapper;
+    private final CacheInvalidator cacheInvalidator;
+    private final BulkInserter bulkInserter;
+    private final StreamingImporter streamingImporter;
+    private final MatchScheduleIndex scheduleIndex;
+    private final TournamentIndex tournamentIndex;
+    private final CacheManager cacheManager;
 
     @AspectAnnotation
-    @CachePut(value = CACHE_NAME, key = "#result.id")
     @Transactional
     public Match create(Match match) {
         if (match == null) {
@@ -51,14 +72,16 @@ public class MatchService  {
         }
         ValidationUtils.validateCapitalizedWords(TOURNAMENT_NAME_FIELD, match.getTournamentName());
         ValidationUtils.validateDateFormat(match.getDateTime().toString());
-        return matchRepository.save(match);
+        Match savedMatch = matchRepository.save(match);
+        cacheInvalidator.created(savedMatch);
+        return savedMatch;
     }
 
     @AspectAnnotation
-    @Cacheable(value = CACHE_NAME_WITH_ARENA_AND_TEAMS)
+    @Cacheable(value = CACHE_NAME_WITH_ARENA_AND_TEAMS, sync = true)
     @Transactional(readOnly = true)
     public List<MatchDtoWithArenaAndTeams> readAll() {
-        List<Match> matches = matchRepository.findAll();
+        List<Match> matches = fetchPlans.allMatchesWithArenaAndTeams();
         List<MatchDtoWithArenaAndTeams> matchDtoWithArenaAndTeamsList = new ArrayList<>();
         if (!matches.isEmpty()) {
             for (Match match : matches) {
@@ -70,21 +93,33 @@ public class MatchService  {
     }
 
     @AspectAnnotation
-    @Cacheable(value = CACHE_NAME, key = "#id")
+    @Transactional(readOnly = true)
+    public CursorPage<MatchDtoWithArenaAndTeams> readPage(final String cursor,
+                                                          final Integer limit) {
+        int size = Keyset.limit(limit);
+        List<Integer> ids = matchRepository.findIdsAfter(
+                Keyset.afterId(KeysetCursor.decode(cursor)), Limit.of(size + 1));
+        return Keyset.pageOfIds(ids, size, fetchPlans::matchesWithArenaAndTeams,
+                matchMapper::toDtoWithArenaAndTeams, match -> KeysetCursor.after(match.getId()));
+    }
+
+    @AspectAnnotation
+    @Cacheable(value = CACHE_NAME, key = "#id", sync = true)
     @Transactional(readOnly = true)
     public MatchDtoWithArenaAndTeams read(final Integer id) throws ResourcesNotFoundException {
         ValidationUtils.validateNonNegative(ID_FIELD, id);
-        Match match = matchRepository.findById(id)
+        Match match = fetchPlans.matchWithArenaAndTeams(id)
                 .orElseThrow(() -> new ResourcesNotFoundException(
                         ExceptionMessages.getMatchNotExistMessage(id)));
         return matchMapper.toDtoWithArenaAndTeams(match);
     }
 
+    public void cacheById(final List<MatchDtoWithArenaAndTeams> matches) {
+        CachedReads.putAll(cacheManager.getCache(CACHE_NAME), matches,
+                MatchDtoWithArenaAndTeams::getId);
+    }
+
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME_WITH_ARENA_AND_TEAMS, allEntries = true),
-            @CacheEvict(value = CACHE_NAME, key = "#id")
-    })
     @Transactional
     public boolean update(Match match, final Integer id) {
         ValidationUtils.validateCapitalizedWords(TOURNAMENT_NAME_FIELD, match.getTournamentName());
@@ -94,6 +129,7 @@ public class MatchService  {
         if (existingMatch.isPresent()) {
             match.setId(id);
             matchRepository.save(match);
+            cacheInvalidator.changed(match);
             return true;
         } else {
             throw new ResourcesNotFoundException(ExceptionMessages.getMatchNotExistMessage(id));
@@ -101,29 +137,15 @@ public class MatchService  {
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME, key = "#matchId"),
-            @CacheEvict(value = CACHE_NAME_WITH_ARENA_AND_TEAMS, allEntries = true)
-    })
     @Transactional
     public boolean delete(final Integer matchId) {
         ValidationUtils.validateNonNegative(ID_FIELD, matchId);
         Optional<Match> matchOptional = matchRepository.findById(matchId);
         if (matchOptional.isPresent()) {
             Match match = matchOptional.get();
-            List<Team> teams = match.getTeamList();
-            if (teams != null) {
-                teams.forEach(team -> {
-                    team.getMatches().remove(match);
-                    teamRepository.save(team);
-                });
-            }
-            Arena arena = match.getArena();
-            if (arena != null) {
-                arena.getMatchList().remove(match);
-                arenaRepository.save(arena);
-            }
-            matchRepository.deleteById(matchId);
+            cacheInvalidator.deleted(match);
+            matchRepository.unlinkAllTeams(matchId);
+            matchRepository.deleteRowById(matchId);
             return true;
         } else {
             throw new ResourcesNotFoundException(
@@ -132,10 +154,6 @@ public class MatchService  {
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME, key = "#matchId"),
-            @CacheEvict(value = CACHE_NAME_WITH_ARENA_AND_TEAMS, allEntries = true)
-    })
     @Transactional
     public boolean addTeamToMatch(final Integer matchId, final Integer teamId)
             throws ResourcesNotFoundException, BadRequestException {
@@ -152,6 +170,8 @@ public class MatchService  {
             teamRepository.save(team);
             match.getTeamList().add(team);
             matchRepository.save(match);
+            cacheInvalidator.changed(match);
+            cacheInvalidator.changed(team);
             return true;
         } else {
             throw new BadRequestException("Match already has such team");
@@ -159,10 +179,6 @@ public class MatchService  {
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME, key = "#matchId"),
-            @CacheEvict(value = CACHE_NAME_WITH_ARENA_AND_TEAMS, allEntries = true)
-    })
     @Transactional
     public boolean removeTeamFromMatch(final Integer matchId, final Integer teamId)
             throws ResourcesNotFoundException, BadRequestException {
@@ -179,6 +195,8 @@ public class MatchService  {
             teamRepository.save(team);
             match.getTeamList().remove(team);
             matchRepository.save(match);
+            cacheInvalidator.changed(match);
+            cacheInvalidator.changed(team);
             return true;
         } else {
             throw new BadRequestException("Match does not have such team");
@@ -186,10 +204,43 @@ public class MatchService  {
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME, key = "#matchId"),
-            @CacheEvict(value = CACHE_NAME_WITH_ARENA_AND_TEAMS, allEntries = true)
-    })
+    @Transactional
+    public int addTeamsToMatches(final List<MatchTeamLink> links)
+            throws ResourcesNotFoundException, BadRequestException {
+        LinkBatches.validate(links, MatchTeamLink::getMatchId, MatchTeamLink::getTeamId);
+        Set<Integer> matchIds = LinkBatches.ids(links, MatchTeamLink::getMatchId);
+        Set<Integer> teamIds = LinkBatches.ids(links, MatchTeamLink::getTeamId);
+        LinkBatches.requireExisting(matchIds, matchRepository::findExistingIds,
+                ExceptionMessages::getMatchNotExistMessage);
+        LinkBatches.requireExisting(teamIds, teamRepository::findExistingIds,
+                ExceptionMessages::getTeamNotExistMessage);
+        int added = matchRepository.linkTeams(
+                LinkBatches.column(links, MatchTeamLink::getMatchId),
+                LinkBatches.column(links, MatchTeamLink::getTeamId));
+        if (added > 0) {
+            cacheInvalidator.changedAll(LinkBatches.refs(
+                    EntityType.MATCH, matchIds, EntityType.TEAM, teamIds));
+        }
+        return added;
+    }
+
+    @AspectAnnotation
+    @Transactional
+    public int removeTeamsFromMatches(final List<MatchTeamLink> links)
+            throws BadRequestException {
+        LinkBatches.validate(links, MatchTeamLink::getMatchId, MatchTeamLink::getTeamId);
+        int removed = matchRepository.unlinkTeams(
+                LinkBatches.column(links, MatchTeamLink::getMatchId),
+                LinkBatches.column(links, MatchTeamLink::getTeamId));
+        if (removed > 0) {
+            cacheInvalidator.changedAll(LinkBatches.refs(
+                    EntityType.MATCH, LinkBatches.ids(links, MatchTeamLink::getMatchId),
+                    EntityType.TEAM, LinkBatches.ids(links, MatchTeamLink::getTeamId)));
+        }
+        return removed;
+    }
+
+    @AspectAnnotation
     @Transactional
     public boolean setNewArena(final Integer matchId, final Integer arenaId)
             throws ResourcesNotFoundException {
@@ -213,11 +264,12 @@ public class MatchService  {
         arenaRepository.save(newArena);
         match.setArena(newArena);
         matchRepository.save(match);
+        cacheInvalidator.changed(match);
+        cacheInvalidator.changed(newArena);
         return true;
     }
 
     @AspectAnnotation
-    @CacheEvict(value = CACHE_NAME, key = "#matchId")
     @Transactional
     public boolean updateMatchTime(final Integer matchId, final LocalDateTime time)
             throws ResourcesNotFoundException {
@@ -228,11 +280,11 @@ public class MatchService  {
                         ExceptionMessages.getMatchNotExistMessage(matchId)));
         match.setDateTime(time);
         matchRepository.save(match);
+        cacheInvalidator.changed(match);
         return true;
     }
 
     @AspectAnnotation
-    @Cacheable(value = "matchesByDate", key = "{#startDate, #endDate}")
     @Transactional(readOnly = true)
     public List<MatchDtoWithArenaAndTeams> findMatchesByDates(
             LocalDateTime startDate, LocalDateTime endDate) {
@@ -241,18 +293,24 @@ public class MatchService  {
         if (startDate == null && endDate == null
                 || startDate != null && endDate != null && startDate.isAfter(endDate)) {
             return matchDtoWithArenaAndTeamsList;
+        } else if (scheduleIndex.isReady()) {
+            return findIndexedMatches(startDate == null ? Keyset.MIN_DATE_TIME : startDate,
+                    endDate == null ? Keyset.MAX_DATE_TIME : endDate);
         } else if (startDate == null) {
-            for (Match match : matchRepository.findByDateTimeLessThanEqual(endDate)) {
+            for (Match match : fetchPlans.withTeamPlayers(
+                    matchRepository.findByDateTimeLessThanEqual(endDate))) {
                 matchDtoWithArenaAndTeamsList.add(
                         matchMapper.toDtoWithArenaAndTeams(match));
             }
         } else if (endDate == null) {
-            for (Match match : matchRepository.findByDateTimeGreaterThanEqual(startDate)) {
+            for (Match match : fetchPlans.withTeamPlayers(
+                    matchRepository.findByDateTimeGreaterThanEqual(startDate))) {
                 matchDtoWithArenaAndTeamsList.add(
                         matchMapper.toDtoWithArenaAndTeams(match));
             }
         } else {
-            for (Match match : matchRepository.findByDateTimeBetween(startDate, endDate)) {
+            for (Match match : fetchPlans.withTeamPlayers(
+                    matchRepository.findByDateTimeBetween(startDate, endDate))) {
                 matchDtoWithArenaAndTeamsList.add(
                         matchMapper.toDtoWithArenaAndTeams(match));
             }
@@ -260,38 +318,148 @@ public class MatchService  {
         return matchDtoWithArenaAndTeamsList;
     }
 
+    private List<MatchDtoWithArenaAndTeams> findIndexedMatches(LocalDateTime start,
+                                                               LocalDateTime end) {
+        List<Integer> ids = scheduleIndex.between(start, end);
+        Map<Integer, MatchDtoWithArenaAndTeams> found = readCached(ids);
+        List<MatchDtoWithArenaAndTeams> matches = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            MatchDtoWithArenaAndTeams match = found.get(id);
+            if (match == null) {
+                // Deleted on another node.
+                scheduleIndex.remove(id);
+            } else if (match.getDateTime().isBefore(start) || match.getDateTime().isAfter(end)) {
+                // Moved on another node before its event arrived here.
+                scheduleIndex.put(id, match.getDateTime());
+            } else {
+                matches.add(match);
+            }
+        }
+        return matches;
+    }
+
+    private Map<Integer, MatchDtoWithArenaAndTeams> readCached(List<Integer> ids) {
+        return CachedReads.byId(cacheManager.getCache(CACHE_NAME),
+                MatchDtoWithArenaAndTeams.class, ids,
+                chunk -> fetchPlans.matchesWithArenaAndTeams(chunk).stream()
+                        .map(matchMapper::toDtoWithArenaAndTeams).toList(),
+                MatchDtoWithArenaAndTeams::getId);
+    }
+
     @AspectAnnotation
-    @Cacheable(value = "matchesByTournament", key = "#tournamentName")
     @Transactional(readOnly = true)
     public List<MatchDtoWithArenaAndTeams> getMatchesByTournamentName(final String tournamentName) {
         ValidationUtils.validateCapitalizedWords(TOURNAMENT_NAME_FIELD, tournamentName);
+        if (tournamentIndex.isReady()) {
+            return findIndexedTournament(tournamentName);
+        }
         List<MatchDtoWithArenaAndTeams> matchDtoWithArenaAndTeamsList = new ArrayList<>();
-        for (Match match : matchRepository.findByTournamentNameIgnoreCase(tournamentName)) {
+        for (Match match : fetchPlans.withTeamPlayers(
+                matchRepository.findByTournamentNameIgnoreCase(tournamentName))) {
             matchDtoWithArenaAndTeamsList
                     .add(matchMapper.toDtoWithArenaAndTeams(match));
         }
         return matchDtoWithArenaAndTeamsList;
     }
 
+    private List<MatchDtoWithArenaAndTeams> findIndexedTournament(String tournamentName) {
+        String folded = TermIndex.fold(tournamentName);
+        List<Integer> ids = tournamentIndex.exact(tournamentName);
+        Map<Integer, MatchDtoWithArenaAndTeams> found = readCached(ids);
+        List<MatchDtoWithArenaAndTeams> matches = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            MatchDtoWithArenaAndTeams match = found.get(id);
+            if (match == null) {
+                // Deleted on another node.
+                tournamentIndex.remove(id);
+            } else if (!TermIndex.fold(match.getTournamentName()).equals(folded)) {
+                // Renamed on another node before its event arrived here.
+                tournamentIndex.put(id, match.getTournamentName());
+            } else {
+                matches.add(match);
+            }
+        }
+        return matches;
+    }
+
     @AspectAnnotation
-    @CacheEvict(value = CACHE_NAME_WITH_ARENA_AND_TEAMS, allEntries = true)
-    @Transactional
-    public void createBulk(List<Match> matches) {
+    @Transactional(readOnly = true)
+    public List<String> completeTournamentNames(final String prefix, final Integer limit) {
+        int size = Keyset.limit(limit);
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequestException("Prefix must not be empty");
+        }
+        if (tournamentIndex.isReady()) {
+            return tournamentIndex.complete(prefix, size);
+        }
+        return matchRepository.findTournamentNamesStartingWith(
+                TermIndex.fold(prefix), Limit.of(size));
+    }
+
+    @AspectAnnotation
+    @Transactional(readOnly = true)
+    public CursorPage<MatchDtoWithArenaAndTeams> findMatchesByDatesPage(
+            LocalDateTime startDate, LocalDateTime endDate,
+            final String cursor, final Integer limit) {
+        int size = Keyset.limit(limit);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        LocalDateTime start = startDate == null ? Keyset.MIN_DATE_TIME : startDate;
+        LocalDateTime end = endDate == null ? Keyset.MAX_DATE_TIME : endDate;
+        if (startDate == null && endDate == null || start.isAfter(end)) {
+            return new CursorPage<>(new ArrayList<>(), null);
+        }
+        List<Integer> ids = matchRepository.findIdsByDateTimeBetweenAfter(start, end,
+                after == null ? start : after.dateTimeKey(), Keyset.afterId(after),
+                Limit.of(size + 1));
+        return Keyset.pageOfIds(ids, size, fetchPlans::matchesWithArenaAndTeams,
+                matchMapper::toDtoWithArenaAndTeams,
+                match -> KeysetCursor.after(match.getDateTime(), match.getId()));
+    }
+
+    @AspectAnnotation
+    @Transactional(readOnly = true)
+    public CursorPage<MatchDtoWithArenaAndTeams> getMatchesByTournamentNamePage(
+            final String tournamentName, final String cursor, final Integer limit) {
+        ValidationUtils.validateCapitalizedWords(TOURNAMENT_NAME_FIELD, tournamentName);
+        int size = Keyset.limit(limit);
+        List<Integer> ids = matchRepository.findIdsByTournamentNameAfter(tournamentName,
+                Keyset.afterId(KeysetCursor.decode(cursor)), Limit.of(size + 1));
+        return Keyset.pageOfIds(ids, size, fetchPlans::matchesWithArenaAndTeams,
+                matchMapper::toDtoWithArenaAndTeams, match -> KeysetCursor.after(match.getId()));
+    }
+
+    @AspectAnnotation
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkInsertResult createBulk(List<Match> matches) {
         if (matches == null) {
             throw new BadRequestException("Match list cannot be null");
         }
         List<Match> validMatches = matches.stream()
                 .filter(Objects::nonNull)
                 .map(match -> {
-                    ValidationUtils.validateCapitalizedWords(
-                            TOURNAMENT_NAME_FIELD, match.getTournamentName());
-                    ValidationUtils.validateDateFormat(match.getDateTime().toString());
+                    validate(match);
                     return match;
                 })
                 .toList();
         if (validMatches.isEmpty()) {
             throw new BadRequestException("No valid matches provided");
         }
-        matchRepository.saveAll(validMatches);
+        return bulkInserter.insert(validMatches, matchRepository, cacheInvalidator::created);
+    }
+
+    @AspectAnnotation
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportReport importRecords(InputStream in, ImportFormat format) {
+        return streamingImporter.importRecords(in, format, importTarget());
+    }
+
+    public ImportTarget<Match> importTarget() {
+        return new ImportTarget<>(Match.class, MatchService::validate, matchRepository,
+                cacheInvalidator::created);
+    }
+
+    private static void validate(Match match) {
+        ValidationUtils.validateCapitalizedWords(TOURNAMENT_NAME_FIELD, match.getTournamentName());
+        ValidationUtils.validateDateFormat(Objects.toString(match.getDateTime(), null));
     }
 }
\ No newline at end of file
@@ -1,6 +1,12 @@
 package com.github.everolfe.footballmatches.service;
 
 import com.github.everolfe.footballmatches.aspect.AspectAnnotation;
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.dto.BulkInsertResult;
+import com.github.everolfe.footballmatches.dto.CursorPage;
+import com.github.everolfe.footballmatches.dto.ImportReport;
 import com.github.everolfe.footballmatches.dto.player.PlayerDto;
 import com.github.everolfe.footballmatches.dto.player.PlayerDtoWithTeam;
 import com.github.everolfe.footballmatches.exceptions.BadRequestException;
@@ -10,17 +16,19 @@ import com.github.everolfe.footballmatches.exceptions.ValidationUtils;
 import com.github.everolfe.footballmatches.mapper.PlayerMapper;
 import com.github.everolfe.footballmatches.model.Player;
 import com.github.everolfe.footballmatches.model.Team;
+import com.github.everolfe.footballmatches.repository.FetchPlans;
 import com.github.everolfe.footballmatches.repository.PlayerRepository;
 import com.github.everolfe.footballmatches.repository.TeamRepository;
 import jakarta.transaction.Transactional;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 import lombok.AllArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 
@@ -31,13 +39,17 @@ public class PlayerService {
 
     private static final String ID_FIELD = "id";
     private static final String AGE_FIELD = "age";
-    private static final String CACHE_NAME = "players";
-    private static final String CACHE_NAME_WITH_TEAM = "playersWithTeam";
+    private static final String CACHE_NAME = CacheConstants.PLAYERS;
+    private static final String CACHE_NAME_WITH_TEAM = CacheConstants.PLAYERS_WITH_TEAM;
 
     private final PlayerRepository playerRepository;
     private final TeamRepository teamRepository;
+    private final FetchPlans fetchPlans;
 
     private final PlayerMapper playerMapper;
+    private final CacheInvalidator cacheInvalidator;
+    private final BulkInserter bulkInserter;
+    private final StreamingImporter streamingImporter;
 
     @AspectAnnotation
     @CachePut(value = CACHE_NAME, key = "#result.id")
@@ -56,13 +68,15 @@ public class PlayerService {
         ValidationUtils.validateProperName(player.getCountry());
         ValidationUtils.validateNonNegative(AGE_FIELD, player.getAge());
         playerRepository.save(player);
+        cacheInvalidator.created(player);
+        cacheInvalidator.changed(EntityType.TEAM, teamId);
         return playerMapper.toDto(player);
     }
 
     @AspectAnnotation
-    @Cacheable(value = CACHE_NAME_WITH_TEAM)
+    @Cacheable(value = CACHE_NAME_WITH_TEAM, sync = true)
     public List<PlayerDtoWithTeam> readAll() {
-        List<Player> players = playerRepository.findAll();
+        List<Player> players = fetchPlans.allPlayersWithTeam();
         List<PlayerDtoWithTeam> playerDtoWithTeams = new ArrayList<>();
         if (!players.isEmpty()) {
             for (Player player : players) {
@@ -73,20 +87,24 @@ public class PlayerService {
     }
 
     @AspectAnnotation
-    @Cacheable(value = CACHE_NAME, key = "#id")
+    public CursorPage<PlayerDtoWithTeam> readPage(final String cursor, final Integer limit) {
+        int size = Keyset.limit(limit);
+        List<Integer> ids = playerRepository.findIdsAfter(
+                Keyset.afterId(KeysetCursor.decode(cursor)), Limit.of(size + 1));
+        return Keyset.pageOfIds(ids, size, fetchPlans::playersWithTeam,
+                playerMapper::toDtoWithTeam, player -> KeysetCursor.after(player.getId()));
+    }
+
+    @AspectAnnotation
+    @Cacheable(value = CACHE_NAME, key = "#id", sync = true)
     public PlayerDto read(final Integer id) {
         ValidationUtils.validateNonNegative(ID_FIELD, id);
-        Player player = playerRepository.findById(id)
+        return playerRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourcesNotFoundException(
                         ExceptionMessages.getPlayerNotExistMessage(id)));
-        return playerMapper.toDto(player);
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME_WITH_TEAM, allEntries = true),
-            @CacheEvict(value = CACHE_NAME, key = "#id")
-    })
     public boolean update(Player player, final Integer id, final Integer teamId) {
         ValidationUtils.validateNonNegative(ID_FIELD, id);
         ValidationUtils.validateProperName(player.getCountry());
@@ -106,6 +124,8 @@ public class PlayerService {
                     }
 
                     playerRepository.save(player);
+                    cacheInvalidator.changed(player);
+                    cacheInvalidator.changed(EntityType.TEAM, teamId);
                     return true;
                 })
                 .orElseThrow(() -> new ResourcesNotFoundException(
@@ -113,48 +133,67 @@ public class PlayerService {
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME, key = "#id"),
-            @CacheEvict(value = CACHE_NAME_WITH_TEAM, allEntries = true)
-    })
     public boolean delete(final Integer id) {
         ValidationUtils.validateNonNegative(ID_FIELD, id);
         Player player = playerRepository.findById(id)
                 .orElseThrow(() -> new ResourcesNotFoundException(
                         ExceptionMessages.getPlayerNotExistMessage(id)));
+        cacheInvalidator.deleted(player);
 
         playerRepository.deleteById(id);
         return true;
     }
 
     @AspectAnnotation
-    @Cacheable(value = "playersByAge", key = "#age")
+    @Cacheable(value = CacheConstants.PLAYERS_BY_AGE, key = "#age", sync = true)
     public List<PlayerDto> getPlayersByAge(final Integer age) {
         ValidationUtils.validateNonNegative(AGE_FIELD, age);
-        List<PlayerDto> playerDto = new ArrayList<>();
-        for (Player player : playerRepository.findByAge(age)) {
-            playerDto.add(playerMapper.toDto(player));
-        }
-        return playerDto;
+        return playerRepository.findByAge(age);
+    }
+
+    @AspectAnnotation
+    public CursorPage<PlayerDto> getPlayersByAgePage(
+            final Integer age, final String cursor, final Integer limit) {
+        ValidationUtils.validateNonNegative(AGE_FIELD, age);
+        int size = Keyset.limit(limit);
+        List<PlayerDto> players = playerRepository.findByAgeAfter(age,
+                Keyset.afterId(KeysetCursor.decode(cursor)), Limit.of(size + 1));
+        return Keyset.page(players, size, Function.identity(),
+                player -> KeysetCursor.after(player.getId()));
     }
 
     @AspectAnnotation
-    @CacheEvict(value = CACHE_NAME_WITH_TEAM, allEntries = true)
-    public void createBulk(List<Player> players) {
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public BulkInsertResult createBulk(List<Player> players) {
         if (players == null) {
             throw new BadRequestException("Players list cannot be null");
         }
         List<Player> validPlayers = players.stream()
                 .filter(Objects::nonNull)
                 .map(player -> {
-                    ValidationUtils.validateProperName(player.getCountry());
-                    ValidationUtils.validateNonNegative(AGE_FIELD, player.getAge());
+                    validate(player);
                     return player;
                 })
                 .toList();
         if (validPlayers.isEmpty()) {
             throw new BadRequestException("No valid players provided");
         }
-        playerRepository.saveAll(validPlayers);
+        return bulkInserter.insert(validPlayers, playerRepository, cacheInvalidator::created);
+    }
+
+    @AspectAnnotation
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ImportReport importRecords(InputStream in, ImportFormat format) {
+        return streamingImporter.importRecords(in, format, importTarget());
+    }
+
+    public ImportTarget<Player> importTarget() {
+        return new ImportTarget<>(Player.class, PlayerService::validate, playerRepository,
+                cacheInvalidator::created);
+    }
+
+    private static void validate(Player player) {
+        ValidationUtils.validateProperName(player.getCountry());
+        ValidationUtils.validateNonNegative(AGE_FIELD, player.getAge());
     }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.github.everolfe.footballmatches.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class RecordReader<T> implements Closeable {
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader objectReader;
+    private final Class<T> type;
+    private List<String> header;
+    private long line;
+
+    RecordReader(InputStream in, ImportFormat format, ObjectMapper objectMapper,
+                 Class<T> type) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.objectReader = objectMapper.readerFor(type);
+        this.type = type;
+    }
+
+    T next() throws IOException {
+        String row = nextRow();
+        if (row == null) {
+            return null;
+        }
+        if (format == ImportFormat.CSV && header == null) {
+            header = splitCsv(row);
+            row = nextRow();
+            if (row == null) {
+                return null;
+            }
+        }
+        return format == ImportFormat.CSV ? bindCsv(row) : bindJson(row);
+    }
+
+    long line() {
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextRow() throws IOException {
+        String row;
+        do {
+            row = reader.readLine();
+            line++;
+        } while (row != null && row.isBlank());
+        return row;
+    }
+
+    private T bindJson(String row) {
+        try {
+            return objectReader.readValue(row);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getOriginalMessage(), e);
+        }
+    }
+
+    private T bindCsv(String row) {
+        List<String> values = splitCsv(row);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size()
+                    + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            if (!values.get(i).isEmpty()) {
+                fields.put(header.get(i), values.get(i));
+            }
+        }
+        return objectMapper.convertValue(fields, type);
+    }
+
+    static List<String> splitCsv(String row) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < row.length() && row.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString().trim());
+        return values;
+    }
+}
@@ -0,0 +1,213 @@
+package com.github.everolfe.footballmatches.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.everolfe.footballmatches.dto.ImportReport;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StreamingImporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingImporter.class);
+
+    private static final long HAND_OFF_POLL_MILLIS = 100;
+
+    private final BulkInserter bulkInserter;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int queueBatches;
+    private final int maxErrors;
+    private final ExecutorService writers;
+
+    public StreamingImporter(BulkInserter bulkInserter, ObjectMapper objectMapper,
+                             @Value("${bulk-insert.chunk-size:1000}") int batchSize,
+                             @Value("${import.queue-batches:2}") int queueBatches,
+                             @Value("${import.max-errors:100}") int maxErrors) {
+        this.bulkInserter = bulkInserter;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.queueBatches = queueBatches;
+        this.maxErrors = maxErrors;
+        AtomicInteger threads = new AtomicInteger();
+        this.writers = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "import-writer-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> ImportReport importRecords(InputStream in, ImportFormat format,
+                                          ImportTarget<T> target) {
+        long start = System.nanoTime();
+        Progress progress = new Progress(maxErrors);
+        BlockingQueue<Batch<T>> queue = new ArrayBlockingQueue<>(queueBatches);
+        Future<?> writer = writers.submit(() -> write(queue, target, progress));
+        try (RecordReader<T> reader = new RecordReader<>(in, format, objectMapper,
+                target.type())) {
+            Batch<T> batch = new Batch<>(batchSize);
+            while (true) {
+                T record;
+                try {
+                    record = reader.next();
+                    if (record == null) {
+                        break;
+                    }
+                    target.validator().accept(record);
+                } catch (RuntimeException e) {
+                    progress.rejected(reader.line(), messageOf(e));
+                    continue;
+                }
+                progress.accepted();
+                batch.add(reader.line(), record);
+                if (batch.isFull()) {
+                    handOff(queue, batch, writer);
+                    batch = new Batch<>(batchSize);
+                }
+            }
+            if (!batch.records.isEmpty()) {
+                handOff(queue, batch, writer);
+            }
+            handOff(queue, new Batch<>(0), writer);
+            writer.get();
+        } catch (IOException e) {
+            writer.cancel(true);
+            throw new UncheckedIOException("Could not read import", e);
+        } catch (InterruptedException e) {
+            writer.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Import writer failed", e.getCause());
+        }
+        ImportReport report = progress.report(System.nanoTime() - start);
+        LOGGER.info("Import of {} rows: {} imported, {} failed in {} ms ({} rows/s)",
+                report.getRowsRead(), report.getImported(), report.getFailed(),
+                report.getElapsedMillis(), report.getRowsPerSecond());
+        return report;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    private <T> void write(BlockingQueue<Batch<T>> queue, ImportTarget<T> target,
+                           Progress progress) throws InterruptedException {
+        while (true) {
+            Batch<T> batch = queue.take();
+            if (batch.capacity == 0) {
+                return;
+            }
+            try {
+                bulkInserter.insert(batch.records, target.repository(), target.afterChunk());
+                progress.imported(batch.records.size());
+            } catch (RuntimeException e) {
+                LOGGER.warn("Import batch at lines {}-{} rolled back: {}",
+                        batch.firstLine, batch.lastLine, e.getMessage());
+                progress.batchRejected(batch, messageOf(e));
+            }
+        }
+    }
+
+    private static <T> void handOff(BlockingQueue<Batch<T>> queue, Batch<T> batch,
+                                    Future<?> writer)
+            throws InterruptedException, ExecutionException {
+        while (!queue.offer(batch, HAND_OFF_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                writer.get();
+                throw new IllegalStateException("Import writer stopped");
+            }
+        }
+    }
+
+    private static String messageOf(RuntimeException e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getMessage() == null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName();
+    }
+
+    private static final class Batch<T> {
+        private final int capacity;
+        private final List<T> records;
+        private long firstLine;
+        private long lastLine;
+
+        private Batch(int capacity) {
+            this.capacity = capacity;
+            this.records = new ArrayList<>(capacity);
+        }
+
+        private void add(long line, T record) {
+            if (records.isEmpty()) {
+                firstLine = line;
+            }
+            lastLine = line;
+            records.add(record);
+        }
+
+        private boolean isFull() {
+            return records.size() == capacity;
+        }
+    }
+
+    private static final class Progress {
+        private final int maxErrors;
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private long read;
+        private long imported;
+        private long failed;
+
+        private Progress(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private synchronized void accepted() {
+            read++;
+        }
+
+        private synchronized void rejected(long line, String message) {
+            read++;
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportReport.RowError(line, message));
+            }
+        }
+
+        private synchronized void imported(int rows) {
+            imported += rows;
+        }
+
+        private synchronized void batchRejected(Batch<?> batch, String message) {
+            failed += batch.records.size();
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportReport.RowError(batch.firstLine, "Batch of "
+                        + batch.records.size() + " rows up to line " + batch.lastLine
+                        + " rolled back: " + message));
+            }
+        }
+
+        private synchronized ImportReport report(long elapsedNanos) {
+            long rowsPerSecond = elapsedNanos == 0
+                    ? 0 : imported * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+            return new ImportReport(read, imported, failed, List.copyOf(errors),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+        }
+    }
+}
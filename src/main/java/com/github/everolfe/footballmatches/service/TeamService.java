@@ -1,28 +1,43 @@
 package com.github.everolfe.footballmatches.service;
 
 import com.github.everolfe.footballmatches.aspect.AspectAnnotation;
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.dto.BulkInsertResult;
+import com.github.everolfe.footballmatches.dto.CursorPage;
+import com.github.everolfe.footballmatches.dto.ImportReport;
 import com.github.everolfe.footballmatches.dto.team.TeamDtoWithMatchesAndPlayers;
 import com.github.everolfe.footballmatches.dto.team.TeamDtoWithPlayers;
+import com.github.everolfe.footballmatches.dto.team.TeamPlayerLink;
 import com.github.everolfe.footballmatches.exceptions.BadRequestException;
 import com.github.everolfe.footballmatches.exceptions.ExceptionMessages;
 import com.github.everolfe.footballmatches.exceptions.ResourcesNotFoundException;
 import com.github.everolfe.footballmatches.exceptions.ValidationUtils;
+import com.github.everolfe.footballmatches.index.CountryIndex;
+import com.github.everolfe.footballmatches.index.TermIndex;
 import com.github.everolfe.footballmatches.mapper.TeamMapper;
 import com.github.everolfe.footballmatches.model.Match;
 import com.github.everolfe.footballmatches.model.Player;
 import com.github.everolfe.footballmatches.model.Team;
+import com.github.everolfe.footballmatches.repository.FetchPlans;
 import com.github.everolfe.footballmatches.repository.MatchRepository;
 import com.github.everolfe.footballmatches.repository.PlayerRepository;
+import com.github.everolfe.footballmatches.repository.TeamPlayerView;
 import com.github.everolfe.footballmatches.repository.TeamRepository;
 import jakarta.transaction.Transactional;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import lombok.AllArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 
@@ -33,30 +48,38 @@ public class TeamService {
 
     private static final String ID_FIELD = "id";
     private static final String TEAM_NAME_FIELD = "teamName";
-    private static final String CACHE_NAME = "teams";
-    private static final String CACHE_NAME_WITH_MATCHES_AND_PLAYERS = "teamsWithMatchesAndPlayers";
+    private static final String CACHE_NAME = CacheConstants.TEAMS;
+    private static final String CACHE_NAME_WITH_MATCHES_AND_PLAYERS =
+            CacheConstants.TEAMS_WITH_MATCHES_AND_PLAYERS;
 
     private final TeamRepository teamRepository;
     private final MatchRepository matchRepository;
     private final PlayerRepository playerRepository;
+    private final FetchPlans fetchPlans;
 
     private final TeamMapper teamMapper;
+    private final CacheInvalidator cacheInvalidator;
+    private final BulkInserter bulkInserter;
+    private final StreamingImporter streamingImporter;
+    private final CountryIndex countryIndex;
+    private final CacheManager cacheManager;
 
     @AspectAnnotation
-    @CachePut(value = CACHE_NAME, key = "#result.id")
     public Team create(Team team) {
         if (team == null) {
             throw new BadRequestException("Team is null");
         }
         ValidationUtils.validateProperName(team.getCountry());
         ValidationUtils.validateCapitalizedWords(TEAM_NAME_FIELD, team.getTeamName());
-        return teamRepository.save(team);
+        Team savedTeam = teamRepository.save(team);
+        cacheInvalidator.created(savedTeam);
+        return savedTeam;
     }
 
     @AspectAnnotation
-    @Cacheable(value = CACHE_NAME_WITH_MATCHES_AND_PLAYERS)
+    @Cacheable(value = CACHE_NAME_WITH_MATCHES_AND_PLAYERS, sync = true)
     public List<TeamDtoWithMatchesAndPlayers> readAll() {
-        List<Team> teams = teamRepository.findAll();
+        List<Team> teams = fetchPlans.allTeamsWithMatchesAndPlayers();
         List<TeamDtoWithMatchesAndPlayers> teamDtoWithMatchesAndPlayers = new ArrayList<>();
         if (!teams.isEmpty()) {
             for (Team team : teams) {
@@ -68,20 +91,33 @@ public class TeamService {
     }
 
     @AspectAnnotation
-    @Cacheable(value = CACHE_NAME, key = "#id")
+    public CursorPage<TeamDtoWithMatchesAndPlayers> readPage(final String cursor,
+                                                             final Integer limit) {
+        int size = Keyset.limit(limit);
+        List<Integer> ids = teamRepository.findIdsAfter(
+                Keyset.afterId(KeysetCursor.decode(cursor)), Limit.of(size + 1));
+        return Keyset.pageOfIds(ids, size, fetchPlans::teamsWithMatchesAndPlayers,
+                teamMapper::toDtoWithMatchesAndPlayers, team -> KeysetCursor.after(team.getId()));
+    }
+
+    @AspectAnnotation
+    @Cacheable(value = CACHE_NAME, key = "#id", sync = true)
     public TeamDtoWithPlayers read(final Integer id) {
         ValidationUtils.validateNonNegative(ID_FIELD, id);
-        Team team = teamRepository.findById(id)
+        TeamDtoWithPlayers team = teamRepository.findDtoById(id)
                 .orElseThrow(() -> new ResourcesNotFoundException(
                         ExceptionMessages.getTeamNotExistMessage(id)));
-        return teamMapper.toDtoWithPlayers(team);
+        withPlayers(List.of(team));
+        return team;
+    }
+
+    public void cacheById(final List<Integer> ids) {
+        CachedReads.byId(cacheManager.getCache(CACHE_NAME), TeamDtoWithPlayers.class, ids,
+                chunk -> withPlayers(teamRepository.findDtosByIdIn(chunk)),
+                TeamDtoWithPlayers::getId);
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME_WITH_MATCHES_AND_PLAYERS, allEntries = true),
-            @CacheEvict(value = CACHE_NAME, key = "#id")
-    })
     public boolean update(Team team, final Integer id) {
         ValidationUtils.validateNonNegative(ID_FIELD, id);
         ValidationUtils.validateProperName(team.getCountry());
@@ -91,6 +127,7 @@ public class TeamService {
                 .map(existingTeam -> {
                     team.setId(id);
                     teamRepository.save(team);
+                    cacheInvalidator.changed(team);
                     return true;
                 })
                 .orElseThrow(() -> new ResourcesNotFoundException(
@@ -98,44 +135,21 @@ public class TeamService {
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME, key = "#id"),
-            @CacheEvict(value = CACHE_NAME_WITH_MATCHES_AND_PLAYERS, allEntries = true)
-    })
     public boolean delete(final Integer id) {
         ValidationUtils.validateNonNegative(ID_FIELD, id);
         Team team = teamRepository.findById(id)
                 .orElseThrow(() -> new ResourcesNotFoundException(
                         ExceptionMessages.getTeamNotExistMessage(id)));
+        cacheInvalidator.deleted(team);
 
-        List<Player> players = team.getPlayers();
-        if (players != null) {
-            for (Player player : players) {
-                player.setTeam(null);
-                playerRepository.save(player);
-            }
-        }
-
-        List<Match> matches = team.getMatches();
-        if (matches != null) {
-            for (Match match : matches) {
-                List<Team> teamList = match.getTeamList();
-                if (teamList != null) {
-                    teamList.removeIf(team2 -> team.getId().equals(team2.getId()));
-                    matchRepository.save(match);
-                }
-            }
-        }
-
-        teamRepository.deleteById(id);
+        // Unlink in bulk rather than saving every player and match of a long history.
+        playerRepository.detachFromTeam(id);
+        matchRepository.unlinkTeam(id);
+        teamRepository.deleteRowById(id);
         return true;
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME, key = "#teamId"),
-            @CacheEvict(value = CACHE_NAME_WITH_MATCHES_AND_PLAYERS, allEntries = true)
-    })
     public boolean addPlayerToTeam(final Integer teamId, final Integer playerId)
             throws ResourcesNotFoundException, BadRequestException {
         ValidationUtils.validateNonNegative(ID_FIELD, teamId);
@@ -160,14 +174,12 @@ public class TeamService {
 
         teamRepository.save(team);
         playerRepository.save(player);
+        cacheInvalidator.changed(team);
+        cacheInvalidator.changed(player);
         return true;
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME, key = "#teamId"),
-            @CacheEvict(value = CACHE_NAME_WITH_MATCHES_AND_PLAYERS, allEntries = true)
-    })
     public boolean deletePlayerFromTeam(
             final Integer teamId, final Integer playerId)
             throws ResourcesNotFoundException, BadRequestException {
@@ -189,15 +201,51 @@ public class TeamService {
         playerRepository.save(player);
         team.getPlayers().remove(player);
         teamRepository.save(team);
+        cacheInvalidator.changed(team);
+        cacheInvalidator.changed(player);
 
         return true;
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME, key = "#teamId"),
-            @CacheEvict(value = CACHE_NAME_WITH_MATCHES_AND_PLAYERS, allEntries = true)
-    })
+    public int addPlayersToTeams(final List<TeamPlayerLink> links)
+            throws ResourcesNotFoundException, BadRequestException {
+        LinkBatches.validate(links, TeamPlayerLink::getTeamId, TeamPlayerLink::getPlayerId);
+        Set<Integer> teamIds = LinkBatches.ids(links, TeamPlayerLink::getTeamId);
+        Set<Integer> playerIds = LinkBatches.ids(links, TeamPlayerLink::getPlayerId);
+        if (playerIds.size() != links.size()) {
+            throw new BadRequestException("A player can join only one team per request");
+        }
+        LinkBatches.requireExisting(teamIds, teamRepository::findExistingIds,
+                ExceptionMessages::getTeamNotExistMessage);
+        LinkBatches.requireExisting(playerIds, playerRepository::findExistingIds,
+                ExceptionMessages::getPlayerNotExistMessage);
+        int added = playerRepository.linkToTeams(
+                LinkBatches.column(links, TeamPlayerLink::getPlayerId),
+                LinkBatches.column(links, TeamPlayerLink::getTeamId));
+        if (added > 0) {
+            cacheInvalidator.changedAll(LinkBatches.refs(
+                    EntityType.TEAM, teamIds, EntityType.PLAYER, playerIds));
+        }
+        return added;
+    }
+
+    @AspectAnnotation
+    public int deletePlayersFromTeams(final List<TeamPlayerLink> links)
+            throws BadRequestException {
+        LinkBatches.validate(links, TeamPlayerLink::getTeamId, TeamPlayerLink::getPlayerId);
+        int removed = playerRepository.unlinkFromTeams(
+                LinkBatches.column(links, TeamPlayerLink::getPlayerId),
+                LinkBatches.column(links, TeamPlayerLink::getTeamId));
+        if (removed > 0) {
+            cacheInvalidator.changedAll(LinkBatches.refs(
+                    EntityType.TEAM, LinkBatches.ids(links, TeamPlayerLink::getTeamId),
+                    EntityType.PLAYER, LinkBatches.ids(links, TeamPlayerLink::getPlayerId)));
+        }
+        return removed;
+    }
+
+    @AspectAnnotation
     public boolean addMatchToTeam(final Integer teamId, final Integer matchId)
             throws ResourcesNotFoundException, BadRequestException {
         ValidationUtils.validateNonNegative(ID_FIELD, teamId);
@@ -223,15 +271,13 @@ public class TeamService {
             match.getTeamList().add(team);
             matchRepository.save(match);
         }
+        cacheInvalidator.changed(team);
+        cacheInvalidator.changed(match);
 
         return true;
     }
 
     @AspectAnnotation
-    @Caching(evict = {
-            @CacheEvict(value = CACHE_NAME, key = "#teamId"),
-            @CacheEvict(value = CACHE_NAME_WITH_MATCHES_AND_PLAYERS, allEntries = true)
-    })
     public boolean deleteMatchFromTeam(
             final Integer teamId, final Integer matchId)
             throws ResourcesNotFoundException, BadRequestException {
@@ -251,38 +297,112 @@ public class TeamService {
 
         match.getTeamList().remove(team);
         matchRepository.save(match);
+        cacheInvalidator.changed(team);
+        cacheInvalidator.changed(match);
 
         return true;
     }
 
     @AspectAnnotation
-    @Cacheable(value = "teamsByCountry", key = "#country")
     public List<TeamDtoWithPlayers> getTeamsByCountry(final String country) {
         ValidationUtils.validateProperName(country);
-        List<TeamDtoWithPlayers> teamDtoWithPlayers = new ArrayList<>();
-        for (Team team : teamRepository.findByCountryIgnoreCase(country)) {
-            teamDtoWithPlayers.add(teamMapper.toDtoWithPlayers(team));
+        if (!countryIndex.isReady()) {
+            return withPlayers(teamRepository.findByCountryIgnoreCase(country));
+        }
+        String folded = TermIndex.fold(country);
+        List<Integer> ids = countryIndex.exact(country);
+        Map<Integer, TeamDtoWithPlayers> found = CachedReads.byId(
+                cacheManager.getCache(CACHE_NAME), TeamDtoWithPlayers.class, ids,
+                chunk -> withPlayers(teamRepository.findDtosByIdIn(chunk)),
+                TeamDtoWithPlayers::getId);
+        List<TeamDtoWithPlayers> teams = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            TeamDtoWithPlayers team = found.get(id);
+            if (team == null) {
+                // Deleted on another node.
+                countryIndex.remove(id);
+            } else if (!TermIndex.fold(team.getCountry()).equals(folded)) {
+                // Changed on another node before its event arrived here.
+                countryIndex.put(id, team.getCountry());
+            } else {
+                teams.add(team);
+            }
         }
-        return teamDtoWithPlayers;
+        return teams;
     }
 
     @AspectAnnotation
-    @CacheEvict(value = CACHE_NAME_WITH_MATCHES_AND_PLAYERS, allEntries = true)
-    public void createBulk(List<Team> teams) {
+    public List<String> completeCountries(final String prefix, final Integer limit) {
+        int size = Keyset.limit(limit);
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequestException("Prefix must not be empty");
+        }
+        if (countryIndex.isReady()) {
+            return countryIndex.complete(prefix, size);
+        }
+        return teamRepository.findCountriesStartingWith(TermIndex.fold(prefix), Limit.of(size));
+    }
+
+    @AspectAnnotation
+    public CursorPage<TeamDtoWithPlayers> getTeamsByCountryPage(
+            final String country, final String cursor, final Integer limit) {
+        ValidationUtils.validateProperName(country);
+        int size = Keyset.limit(limit);
+        List<TeamDtoWithPlayers> teams = teamRepository.findByCountryAfter(country,
+                Keyset.afterId(KeysetCursor.decode(cursor)), Limit.of(size + 1));
+        CursorPage<TeamDtoWithPlayers> page = Keyset.page(teams, size, Function.identity(),
+                team -> KeysetCursor.after(team.getId()));
+        withPlayers(page.getItems());
+        return page;
+    }
+
+    private List<TeamDtoWithPlayers> withPlayers(List<TeamDtoWithPlayers> teams) {
+        if (teams.isEmpty()) {
+            return teams;
+        }
+        Map<Integer, TeamDtoWithPlayers> teamsById = new HashMap<>();
+        for (TeamDtoWithPlayers team : teams) {
+            teamsById.put(team.getId(), team);
+        }
+        for (TeamPlayerView player
+                : playerRepository.findTeamPlayersByTeamIdIn(teamsById.keySet())) {
+            teamsById.get(player.getTeamId()).getPlayerDtoList().add(player.toDto());
+        }
+        return teams;
+    }
+
+    @AspectAnnotation
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public BulkInsertResult createBulk(List<Team> teams) {
         if (teams == null) {
             throw new BadRequestException("Teams list cannot be null");
         }
         List<Team> validTeams = teams.stream()
                 .filter(Objects::nonNull)
                 .map(team -> {
-                    ValidationUtils.validateProperName(team.getCountry());
-                    ValidationUtils.validateCapitalizedWords(TEAM_NAME_FIELD, team.getTeamName());
+                    validate(team);
                     return team;
                 })
                 .toList();
         if (validTeams.isEmpty()) {
             throw new BadRequestException("No valid teams provided");
         }
-        teamRepository.saveAll(validTeams);
+        return bulkInserter.insert(validTeams, teamRepository, cacheInvalidator::created);
+    }
+
+    @AspectAnnotation
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ImportReport importRecords(InputStream in, ImportFormat format) {
+        return streamingImporter.importRecords(in, format, importTarget());
+    }
+
+    public ImportTarget<Team> importTarget() {
+        return new ImportTarget<>(Team.class, TeamService::validate, teamRepository,
+                cacheInvalidator::created);
+    }
+
+    private static void validate(Team team) {
+        ValidationUtils.validateProperName(team.getCountry());
+        ValidationUtils.validateCapitalizedWords(TEAM_NAME_FIELD, team.getTeamName());
     }
 }
\ No newline at end of file
@@ -6,24 +6,33 @@ import static org.mockito.Mockito.*;
 
 import com.github.everolfe.footballmatches.cache.Cache;
 import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
 import com.github.everolfe.footballmatches.dto.ConvertDtoClasses;
 import com.github.everolfe.footballmatches.dto.arena.ArenaDto;
 import com.github.everolfe.footballmatches.dto.arena.ArenaDtoWithMatches;
 import com.github.everolfe.footballmatches.exceptions.BadRequestException;
 import com.github.everolfe.footballmatches.exceptions.ResourcesNotFoundException;
+import com.github.everolfe.footballmatches.index.CapacityIndex;
 import com.github.everolfe.footballmatches.model.Arena;
+import com.github.everolfe.footballmatches.model.Match;
 import com.github.everolfe.footballmatches.repository.ArenaRepository;
+import com.github.everolfe.footballmatches.repository.FetchPlans;
+import com.github.everolfe.footballmatches.repository.MatchRepository;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import com.github.everolfe.footballmatches.service.ArenaService;
+import com.github.everolfe.footballmatches.service.BulkInserter;
+import com.github.everolfe.footballmatches.service.StreamingImporter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +40,30 @@ class ArenaServiceTest {
     @Mock
     private ArenaRepository arenaRepository;
 
+    @Mock
+    private MatchRepository matchRepository;
+
     @Mock
     private Cache<String, Object> cache;
 
+    @Mock
+    private FetchPlans fetchPlans;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private BulkInserter bulkInserter;
+
+    @Mock
+    private StreamingImporter streamingImporter;
+
+    @Mock
+    private CapacityIndex capacityIndex;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private ArenaService arenaService;
 
@@ -68,14 +98,14 @@ class ArenaServiceTest {
 
     @Test
     void testReadAll() {
-        when(arenaRepository.findAll()).thenReturn(new ArrayList<>());
+        when(fetchPlans.allArenasWithMatches()).thenReturn(new ArrayList<>());
 
         List<ArenaDtoWithMatches> result = arenaService.readAll();
 
         assertTrue(result.isEmpty());
 
         List<Arena> arenas = Arrays.asList(testArena);
-        when(arenaRepository.findAll()).thenReturn(arenas);
+        when(fetchPlans.allArenasWithMatches()).thenReturn(arenas);
 
         List<ArenaDtoWithMatches> result2 = arenaService.readAll();
 
@@ -92,12 +122,12 @@ class ArenaServiceTest {
         ArenaDto result = arenaService.read(1);
 
         assertEquals(testArenaDto, result);
-        verify(arenaRepository, never()).findById(anyInt());
+        verify(arenaRepository, never()).findDtoById(anyInt());
 
         when(cache.get(CacheConstants
                 .getArenaCacheKey(1))).thenReturn(null);
-        when(arenaRepository.findById(1))
-                .thenReturn(Optional.of(testArena));
+        when(arenaRepository.findDtoById(1))
+                .thenReturn(Optional.of(testArenaDto));
 
         ArenaDto result2 = arenaService.read(1);
         assertEquals(testArenaDto, result2);
@@ -106,7 +136,7 @@ class ArenaServiceTest {
 
         when(cache.get(CacheConstants
                 .getArenaCacheKey(1))).thenReturn(null);
-        when(arenaRepository.findById(1))
+        when(arenaRepository.findDtoById(1))
                 .thenReturn(Optional.empty());
 
         assertThrows(ResourcesNotFoundException.class,
@@ -145,8 +175,10 @@ class ArenaServiceTest {
         boolean result = arenaService.delete(1);
 
         assertTrue(result);
-        verify(arenaRepository).deleteById(1);
-        verify(cache).remove(CacheConstants.getArenaCacheKey(1));
+        verify(matchRepository).detachFromArena(1);
+        verify(arenaRepository).deleteRowById(1);
+        verify(matchRepository, never()).save(any(Match.class));
+        verify(cacheInvalidator).deleted(testArena);
 
 
         when(arenaRepository.findById(1)).thenReturn(Optional.empty());
@@ -160,32 +192,69 @@ class ArenaServiceTest {
         assertTrue(result.isEmpty());
 
         when(arenaRepository.findByCapacityLessThanEqual(50000))
-                .thenReturn(Arrays.asList(testArena));
+                .thenReturn(Arrays.asList(testArenaDto));
         List<ArenaDto> result2 = arenaService.getArenasByCapacity(null, 50000);
         assertEquals(1, result2.size());
         assertEquals(testArenaDto, result2.get(0));
 
         when(arenaRepository.findByCapacityGreaterThanEqual(40000))
-                .thenReturn(Arrays.asList(testArena));
+                .thenReturn(Arrays.asList(testArenaDto));
         List<ArenaDto> result3 = arenaService.getArenasByCapacity(40000, null);
         assertEquals(1, result3.size());
         assertEquals(testArenaDto, result3.get(0));
 
         when(arenaRepository.findByCapacityBetween(40000, 60000))
-                .thenReturn(Arrays.asList(testArena));
+                .thenReturn(Arrays.asList(testArenaDto));
         List<ArenaDto> result4 = arenaService.getArenasByCapacity(40000, 60000);
         assertEquals(1, result4.size());
         assertEquals(testArenaDto, result4.get(0));
 
     }
 
+    @Test
+    void testGetArenasByCapacitySlicesCapacityIndex() {
+        ArenaDto resized = new ArenaDto(3, "Other City", 90000);
+        org.springframework.cache.Cache arenaCache =
+                new ConcurrentMapCache(CacheConstants.ARENAS);
+        when(capacityIndex.isReady()).thenReturn(true);
+        when(capacityIndex.between(Integer.MIN_VALUE, 60000)).thenReturn(List.of(1, 2, 3));
+        when(cacheManager.getCache(CacheConstants.ARENAS)).thenReturn(arenaCache);
+        arenaCache.put(3, resized);
+        when(arenaRepository.findDtosByIdIn(List.of(1, 2))).thenReturn(List.of(testArenaDto));
+
+        List<ArenaDto> result = arenaService.getArenasByCapacity(null, 60000);
+
+        assertEquals(List.of(testArenaDto), result);
+        assertEquals(testArenaDto, arenaCache.get(1, ArenaDto.class));
+        verify(capacityIndex).remove(2);
+        verify(capacityIndex).put(3, 90000);
+        verify(arenaRepository, never()).findByCapacityLessThanEqual(any());
+    }
+
+    @Test
+    void testCacheByIdLoadsMissingArenasInOneBatch() {
+        ArenaDto second = new ArenaDto(2, "Second City", 30000);
+        ArenaDto third = new ArenaDto(3, "Third City", 40000);
+        org.springframework.cache.Cache arenaCache =
+                new ConcurrentMapCache(CacheConstants.ARENAS);
+        arenaCache.put(1, testArenaDto);
+        when(cacheManager.getCache(CacheConstants.ARENAS)).thenReturn(arenaCache);
+        when(arenaRepository.findDtosByIdIn(List.of(2, 3))).thenReturn(List.of(second, third));
+
+        arenaService.cacheById(List.of(1, 2, 3));
+
+        assertEquals(second, arenaCache.get(2, ArenaDto.class));
+        assertEquals(third, arenaCache.get(3, ArenaDto.class));
+        verify(arenaRepository).findDtosByIdIn(any());
+        verify(arenaRepository, never()).findDtoById(any());
+    }
+
     @Test
     void testCreateBulk() {
 
         List<Arena> arenas = Arrays.asList(testArena, testArena);
-        when(arenaRepository.saveAll(anyList())).thenReturn(arenas);
         arenaService.createBulk(arenas);
-        verify(arenaRepository).saveAll(anyList());
+        verify(bulkInserter).insert(eq(arenas), eq(arenaRepository), any());
 
         assertThrows(BadRequestException.class,
                 () -> arenaService.createBulk(null));
@@ -0,0 +1,79 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.everolfe.footballmatches.dto.BulkInsertResult;
+import com.github.everolfe.footballmatches.model.Arena;
+import com.github.everolfe.footballmatches.repository.ArenaRepository;
+import com.github.everolfe.footballmatches.service.BulkInserter;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.liquibase.enabled=false",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=100",
+    "spring.jpa.properties.hibernate.order_inserts=true",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "bulk-insert.chunk-size=100"
+})
+@Import(BulkInserter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkInserterTest {
+
+    private static final int ROWS = 250;
+
+    @Autowired
+    private BulkInserter bulkInserter;
+
+    @Autowired
+    private ArenaRepository arenaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        arenaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testInsertsInCommittedChunksOfJdbcBatches() {
+        List<Arena> arenas = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Arena arena = new Arena();
+            arena.setCity("City" + i);
+            arena.setCapacity(1000 + i);
+            arenas.add(arena);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<Integer> chunks = new ArrayList<>();
+
+        BulkInsertResult result = bulkInserter.insert(arenas, arenaRepository,
+                chunk -> chunks.add(chunk.size()));
+
+        assertEquals(ROWS, result.getRows());
+        assertEquals(List.of(100, 100, 50), chunks);
+        assertEquals(3, statistics.getSuccessfulTransactionCount());
+        // One insert statement per batch plus a sequence call per 50 ids, not one per row.
+        assertTrue(statistics.getPrepareStatementCount() < ROWS / 10,
+                "prepared " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(ROWS, arenaRepository.count());
+    }
+}
@@ -0,0 +1,232 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheDependencyIndex;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.CacheRegionProperties;
+import com.github.everolfe.footballmatches.cache.CacheValueSerializer;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.cache.InMemoryInvalidationTransport;
+import com.github.everolfe.footballmatches.cache.InvalidationBus;
+import com.github.everolfe.footballmatches.cache.InvalidationEvent;
+import com.github.everolfe.footballmatches.cache.TinyLfuCacheManager;
+import com.github.everolfe.footballmatches.dto.arena.ArenaDto;
+import com.github.everolfe.footballmatches.dto.match.MatchDtoWithArenaAndTeams;
+import com.github.everolfe.footballmatches.dto.player.PlayerDto;
+import com.github.everolfe.footballmatches.dto.team.TeamDtoWithPlayers;
+import com.github.everolfe.footballmatches.model.Arena;
+import com.github.everolfe.footballmatches.model.Match;
+import com.github.everolfe.footballmatches.model.Player;
+import com.github.everolfe.footballmatches.model.Team;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+class CacheInvalidatorTest {
+
+    private static final LocalDateTime KICK_OFF = LocalDateTime.of(2026, 5, 30, 21, 0);
+
+    private final InMemoryInvalidationTransport.Hub hub = new InMemoryInvalidationTransport.Hub();
+    private final List<TinyLfuCacheManager> cacheManagers = new ArrayList<>();
+    private final List<InvalidationBus> invalidationBuses = new ArrayList<>();
+
+    private TinyLfuCacheManager cacheManager;
+    private CacheDependencyIndex dependencyIndex;
+    private CacheInvalidator cacheInvalidator;
+
+    @BeforeEach
+    void setUp() {
+        dependencyIndex = new CacheDependencyIndex();
+        cacheManager = cacheManager(dependencyIndex);
+        cacheInvalidator = new CacheInvalidator(cacheManager, dependencyIndex, bus());
+    }
+
+    @AfterEach
+    void tearDown() {
+        invalidationBuses.forEach(InvalidationBus::stop);
+        cacheManagers.forEach(TinyLfuCacheManager::destroy);
+    }
+
+    @Test
+    void testChangedMatchEvictsOnlyEntriesContainingIt() {
+        Cache matches = cacheManager.getCache(CacheConstants.MATCHES);
+        matches.put(1, matchDto(1, 10, 100));
+        matches.put(2, matchDto(2, 11, 101));
+        Cache listing = cacheManager.getCache(CacheConstants.MATCHES_WITH_ARENA_AND_TEAMS);
+        listing.put(List.of(), List.of(matchDto(1, 10, 100), matchDto(2, 11, 101)));
+
+        cacheInvalidator.changed(match(1, KICK_OFF));
+
+        assertNull(matches.get(1));
+        assertNotNull(matches.get(2));
+        assertNull(listing.get(List.of()));
+        assertEquals(1, dependencyIndex.size());
+    }
+
+    @Test
+    void testChangedTeamEvictsMatchesItPlaysIn() {
+        Cache matches = cacheManager.getCache(CacheConstants.MATCHES);
+        matches.put(1, matchDto(1, 10, 100));
+        matches.put(2, matchDto(2, 11, 101));
+
+        cacheInvalidator.changed(EntityType.TEAM, 11);
+
+        assertNotNull(matches.get(1));
+        assertNull(matches.get(2));
+    }
+
+    @Test
+    void testChangedPlayerEvictsSearchResultsItEnters() {
+        Cache byAge = cacheManager.getCache(CacheConstants.PLAYERS_BY_AGE);
+        byAge.put(30, List.of());
+        byAge.put(31, List.of());
+
+        cacheInvalidator.changed(player(5, 30));
+
+        assertNull(byAge.get(30));
+        assertNotNull(byAge.get(31));
+    }
+
+    @Test
+    void testIndexedAttributeOnlyRidesOnTheEvent() {
+        List<InvalidationEvent> applied = new ArrayList<>();
+        cacheInvalidator.addListener(applied::addAll, () -> { });
+
+        cacheInvalidator.changed(match(3, KICK_OFF));
+
+        Map<String, Object> searchValues = applied.get(0).searchValues();
+        assertEquals(KICK_OFF, searchValues.get(CacheConstants.MATCHES_BY_DATE));
+        assertEquals("Champions League",
+                searchValues.get(CacheConstants.MATCHES_BY_TOURNAMENT));
+        assertFalse(cacheManager.getCacheNames().contains(CacheConstants.MATCHES_BY_DATE));
+        assertFalse(cacheManager.getCacheNames()
+                .contains(CacheConstants.MATCHES_BY_TOURNAMENT));
+    }
+
+    @Test
+    void testArenaCapacityOnlyRidesOnTheEvent() {
+        List<InvalidationEvent> applied = new ArrayList<>();
+        cacheInvalidator.addListener(applied::addAll, () -> { });
+        Arena arena = new Arena();
+        arena.setId(7);
+        arena.setCapacity(40_000);
+
+        cacheInvalidator.changed(arena);
+
+        assertEquals(40_000,
+                applied.get(0).searchValues().get(CacheConstants.ARENAS_BY_CAPACITY));
+        assertFalse(cacheManager.getCacheNames().contains(CacheConstants.ARENAS_BY_CAPACITY));
+    }
+
+    @Test
+    void testCreatedTeamClearsListing() {
+        Cache listing = cacheManager.getCache(CacheConstants.TEAMS_WITH_MATCHES_AND_PLAYERS);
+        listing.put(List.of(), List.of());
+        Cache matches = cacheManager.getCache(CacheConstants.MATCHES);
+        matches.put(1, matchDto(1, 10, 100));
+        Team team = new Team();
+        team.setId(12);
+        team.setCountry("spain");
+
+        cacheInvalidator.created(team);
+
+        assertNull(listing.get(List.of()));
+        assertNotNull(matches.get(1));
+    }
+
+    @Test
+    void testMutationIsAppliedOnPeerNode() {
+        CacheDependencyIndex peerIndex = new CacheDependencyIndex();
+        TinyLfuCacheManager peerCacheManager = cacheManager(peerIndex);
+        new CacheInvalidator(peerCacheManager, peerIndex, bus());
+        Cache peerMatches = peerCacheManager.getCache(CacheConstants.MATCHES);
+        peerMatches.put(1, matchDto(1, 10, 100));
+        peerMatches.put(2, matchDto(2, 11, 101));
+        Cache peerByAge = peerCacheManager.getCache(CacheConstants.PLAYERS_BY_AGE);
+        peerByAge.put(30, List.of());
+
+        cacheInvalidator.changed(match(1, KICK_OFF));
+        cacheInvalidator.changed(player(5, 30));
+
+        assertNull(peerMatches.get(1));
+        assertNotNull(peerMatches.get(2));
+        assertNull(peerByAge.get(30));
+    }
+
+    @Test
+    void testDeletionReachesPeerNodeAsDeletion() {
+        CacheDependencyIndex peerIndex = new CacheDependencyIndex();
+        TinyLfuCacheManager peerCacheManager = cacheManager(peerIndex);
+        CacheInvalidator peerInvalidator =
+                new CacheInvalidator(peerCacheManager, peerIndex, bus());
+        List<InvalidationEvent> received = new ArrayList<>();
+        peerInvalidator.addListener(received::addAll, () -> { });
+        Cache peerMatches = peerCacheManager.getCache(CacheConstants.MATCHES);
+        peerMatches.put(1, matchDto(1, 10, 100));
+        peerMatches.put(2, matchDto(2, 11, 101));
+
+        cacheInvalidator.deleted(match(1, KICK_OFF));
+
+        assertNull(peerMatches.get(1));
+        assertNotNull(peerMatches.get(2));
+        assertEquals(InvalidationEvent.Kind.DELETED, received.get(0).kind());
+        assertEquals(1, received.get(0).entity().id());
+    }
+
+    private TinyLfuCacheManager cacheManager(CacheDependencyIndex index) {
+        TinyLfuCacheManager manager = new TinyLfuCacheManager(new CacheRegionProperties(),
+                index, new CacheValueSerializer(new ObjectMapper()), null);
+        cacheManagers.add(manager);
+        return manager;
+    }
+
+    private InvalidationBus bus() {
+        InvalidationBus bus =
+                new InvalidationBus(new InMemoryInvalidationTransport(hub), Runnable::run);
+        bus.start();
+        invalidationBuses.add(bus);
+        return bus;
+    }
+
+    private static Match match(Integer id, LocalDateTime dateTime) {
+        Match match = new Match();
+        match.setId(id);
+        match.setDateTime(dateTime);
+        match.setTournamentName("Champions League");
+        return match;
+    }
+
+    private static Player player(Integer id, Integer age) {
+        Player player = new Player();
+        player.setId(id);
+        player.setAge(age);
+        return player;
+    }
+
+    private static MatchDtoWithArenaAndTeams matchDto(
+            Integer id, Integer teamId, Integer playerId) {
+        PlayerDto player = new PlayerDto();
+        player.setId(playerId);
+        TeamDtoWithPlayers team = new TeamDtoWithPlayers();
+        team.setId(teamId);
+        team.setPlayerDtoList(List.of(player));
+        ArenaDto arena = new ArenaDto();
+        arena.setId(1000 + id);
+        MatchDtoWithArenaAndTeams match = new MatchDtoWithArenaAndTeams();
+        match.setId(id);
+        match.setArenaDto(arena);
+        match.setTeamDtoWithPlayersList(List.of(team));
+        return match;
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.everolfe.footballmatches.cache.Cache;
+import com.github.everolfe.footballmatches.cache.CachePolicy;
+import com.github.everolfe.footballmatches.cache.CacheStats;
+import com.github.everolfe.footballmatches.cache.Weigher;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CacheTest {
+
+    @Test
+    void testPutGetRemove() {
+        Cache<String, Object> cache = new Cache<>(10);
+
+        assertNull(cache.put("match_1", "Final"));
+        assertEquals("Final", cache.get("match_1"));
+        assertEquals("Final", cache.put("match_1", "Semi-final"));
+        assertEquals("Semi-final", cache.remove("match_1"));
+        assertNull(cache.get("match_1"));
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        Cache<Integer, Integer> cache = new Cache<>(100);
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, i);
+        }
+
+        assertEquals(100, cache.size());
+        assertEquals(100, cache.weightedSize());
+        assertEquals(9_900, cache.stats().evictionCount());
+    }
+
+    @Test
+    void testFrequentEntriesSurviveScan() {
+        Cache<Integer, Integer> cache = new Cache<>(100);
+        for (int i = 0; i < 20; i++) {
+            cache.put(i, i);
+        }
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 20; i++) {
+                cache.get(i);
+            }
+        }
+        for (int i = 1_000; i < 11_000; i++) {
+            cache.put(i, i);
+        }
+
+        int retained = 0;
+        for (int i = 0; i < 20; i++) {
+            if (cache.get(i) != null) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= 15, "hot entries were flushed by a scan: " + retained);
+    }
+
+    @Test
+    void testWeightedEviction() {
+        Cache<Integer, List<Integer>> cache = new Cache<>(10, Weigher.collectionSize());
+        cache.put(1, List.of(1, 2, 3, 4, 5, 6));
+        cache.put(2, List.of(1, 2, 3, 4, 5, 6));
+
+        assertTrue(cache.weightedSize() <= 10);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testStats() {
+        Cache<Integer, Integer> cache = new Cache<>(10);
+        cache.put(1, 1);
+        cache.get(1);
+        cache.get(2);
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.putCount());
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test
+    void testExpireAfterWrite() throws InterruptedException {
+        Cache<Integer, Integer> cache = new Cache<>(
+                new CachePolicy(10, Duration.ofMillis(50), null, null),
+                Weigher.singleton(), Runnable::run);
+        cache.put(1, 1);
+        assertEquals(1, cache.get(1));
+
+        Thread.sleep(100);
+
+        assertNull(cache.get(1));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testRefreshAheadReloadsBeforeExpiry() throws InterruptedException {
+        Cache<String, String> cache = new Cache<>(
+                new CachePolicy(10, Duration.ofMillis(500), null, Duration.ofMillis(450)),
+                Weigher.singleton(), Runnable::run);
+        AtomicInteger loads = new AtomicInteger();
+        Runnable[] refresher = new Runnable[1];
+        refresher[0] = () -> cache.put("matches", "v" + loads.incrementAndGet(), refresher[0]);
+        cache.put("matches", "v0", refresher[0]);
+
+        Thread.sleep(100);
+
+        assertEquals("v1", cache.get("matches"));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().refreshCount());
+    }
+}
@@ -0,0 +1,180 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheDependencyIndex;
+import com.github.everolfe.footballmatches.cache.CacheRegionProperties;
+import com.github.everolfe.footballmatches.cache.CacheSnapshot;
+import com.github.everolfe.footballmatches.cache.CacheValueSerializer;
+import com.github.everolfe.footballmatches.cache.CacheWarmUp;
+import com.github.everolfe.footballmatches.cache.CacheWarmUpTask;
+import com.github.everolfe.footballmatches.cache.TinyLfuCacheManager;
+import com.github.everolfe.footballmatches.dto.arena.ArenaDto;
+import com.github.everolfe.footballmatches.dto.match.MatchDtoWithArenaAndTeams;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.interceptor.SimpleKey;
+
+class CacheWarmUpTest {
+
+    private static final LocalDateTime KICK_OFF = LocalDateTime.of(2026, 5, 30, 21, 0);
+    private static final List<String> REGIONS = List.of(CacheConstants.MATCHES,
+            CacheConstants.MATCHES_WITH_ARENA_AND_TEAMS, CacheConstants.PLAYERS_BY_AGE);
+
+    @TempDir
+    private Path directory;
+
+    private final CacheValueSerializer serializer =
+            new CacheValueSerializer(new ObjectMapper().findAndRegisterModules());
+    private final List<TinyLfuCacheManager> cacheManagers = new ArrayList<>();
+    private CacheRegionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CacheRegionProperties();
+        properties.getSnapshot().setPath(directory.resolve("cache.snapshot"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManagers.forEach(TinyLfuCacheManager::destroy);
+    }
+
+    @Test
+    void testSnapshotRoundTrip() throws IOException {
+        TinyLfuCacheManager source = cacheManager();
+        source.getCache(CacheConstants.MATCHES).put(1, matchDto(1));
+        source.getCache(CacheConstants.MATCHES_WITH_ARENA_AND_TEAMS)
+                .put(SimpleKey.EMPTY, List.of(matchDto(1), matchDto(2)));
+        source.getCache(CacheConstants.PLAYERS_BY_AGE).put(30, List.of(matchDto(2)));
+        CacheSnapshot snapshot = new CacheSnapshot(properties, serializer);
+
+        assertEquals(3, snapshot.save(source, REGIONS));
+        TinyLfuCacheManager target = cacheManager();
+        assertEquals(3, snapshot.restore(target, REGIONS));
+
+        assertEquals(matchDto(1), target.getCache(CacheConstants.MATCHES).get(1).get());
+        assertEquals(List.of(matchDto(1), matchDto(2)), target
+                .getCache(CacheConstants.MATCHES_WITH_ARENA_AND_TEAMS).get(SimpleKey.EMPTY).get());
+        assertNotNull(target.getCache(CacheConstants.PLAYERS_BY_AGE).get(30));
+        assertFalse(Files.exists(properties.getSnapshot().getPath()));
+    }
+
+    @Test
+    void testStaleSnapshotIsDiscarded() throws IOException {
+        TinyLfuCacheManager source = cacheManager();
+        source.getCache(CacheConstants.MATCHES).put(1, matchDto(1));
+        new CacheSnapshot(properties, serializer).save(source, REGIONS);
+
+        CacheSnapshot later = new CacheSnapshot(properties, serializer,
+                Clock.offset(Clock.systemUTC(), Duration.ofMinutes(10)));
+
+        assertEquals(0, later.restore(cacheManager(), REGIONS));
+        assertFalse(Files.exists(properties.getSnapshot().getPath()));
+    }
+
+    @Test
+    void testSnapshotThatMissedChangesIsDiscarded() throws IOException {
+        AtomicReference<OptionalLong> version = new AtomicReference<>(OptionalLong.of(7));
+        CacheSnapshot snapshot =
+                new CacheSnapshot(properties, serializer, version::get, Clock.systemUTC());
+        TinyLfuCacheManager source = cacheManager();
+        source.getCache(CacheConstants.MATCHES).put(1, matchDto(1));
+        snapshot.save(source, REGIONS);
+        version.set(OptionalLong.of(9));
+
+        TinyLfuCacheManager target = cacheManager();
+
+        assertEquals(0, snapshot.restore(target, REGIONS));
+        assertNull(target.getCache(CacheConstants.MATCHES).get(1));
+    }
+
+    @Test
+    void testSnapshotAtCurrentChangeIsRestored() throws IOException {
+        CacheSnapshot snapshot = new CacheSnapshot(properties, serializer,
+                () -> OptionalLong.of(7), Clock.systemUTC());
+        TinyLfuCacheManager source = cacheManager();
+        source.getCache(CacheConstants.MATCHES).put(1, matchDto(1));
+        snapshot.save(source, REGIONS);
+
+        TinyLfuCacheManager target = cacheManager();
+
+        assertEquals(1, snapshot.restore(target, REGIONS));
+        assertEquals(matchDto(1), target.getCache(CacheConstants.MATCHES).get(1).get());
+    }
+
+    @Test
+    void testCorruptSnapshotIsDiscarded() throws IOException {
+        TinyLfuCacheManager source = cacheManager();
+        source.getCache(CacheConstants.MATCHES).put(1, matchDto(1));
+        CacheSnapshot snapshot = new CacheSnapshot(properties, serializer);
+        snapshot.save(source, REGIONS);
+        Path path = properties.getSnapshot().getPath();
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length / 2));
+
+        TinyLfuCacheManager target = cacheManager();
+
+        assertEquals(0, snapshot.restore(target, REGIONS));
+        assertNull(target.getCache(CacheConstants.MATCHES).get(1));
+    }
+
+    @Test
+    void testWarmUpOnlyLoadsEmptyRegions() throws InterruptedException {
+        properties.getSnapshot().setEnabled(false);
+        TinyLfuCacheManager cacheManager = cacheManager();
+        cacheManager.getCache(CacheConstants.TEAMS).put(1, "team");
+        AtomicInteger matchLoads = new AtomicInteger();
+        AtomicInteger teamLoads = new AtomicInteger();
+        List<CacheWarmUpTask> tasks = List.of(
+                new CacheWarmUpTask(CacheConstants.MATCHES, () -> {
+                    matchLoads.incrementAndGet();
+                    cacheManager.getCache(CacheConstants.MATCHES).put(1, matchDto(1));
+                }),
+                new CacheWarmUpTask(CacheConstants.TEAMS, teamLoads::incrementAndGet));
+
+        new CacheWarmUp(cacheManager, new CacheSnapshot(properties, serializer), properties,
+                tasks).run(null);
+
+        assertEquals(1, matchLoads.get());
+        assertEquals(0, teamLoads.get());
+        assertNotNull(cacheManager.getCache(CacheConstants.MATCHES).get(1));
+    }
+
+    private TinyLfuCacheManager cacheManager() {
+        TinyLfuCacheManager manager = new TinyLfuCacheManager(properties,
+                new CacheDependencyIndex(), serializer, null);
+        cacheManagers.add(manager);
+        return manager;
+    }
+
+    private static MatchDtoWithArenaAndTeams matchDto(Integer id) {
+        ArenaDto arena = new ArenaDto();
+        arena.setId(1000 + id);
+        MatchDtoWithArenaAndTeams match = new MatchDtoWithArenaAndTeams();
+        match.setId(id);
+        match.setDateTime(KICK_OFF.plusDays(id));
+        match.setArenaDto(arena);
+        match.setTeamDtoWithPlayersList(List.of());
+        return match;
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.EntityRef;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.cache.InvalidationEvent;
+import com.github.everolfe.footballmatches.dto.arena.ArenaDto;
+import com.github.everolfe.footballmatches.index.CapacityIndex;
+import com.github.everolfe.footballmatches.repository.ArenaRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class CapacityIndexTest {
+
+    private final ArenaRepository arenaRepository = mock(ArenaRepository.class);
+    private final CacheInvalidator cacheInvalidator = mock(CacheInvalidator.class);
+    private CapacityIndex index;
+    private Consumer<List<InvalidationEvent>> events;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws InterruptedException {
+        when(arenaRepository.findDtosAfter(eq(-1), any())).thenReturn(List.of(
+                new ArenaDto(1, "Madrid", 81000),
+                new ArenaDto(2, "Minsk", 22000),
+                new ArenaDto(3, "Barcelona", 99000),
+                new ArenaDto(4, "Borisov", 13000),
+                new ArenaDto(5, "Grodno", 22000),
+                new ArenaDto(6, "Brest", null)));
+        index = new CapacityIndex(arenaRepository, cacheInvalidator);
+        ArgumentCaptor<Consumer<List<InvalidationEvent>>> listener =
+                ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheInvalidator).addListener(listener.capture(), any());
+        events = listener.getValue();
+
+        index.reload();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!index.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(index.isReady());
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void testRangesAreInclusiveAndOrderedByCapacity() {
+        assertEquals(List.of(2, 5, 1), index.between(22000, 81000));
+        assertEquals(List.of(4, 2, 5), index.between(Integer.MIN_VALUE, 22000));
+        assertEquals(List.of(1, 3), index.between(81000, Integer.MAX_VALUE));
+        assertEquals(List.of(4, 2, 5, 1, 3),
+                index.between(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(List.of(), index.between(23000, 80000));
+        assertEquals(List.of(), index.between(81000, 22000));
+    }
+
+    @Test
+    void testEventsResizeAndAddArenas() {
+        events.accept(List.of(
+                event(InvalidationEvent.Kind.CHANGED, 5, 13000),
+                event(InvalidationEvent.Kind.CREATED, 7, 22000)));
+        index.remove(3);
+
+        assertEquals(List.of(4, 5), index.between(0, 13000));
+        assertEquals(List.of(2, 7), index.between(13001, 22000));
+        assertEquals(List.of(1), index.between(81000, Integer.MAX_VALUE));
+    }
+
+    private static InvalidationEvent event(InvalidationEvent.Kind kind, int id, int capacity) {
+        return new InvalidationEvent(kind, new EntityRef(EntityType.ARENA, id),
+                Map.of(CacheConstants.ARENAS_BY_CAPACITY, capacity));
+    }
+}
@@ -0,0 +1,165 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.index.CountryIndex;
+import com.github.everolfe.footballmatches.mapper.TeamMapper;
+import com.github.everolfe.footballmatches.model.Match;
+import com.github.everolfe.footballmatches.model.Player;
+import com.github.everolfe.footballmatches.model.Team;
+import com.github.everolfe.footballmatches.repository.FetchPlans;
+import com.github.everolfe.footballmatches.repository.MatchRepository;
+import com.github.everolfe.footballmatches.repository.PlayerRepository;
+import com.github.everolfe.footballmatches.repository.TeamRepository;
+import com.github.everolfe.footballmatches.service.BulkInserter;
+import com.github.everolfe.footballmatches.service.StreamingImporter;
+import com.github.everolfe.footballmatches.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+
+// Deletes two teams with the same history per row and through TeamService.delete.
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.liquibase.enabled=false",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@Import(TeamService.class)
+class CascadingDeleteBenchmarkTest {
+
+    private static final int PLAYERS_PER_TEAM = 200;
+    private static final int MATCHES = 100;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamService teamService;
+
+    @MockBean
+    private FetchPlans fetchPlans;
+
+    @MockBean
+    private TeamMapper teamMapper;
+
+    @MockBean
+    private CacheInvalidator cacheInvalidator;
+
+    @MockBean
+    private BulkInserter bulkInserter;
+
+    @MockBean
+    private StreamingImporter streamingImporter;
+
+    @MockBean
+    private CountryIndex countryIndex;
+
+    @MockBean
+    private CacheManager cacheManager;
+
+    private Team perRowTeam;
+    private Team setBasedTeam;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        perRowTeam = persistTeam("PerRow");
+        setBasedTeam = persistTeam("SetBased");
+        for (int i = 0; i < MATCHES; i++) {
+            Match match = new Match();
+            match.setDateTime(LocalDateTime.of(2026, 1, 1, 20, 0).plusDays(i));
+            match.setTournamentName("Premier League");
+            match.setTeamList(new ArrayList<>(List.of(perRowTeam, setBasedTeam)));
+            entityManager.persist(match);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testSetBasedDeleteIssuesConstantStatements() {
+        long perRow = statements(() -> deletePerRow(perRowTeam.getId()));
+        long setBased = statements(() -> teamService.delete(setBasedTeam.getId()));
+
+        String report = "per-row: " + perRow + " statements, set-based: " + setBased;
+        assertTrue(perRow > MATCHES, report);
+        assertTrue(setBased <= 4, report);
+
+        assertEquals(0, teamRepository.count());
+        assertEquals(2L * PLAYERS_PER_TEAM, playerRepository.count());
+        assertTrue(playerRepository.findAllWithTeam().stream()
+                .map(Player::getTeam).allMatch(Objects::isNull));
+        assertTrue(matchRepository.findAllWithTeams().stream()
+                .allMatch(match -> match.getTeamList().isEmpty()));
+    }
+
+    // The strategy TeamService.delete used before: one save per related row.
+    private void deletePerRow(Integer id) {
+        Team team = teamRepository.findById(id).orElseThrow();
+        for (Player player : team.getPlayers()) {
+            player.setTeam(null);
+            playerRepository.save(player);
+        }
+        for (Match match : team.getMatches()) {
+            match.getTeamList().removeIf(other -> id.equals(other.getId()));
+            matchRepository.save(match);
+        }
+        teamRepository.deleteById(id);
+    }
+
+    private long statements(Runnable delete) {
+        statistics.clear();
+        delete.run();
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return statements;
+    }
+
+    private Team persistTeam(String name) {
+        Team team = new Team();
+        team.setTeamName(name);
+        team.setCountry("England");
+        entityManager.persist(team);
+        for (int i = 0; i < PLAYERS_PER_TEAM; i++) {
+            Player player = new Player();
+            player.setName(name + i);
+            player.setAge(18 + i % 20);
+            player.setCountry("England");
+            player.setTeam(team);
+            entityManager.persist(player);
+        }
+        return team;
+    }
+}
@@ -0,0 +1,252 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.dto.CursorPage;
+import com.github.everolfe.footballmatches.dto.match.MatchDtoWithArenaAndTeams;
+import com.github.everolfe.footballmatches.index.CapacityIndex;
+import com.github.everolfe.footballmatches.index.CountryIndex;
+import com.github.everolfe.footballmatches.index.MatchScheduleIndex;
+import com.github.everolfe.footballmatches.index.TournamentIndex;
+import com.github.everolfe.footballmatches.mapper.ArenaMapperImpl;
+import com.github.everolfe.footballmatches.mapper.MatchMapperImpl;
+import com.github.everolfe.footballmatches.mapper.PlayerMapperImpl;
+import com.github.everolfe.footballmatches.mapper.TeamMapperImpl;
+import com.github.everolfe.footballmatches.model.Arena;
+import com.github.everolfe.footballmatches.model.Match;
+import com.github.everolfe.footballmatches.model.Player;
+import com.github.everolfe.footballmatches.model.Team;
+import com.github.everolfe.footballmatches.repository.FetchPlans;
+import com.github.everolfe.footballmatches.repository.MatchRepository;
+import com.github.everolfe.footballmatches.service.ArenaService;
+import com.github.everolfe.footballmatches.service.BulkInserter;
+import com.github.everolfe.footballmatches.service.MatchService;
+import com.github.everolfe.footballmatches.service.PlayerService;
+import com.github.everolfe.footballmatches.service.StreamingImporter;
+import com.github.everolfe.footballmatches.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.liquibase.enabled=false",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@Import({FetchPlans.class, MatchService.class, TeamService.class, ArenaService.class,
+    PlayerService.class, MatchMapperImpl.class, TeamMapperImpl.class, ArenaMapperImpl.class,
+    PlayerMapperImpl.class})
+class FetchPlansQueryCountTest {
+
+    private static final int ARENAS = 3;
+    private static final int TEAMS = 6;
+    private static final int PLAYERS_PER_TEAM = 3;
+    private static final int MATCHES = 9;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private FetchPlans fetchPlans;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ArenaService arenaService;
+
+    @Autowired
+    private PlayerService playerService;
+
+    @MockBean
+    private CacheInvalidator cacheInvalidator;
+
+    @MockBean
+    private CacheManager cacheManager;
+
+    @MockBean
+    private BulkInserter bulkInserter;
+
+    @MockBean
+    private StreamingImporter streamingImporter;
+
+    @MockBean
+    private MatchScheduleIndex scheduleIndex;
+
+    @MockBean
+    private TournamentIndex tournamentIndex;
+
+    @MockBean
+    private CountryIndex countryIndex;
+
+    @MockBean
+    private CapacityIndex capacityIndex;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Arena> arenas = new ArrayList<>();
+        for (int i = 0; i < ARENAS; i++) {
+            Arena arena = new Arena();
+            arena.setCity("City" + i);
+            arena.setCapacity(10000 + i);
+            arenas.add(entityManager.persist(arena));
+        }
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < TEAMS; i++) {
+            Team team = new Team();
+            team.setTeamName("Team" + i);
+            team.setCountry("Country" + i % 2);
+            teams.add(entityManager.persist(team));
+            for (int j = 0; j < PLAYERS_PER_TEAM; j++) {
+                Player player = new Player();
+                player.setName("Player" + i + j);
+                player.setAge(20 + j);
+                player.setCountry("Country" + i % 2);
+                player.setTeam(team);
+                entityManager.persist(player);
+            }
+        }
+        for (int i = 0; i < MATCHES; i++) {
+            Match match = new Match();
+            match.setDateTime(LocalDateTime.of(2026, 5, 1 + i, 20, 0));
+            match.setTournamentName("Champions League");
+            match.setArena(arenas.get(i % ARENAS));
+            match.setTeamList(new ArrayList<>(
+                    List.of(teams.get(i % TEAMS), teams.get((i + 1) % TEAMS))));
+            entityManager.persist(match);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testMatchListing() {
+        assertQueries(2, () -> matchService.readAll());
+    }
+
+    @Test
+    void testMatchById() {
+        Integer id = matchRepository.findAll().get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        assertQueries(2, () -> matchService.read(id));
+    }
+
+    @Test
+    void testMatchSearchResults() {
+        assertQueries(2, () -> matchService.getMatchesByTournamentName("Champions League"));
+        entityManager.clear();
+        statistics.clear();
+        assertQueries(2, () -> matchService.findMatchesByDates(
+                LocalDateTime.of(2026, 5, 1, 0, 0), LocalDateTime.of(2026, 5, 5, 0, 0)));
+    }
+
+    @Test
+    void testTeamListing() {
+        assertQueries(2, () -> teamService.readAll());
+    }
+
+    @Test
+    void testArenaListing() {
+        assertQueries(3, () -> arenaService.readAll());
+    }
+
+    @Test
+    void testPlayerListing() {
+        assertQueries(2, () -> playerService.readAll());
+    }
+
+    @Test
+    void testMatchPageKeepsIdOrder() {
+        List<Integer> ids = new ArrayList<>(matchRepository.findIdsAfter(0, Limit.of(4)));
+        Collections.reverse(ids);
+        entityManager.clear();
+        statistics.clear();
+
+        List<Match> page = fetchPlans.matchesWithArenaAndTeams(ids);
+        assertEquals(ids, page.stream().map(Match::getId).toList());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testPages() {
+        List<Integer> matchIds = matchRepository.findIdsAfter(0, Limit.of(4));
+        entityManager.clear();
+        statistics.clear();
+
+        CursorPage<MatchDtoWithArenaAndTeams> matches = matchService.readPage(null, 4);
+        assertEquals(matchIds,
+                matches.getItems().stream().map(MatchDtoWithArenaAndTeams::getId).toList());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        entityManager.clear();
+        statistics.clear();
+        assertQueries(3, () -> teamService.readPage(null, TEAMS));
+        entityManager.clear();
+        statistics.clear();
+        assertQueries(4, () -> arenaService.readPage(null, 1));
+        entityManager.clear();
+        statistics.clear();
+        assertQueries(3, () -> playerService.readPage(null, PLAYERS_PER_TEAM));
+    }
+
+    @Test
+    void testDateKeysetWalksEveryMatchOnce() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2026, 12, 31, 0, 0);
+        List<Integer> seen = new ArrayList<>();
+        LocalDateTime afterDateTime = start;
+        int afterId = 0;
+        List<Integer> page;
+        do {
+            page = matchRepository.findIdsByDateTimeBetweenAfter(
+                    start, end, afterDateTime, afterId, Limit.of(4));
+            seen.addAll(page);
+            if (!page.isEmpty()) {
+                Match last = matchRepository.findById(page.get(page.size() - 1)).orElseThrow();
+                afterDateTime = last.getDateTime();
+                afterId = last.getId();
+            }
+        } while (page.size() == 4);
+
+        assertEquals(MATCHES, seen.size());
+        assertEquals(MATCHES, seen.stream().distinct().count());
+    }
+
+    private void assertQueries(long expected, Supplier<?> load) {
+        load.get();
+        assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+}
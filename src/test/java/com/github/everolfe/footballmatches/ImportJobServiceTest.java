@@ -0,0 +1,215 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.dto.ImportJobDto;
+import com.github.everolfe.footballmatches.exceptions.ValidationUtils;
+import com.github.everolfe.footballmatches.model.Arena;
+import com.github.everolfe.footballmatches.model.ImportJob;
+import com.github.everolfe.footballmatches.model.ImportJobStatus;
+import com.github.everolfe.footballmatches.repository.ArenaRepository;
+import com.github.everolfe.footballmatches.repository.ImportJobChunkRepository;
+import com.github.everolfe.footballmatches.repository.ImportJobRepository;
+import com.github.everolfe.footballmatches.service.ArenaService;
+import com.github.everolfe.footballmatches.service.BulkInserter;
+import com.github.everolfe.footballmatches.service.ImportFormat;
+import com.github.everolfe.footballmatches.service.ImportJobService;
+import com.github.everolfe.footballmatches.service.ImportTarget;
+import com.github.everolfe.footballmatches.service.MatchService;
+import com.github.everolfe.footballmatches.service.PlayerService;
+import com.github.everolfe.footballmatches.service.TeamService;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Runs against the schema the master changelog builds.
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.liquibase.enabled=true",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImportJobServiceTest {
+
+    private static final int ROWS = 250;
+    private static final int CHUNK_SIZE = 100;
+    private static final String BREAKPOINT = "Breakpoint";
+    private static final Duration LEASE = Duration.ofMinutes(1);
+
+    @TempDir
+    private Path jobDirectory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ArenaRepository arenaRepository;
+
+    @Autowired
+    private ImportJobRepository jobRepository;
+
+    @Autowired
+    private ImportJobChunkRepository chunkRepository;
+
+    private final AtomicBoolean failAtBreakpoint = new AtomicBoolean();
+    private final List<ImportJobService> services = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(ImportJobService::shutdown);
+        chunkRepository.deleteAllInBatch();
+        jobRepository.deleteAllInBatch();
+        arenaRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testJobImportsChunksAndReportsRejectedRows() throws InterruptedException {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < ROWS; i++) {
+            String city = i == 10 || i == 220 ? "lowercase" : "City";
+            body.append("{\"city\": \"").append(city).append("\", \"capacity\": ")
+                    .append(1000 + i).append("}\n");
+        }
+        ImportJobService service = newService();
+
+        Integer id = service.submit(EntityType.ARENA, ImportFormat.NDJSON, stream(body));
+        ImportJobDto job = awaitFinished(service, id);
+
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getChunks());
+        assertEquals(3, job.getChunksDone());
+        assertEquals(ROWS - 2, job.getRowsImported());
+        assertEquals(2, job.getRowsFailed());
+        assertEquals(ROWS - 2, arenaRepository.count());
+        assertEquals(2, job.getChunkErrors().size());
+        assertTrue(job.getChunkErrors().get(0).startsWith("Line 11:"));
+        assertTrue(job.getChunkErrors().get(1).startsWith("Line 221:"));
+    }
+
+    @Test
+    void testFailedJobResumesFromUncommittedChunks() throws InterruptedException {
+        StringBuilder body = new StringBuilder("city,capacity\n");
+        for (int i = 0; i < ROWS; i++) {
+            body.append(i == 150 ? BREAKPOINT : "City").append(',').append(1000 + i)
+                    .append('\n');
+        }
+        failAtBreakpoint.set(true);
+        Integer id = newService().submit(EntityType.ARENA, ImportFormat.CSV, stream(body));
+        ImportJobDto failed = awaitFinished(services.get(0), id);
+
+        assertEquals(ImportJobStatus.FAILED, failed.getStatus());
+        assertEquals(2, failed.getChunksDone());
+        assertEquals(ROWS - CHUNK_SIZE, arenaRepository.count());
+
+        // A restarted node picks the job up again and inserts only the missing chunk.
+        services.get(0).shutdown();
+        failAtBreakpoint.set(false);
+        ImportJobService restarted = newService();
+        restarted.resumeUnfinished();
+        ImportJobDto resumed = awaitFinished(restarted, id);
+
+        assertEquals(ImportJobStatus.COMPLETED, resumed.getStatus());
+        assertEquals(3, resumed.getChunksDone());
+        assertEquals(ROWS, resumed.getRowsImported());
+        assertEquals(ROWS, arenaRepository.count());
+    }
+
+    @Test
+    void testJobLeasedByAnotherNodeIsOnlyTakenOverOnceTheLeaseExpires()
+            throws InterruptedException {
+        StringBuilder body = new StringBuilder("city,capacity\n");
+        for (int i = 0; i < ROWS; i++) {
+            body.append(i == 150 ? BREAKPOINT : "City").append(',').append(1000 + i)
+                    .append('\n');
+        }
+        failAtBreakpoint.set(true);
+        Integer id = newService().submit(EntityType.ARENA, ImportFormat.CSV, stream(body));
+        awaitFinished(services.get(0), id);
+        failAtBreakpoint.set(false);
+        ImportJob job = jobRepository.findById(id).orElseThrow();
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setOwner("other-node");
+        job.setHeartbeatAt(LocalDateTime.now());
+        jobRepository.save(job);
+
+        ImportJobService restarted = newService();
+        restarted.resumeUnfinished();
+
+        assertEquals("other-node", jobRepository.findById(id).orElseThrow().getOwner());
+        assertEquals(ROWS - CHUNK_SIZE, arenaRepository.count());
+
+        job = jobRepository.findById(id).orElseThrow();
+        job.setHeartbeatAt(LocalDateTime.now().minus(LEASE).minusSeconds(1));
+        jobRepository.save(job);
+        restarted.renewLeases();
+        ImportJobDto resumed = awaitFinished(restarted, id);
+
+        assertEquals(ImportJobStatus.COMPLETED, resumed.getStatus());
+        assertEquals(ROWS, arenaRepository.count());
+        assertNull(jobRepository.findById(id).orElseThrow().getOwner());
+    }
+
+    private ImportJobService newService() {
+        ImportTarget<Arena> target = new ImportTarget<>(Arena.class,
+                arena -> ValidationUtils.validateProperName(arena.getCity()),
+                arenaRepository, chunk -> {
+                    if (failAtBreakpoint.get() && chunk.stream()
+                            .anyMatch(arena -> BREAKPOINT.equals(arena.getCity()))) {
+                        throw new IllegalStateException("database went away");
+                    }
+                });
+        ArenaService arenaService = mock(ArenaService.class);
+        when(arenaService.importTarget()).thenReturn(target);
+        ImportJobService service = new ImportJobService(jobRepository, chunkRepository,
+                new BulkInserter(entityManager, transactionManager, CHUNK_SIZE),
+                new ObjectMapper().findAndRegisterModules(), transactionManager,
+                mock(MatchService.class), mock(TeamService.class), arenaService,
+                mock(PlayerService.class), jobDirectory.toString(), CHUNK_SIZE, 3, LEASE);
+        services.add(service);
+        return service;
+    }
+
+    private static ImportJobDto awaitFinished(ImportJobService service, Integer id)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        ImportJobDto job = service.getJob(id);
+        while ((job.getStatus() == ImportJobStatus.QUEUED
+                || job.getStatus() == ImportJobStatus.RUNNING)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            job = service.getJob(id);
+        }
+        return job;
+    }
+
+    private static ByteArrayInputStream stream(CharSequence body) {
+        return new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
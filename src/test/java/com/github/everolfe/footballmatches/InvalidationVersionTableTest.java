@@ -0,0 +1,33 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.liquibase.enabled=true",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+class InvalidationVersionTableTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testMasterChangelogSeedsTheSingleVersionRow() {
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT version FROM cache_invalidation_version", Long.class));
+
+        jdbcTemplate.update("UPDATE cache_invalidation_version SET version = version + 1");
+
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "SELECT version FROM cache_invalidation_version WHERE id = 1", Long.class));
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.github.everolfe.footballmatches.exceptions.BadRequestException;
+import com.github.everolfe.footballmatches.service.Keyset;
+import com.github.everolfe.footballmatches.service.KeysetCursor;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class KeysetPaginationTest {
+
+    @Test
+    void testCursorRoundTrip() {
+        LocalDateTime kickOff = LocalDateTime.of(2026, 5, 1, 20, 0);
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.after(kickOff, 42).encode());
+
+        assertEquals(kickOff, cursor.dateTimeKey());
+        assertEquals(42, cursor.id());
+        assertEquals(7, KeysetCursor.decode(KeysetCursor.after(7).encode()).id());
+    }
+
+    @Test
+    void testMissingCursorMeansFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(""));
+    }
+
+    @Test
+    void testMalformedCursorIsBadRequest() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not a cursor!"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(BadRequestException.class,
+                () -> KeysetCursor.decode(KeysetCursor.after(5).encode()).dateTimeKey());
+    }
+
+    @Test
+    void testLimitIsDefaultedAndCapped() {
+        assertEquals(Keyset.DEFAULT_LIMIT, Keyset.limit(null));
+        assertEquals(10, Keyset.limit(10));
+        assertEquals(Keyset.MAX_LIMIT, Keyset.limit(Keyset.MAX_LIMIT + 1));
+        assertThrows(BadRequestException.class, () -> Keyset.limit(0));
+    }
+}
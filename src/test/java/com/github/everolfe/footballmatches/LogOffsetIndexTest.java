@@ -0,0 +1,164 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.everolfe.footballmatches.logger.LogOffsetIndex;
+import com.github.everolfe.footballmatches.logger.LogPartitions;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+class LogOffsetIndexTest {
+
+    private static final String DAY_ONE =
+            "2025-02-20 09:59:58.100 [main] INFO  App - started\n"
+            + "2025-02-20 09:59:59.200 [main] ERROR App - failed on 2025-02-21\n"
+            + "java.lang.IllegalStateException: boom\n"
+            + "\tat App.main(App.java:1)\n"
+            + "2025-02-20 10:00:00.000 [main] INFO  App - recovered\n";
+    private static final String DAY_TWO =
+            "2025-02-21 00:00:01.000 [main] INFO  App - next day\n";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testDatesAndHoursReadOnlyTheirLines() throws IOException {
+        Path log = directory.resolve("logfile.log");
+        Files.writeString(log, DAY_ONE + DAY_TWO);
+        LogOffsetIndex index = new LogOffsetIndex(log);
+
+        assertEquals(DAY_ONE, read(index, "2025-02-20"));
+        assertEquals(DAY_TWO, read(index, "2025-02-21"));
+        assertEquals("2025-02-20 10:00:00.000 [main] INFO  App - recovered\n",
+                read(index, "2025-02-20 10"));
+        assertEquals(List.of(), index.find("2025-02-22"));
+    }
+
+    @Test
+    void testAppendedLinesAreIndexedIncrementallyAndPersisted() throws IOException {
+        Path log = directory.resolve("logfile.log");
+        String partial = "2025-02-21 00:00:02.000 [main] INFO  App - half";
+        Files.writeString(log, DAY_ONE + partial);
+        LogOffsetIndex index = new LogOffsetIndex(log);
+        assertEquals(List.of(), index.find("2025-02-21"));
+
+        Files.writeString(log, " written\n" + DAY_TWO, StandardOpenOption.APPEND);
+        assertEquals(partial + " written\n" + DAY_TWO, read(index, "2025-02-21"));
+        assertTrue(Files.exists(directory.resolve("logfile.log.idx")));
+
+        Files.writeString(log, DAY_TWO, StandardOpenOption.APPEND);
+        LogOffsetIndex reopened = new LogOffsetIndex(log);
+        assertEquals(partial + " written\n" + DAY_TWO + DAY_TWO, read(reopened, "2025-02-21"));
+        assertEquals(DAY_ONE, read(reopened, "2025-02-20"));
+    }
+
+    @Test
+    void testReplacedLogIsReindexed() throws IOException {
+        Path log = directory.resolve("logfile.log");
+        Files.writeString(log, DAY_ONE + DAY_TWO);
+        LogOffsetIndex index = new LogOffsetIndex(log);
+        assertEquals(DAY_TWO, read(index, "2025-02-21"));
+
+        Files.writeString(log, DAY_TWO);
+        assertEquals(List.of(), index.find("2025-02-20"));
+        assertEquals(DAY_TWO, read(index, "2025-02-21"));
+    }
+
+    @Test
+    void testChunkedScanMatchesSingleScan() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int hour = 0; hour < 48; hour++) {
+            for (int line = 0; line < 5; line++) {
+                content.append(String.format("2025-02-%02d %02d:%02d:00.000 [main] INFO  App - %d",
+                        20 + hour / 24, hour % 24, line, line)).append('\n');
+                if (line == 2) {
+                    content.append("\tat App.main(App.java:").append(hour).append(")\n");
+                }
+            }
+        }
+        Path log = directory.resolve("logfile.log");
+        Files.writeString(log, content);
+        Path single = directory.resolve("single").resolve("logfile.log");
+        Files.createDirectories(single.getParent());
+        Files.copy(log, single);
+
+        List<Integer> progress = new CopyOnWriteArrayList<>();
+        LogOffsetIndex chunked = new LogOffsetIndex(log, 100);
+        LogOffsetIndex whole = new LogOffsetIndex(single);
+        assertEquals(whole.find("2025-02-21", progress::add),
+                chunked.find("2025-02-21", progress::add));
+        assertEquals(100, Collections.max(progress));
+        assertTrue(progress.size() > 10);
+        for (int hour = 0; hour < 24; hour++) {
+            String prefix = String.format("2025-02-20 %02d", hour);
+            assertEquals(read(whole, prefix), read(chunked, prefix));
+        }
+    }
+
+    @Test
+    void testRolledOverLogIsReindexed() throws IOException {
+        Path log = directory.resolve("logfile.log");
+        Files.writeString(log, DAY_ONE);
+        LogOffsetIndex index = new LogOffsetIndex(log);
+        assertEquals(DAY_ONE, read(index, "2025-02-20"));
+
+        // The new log outgrows the old one before the next lookup.
+        Files.writeString(log, DAY_TWO.repeat(5));
+        assertEquals(List.of(), index.find("2025-02-20"));
+        assertEquals(DAY_TWO.repeat(5), read(index, "2025-02-21"));
+
+        Files.writeString(log, DAY_ONE + DAY_ONE);
+        assertEquals(DAY_ONE + DAY_ONE, read(new LogOffsetIndex(log), "2025-02-20"));
+    }
+
+    @Test
+    void testResourceStreamsAndSkipsAcrossRanges() throws IOException {
+        Path log = directory.resolve("logfile.log");
+        Files.writeString(log, DAY_ONE + DAY_TWO + DAY_ONE);
+        LogOffsetIndex index = new LogOffsetIndex(log);
+        List<LogOffsetIndex.Range> ranges = index.find("2025-02-20");
+        assertEquals(2, ranges.size());
+
+        Resource resource = new LogPartitions(index).download(
+                ranges.stream().map(range -> segment(log, range)).toList(),
+                "logs_2025-02-20.log").resource();
+        assertEquals(2L * DAY_ONE.length(), resource.contentLength());
+        try (InputStream in = resource.getInputStream()) {
+            assertEquals(DAY_ONE + DAY_ONE, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        try (InputStream in = resource.getInputStream()) {
+            assertEquals(DAY_ONE.length() + 5L, in.skip(DAY_ONE.length() + 5L));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            assertEquals(DAY_ONE.substring(5), out.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String read(LogOffsetIndex index, String prefix) throws IOException {
+        LogPartitions partitions = new LogPartitions(index);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(out);
+        for (LogOffsetIndex.Range range : index.find(prefix)) {
+            partitions.copy(segment(index.logFile(), range), channel);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static LogPartitions.Segment segment(Path log, LogOffsetIndex.Range range) {
+        return new LogPartitions.Segment(log, range.start(), range.end(), false);
+    }
+}
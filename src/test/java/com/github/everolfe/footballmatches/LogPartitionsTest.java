@@ -0,0 +1,141 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.everolfe.footballmatches.logger.LogOffsetIndex;
+import com.github.everolfe.footballmatches.logger.LogPartitions;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpRange;
+
+class LogPartitionsTest {
+
+    private static final String MORNING =
+            "2025-02-20 09:59:58.100 [main] INFO  App - started\n";
+    private static final String NOON =
+            "2025-02-20 12:00:00.000 [main] INFO  App - lunch\n";
+    private static final String EVENING =
+            "2025-02-20 23:59:59.000 [main] INFO  App - done\n";
+    private static final String NEXT_DAY =
+            "2025-02-21 00:00:01.000 [main] INFO  App - next day\n";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testPastDateIsServedFromItsCompressedParts() throws IOException {
+        Path log = log(NEXT_DAY, LocalDateTime.of(2025, 2, 21, 0, 0, 1));
+        gzipPart("2025-02-20", 10, EVENING);
+        gzipPart("2025-02-20", 0, MORNING);
+        gzipPart("2025-02-20", 2, NOON);
+        LogPartitions partitions = new LogPartitions(new LogOffsetIndex(log));
+
+        List<LogPartitions.Segment> segments = partitions.find("2025-02-20");
+        LogPartitions.Download download = partitions.download(segments, "logs_2025-02-20.log");
+
+        assertEquals(3, segments.size());
+        assertTrue(download.gzip());
+        assertEquals(segments.stream().mapToLong(LogPartitions.Segment::length).sum(),
+                download.resource().contentLength());
+        try (InputStream in = new GZIPInputStream(download.resource().getInputStream())) {
+            assertEquals(MORNING + NOON + EVENING,
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertFalse(Files.exists(directory.resolve("logfile.log.idx")));
+    }
+
+    @Test
+    void testTodayJoinsInflatedPartsWithTheActiveLog() throws IOException {
+        Path log = log(NOON + EVENING, LocalDateTime.of(2025, 2, 20, 23, 59, 59));
+        gzipPart("2025-02-20", 0, MORNING);
+        LogPartitions partitions = new LogPartitions(new LogOffsetIndex(log));
+
+        LogPartitions.Download download = partitions.download(partitions.find("2025-02-20"),
+                "logs_2025-02-20.log");
+
+        assertFalse(download.gzip());
+        try (InputStream in = download.resource().getInputStream()) {
+            assertEquals(MORNING + NOON + EVENING,
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testTodayAnswersRangesAcrossInflatedPartsAndTheActiveLog() throws IOException {
+        Path log = log(EVENING, LocalDateTime.of(2025, 2, 20, 23, 59, 59));
+        gzipPart("2025-02-20", 0, MORNING);
+        gzipPart("2025-02-20", 1, NOON);
+        LogPartitions partitions = new LogPartitions(new LogOffsetIndex(log));
+        String plain = MORNING + NOON + EVENING;
+        int start = MORNING.length() + 10;
+        int end = MORNING.length() + NOON.length() + 5;
+
+        Resource resource = partitions.download(partitions.find("2025-02-20"),
+                "logs_2025-02-20.log").resource();
+        // Spring serves a Range as a region of the resource, skipping into its stream.
+        ResourceRegion region = HttpRange.createByteRange(start, end)
+                .toResourceRegion(resource);
+
+        assertEquals(plain.length(), resource.contentLength());
+        try (InputStream in = resource.getInputStream()) {
+            assertEquals(region.getPosition(), in.skip(region.getPosition()));
+            byte[] bytes = in.readNBytes((int) region.getCount());
+            assertEquals(plain.substring(start, end + 1),
+                    new String(bytes, StandardCharsets.UTF_8));
+        }
+        try (InputStream in = resource.getInputStream()) {
+            assertEquals(MORNING.length() + NOON.length(),
+                    in.skip(MORNING.length() + NOON.length()));
+            assertEquals(EVENING, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testCopyInflatesCompressedParts() throws IOException {
+        Path log = log(NOON, LocalDateTime.of(2025, 2, 20, 12, 0));
+        gzipPart("2025-02-20", 0, MORNING);
+        LogPartitions partitions = new LogPartitions(new LogOffsetIndex(log));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (LogPartitions.Segment segment : partitions.find("2025-02-20")) {
+            partitions.copy(segment, Channels.newChannel(out));
+        }
+
+        assertEquals(MORNING + NOON, out.toString(StandardCharsets.UTF_8));
+        assertEquals(List.of(), partitions.find("2025-02-22"));
+    }
+
+    private Path log(String content, LocalDateTime lastWritten) throws IOException {
+        Path log = directory.resolve("logfile.log");
+        Files.writeString(log, content);
+        Files.setLastModifiedTime(log, FileTime.from(
+                lastWritten.atZone(ZoneId.systemDefault()).toInstant()));
+        return log;
+    }
+
+    private void gzipPart(String date, int number, String content) throws IOException {
+        Path partition = Files.createDirectories(directory.resolve(date));
+        Path part = partition.resolve("logfile." + number + ".log.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(part))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.everolfe.footballmatches.exceptions.ServiceUnavailableException;
+import com.github.everolfe.footballmatches.logger.LogOffsetIndex;
+import com.github.everolfe.footballmatches.logger.LogPartitions;
+import com.github.everolfe.footballmatches.logger.LogTaskRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogTaskRegistryTest {
+
+    private static final String LOG =
+            "2025-02-20 09:59:58.100 [main] INFO  App - started\n"
+            + "2025-02-21 00:00:01.000 [main] INFO  App - next day\n";
+
+    @TempDir
+    private Path directory;
+
+    private LogTaskRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void testSameDateJoinsTheUnfinishedTaskAndFullQueueIsRejected() throws Exception {
+        LogOffsetIndex index = index();
+        registry = registry(index, Duration.ofHours(1), 10);
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        registry.bindTo(meters);
+
+        String first;
+        String second;
+        // The index is locked while it is searched, so holding it keeps the worker busy.
+        synchronized (index) {
+            first = registry.submit("2025-02-20");
+            second = registry.submit("2025-02-21");
+            assertEquals(first, registry.submit("2025-02-20"));
+            assertEquals(second, registry.submit("2025-02-21"));
+            assertThrows(ServiceUnavailableException.class,
+                    () -> registry.submit("2025-02-22"));
+        }
+        awaitFinished(first, second);
+
+        assertEquals(Map.of(first, "COMPLETED", second, "COMPLETED", "unknown", "NOT_FOUND"),
+                registry.statuses(List.of(first, second, "unknown")));
+        assertEquals("2025-02-20 09:59:58.100 [main] INFO  App - started\n",
+                Files.readString(registry.file(first)));
+        assertNotEquals(first, registry.submit("2025-02-20"));
+        assertEquals(2.0, meters.get("log.task.joined").functionCounter().count());
+        assertEquals(1.0, meters.get("log.task.rejected").functionCounter().count());
+    }
+
+    @Test
+    void testExpiredTasksAreForgottenWithTheirFiles() throws Exception {
+        registry = registry(index(), Duration.ZERO, 10);
+        String id = registry.submit("2025-02-20");
+        awaitFinished(id);
+        Path file = registry.file(id);
+        assertTrue(Files.exists(file));
+
+        registry.purgeExpired();
+
+        assertEquals("NOT_FOUND", registry.status(id));
+        assertFalse(Files.exists(file));
+        assertThrows(NoSuchFileException.class, () -> registry.file(id));
+    }
+
+    @Test
+    void testOldestFinishedTaskMakesRoomForNewOne() throws Exception {
+        registry = registry(index(), Duration.ofHours(1), 1);
+        String first = registry.submit("2025-02-20");
+        awaitFinished(first);
+        Path file = registry.file(first);
+
+        String second = registry.submit("2025-02-21");
+        awaitFinished(second);
+
+        assertEquals("NOT_FOUND", registry.status(first));
+        assertFalse(Files.exists(file));
+        assertEquals("COMPLETED", registry.status(second));
+    }
+
+    @Test
+    void testDateWithoutLinesCompletesWithoutFile() throws Exception {
+        registry = registry(index(), Duration.ofHours(1), 10);
+        String id = registry.submit("2025-02-22");
+        awaitFinished(id);
+
+        assertEquals("COMPLETED_NO_DATA", registry.status(id));
+        assertThrows(NoSuchFileException.class, () -> registry.file(id));
+    }
+
+    @Test
+    void testOrphanedFilesAreDeleted() throws Exception {
+        Path tasks = directory.resolve("tasks");
+        Files.createDirectories(tasks);
+        Path orphan = Files.writeString(tasks.resolve("logs_2025-02-20_old.log"), LOG);
+        registry = registry(index(), Duration.ofHours(1), 10);
+
+        registry.deleteOrphanedFiles();
+
+        assertFalse(Files.exists(orphan));
+    }
+
+    private LogOffsetIndex index() throws IOException {
+        Path log = directory.resolve("logfile.log");
+        Files.writeString(log, LOG);
+        // Last written on its first day, so it is searched for both days' lines.
+        Files.setLastModifiedTime(log, FileTime.from(LocalDateTime.of(2025, 2, 20, 10, 0)
+                .atZone(ZoneId.systemDefault()).toInstant()));
+        return new LogOffsetIndex(log);
+    }
+
+    private LogTaskRegistry registry(LogOffsetIndex index, Duration ttl, int maxTasks) {
+        return new LogTaskRegistry(new LogPartitions(index),
+                directory.resolve("tasks").toString(), 1, 1, ttl, maxTasks);
+    }
+
+    private void awaitFinished(String... ids) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        for (String id : ids) {
+            while (registry.status(id).startsWith("QUEUED")
+                    || registry.status(id).startsWith("IN_PROGRESS")) {
+                assertTrue(System.nanoTime() < deadline, "task " + id + " did not finish");
+                Thread.sleep(10);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.EntityRef;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.cache.InvalidationEvent;
+import com.github.everolfe.footballmatches.index.MatchScheduleIndex;
+import com.github.everolfe.footballmatches.repository.MatchRepository;
+import com.github.everolfe.footballmatches.repository.MatchTimeView;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class MatchScheduleIndexTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 10, 12, 0, 0);
+
+    private final MatchRepository matchRepository = mock(MatchRepository.class);
+    private final CacheInvalidator cacheInvalidator = mock(CacheInvalidator.class);
+    private MatchScheduleIndex index;
+    private Consumer<List<InvalidationEvent>> events;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws InterruptedException {
+        when(matchRepository.findTimesAfter(eq(-1), any())).thenReturn(List.of(
+                view(1, MONDAY.plusHours(20)),
+                view(2, MONDAY.plusDays(2).plusHours(18)),
+                view(3, MONDAY.plusDays(2).plusHours(18)),
+                view(4, MONDAY.plusDays(9))));
+        index = new MatchScheduleIndex(matchRepository, cacheInvalidator);
+        ArgumentCaptor<Consumer<List<InvalidationEvent>>> listener =
+                ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheInvalidator).addListener(listener.capture(), any());
+        events = listener.getValue();
+
+        assertFalse(index.isReady());
+        index.reload();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!index.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(index.isReady());
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void testRangesSliceDayBucketsInclusively() {
+        assertEquals(List.of(1, 2, 3), index.between(MONDAY, MONDAY.plusDays(7)));
+        assertEquals(List.of(2, 3),
+                index.between(MONDAY.plusDays(2).plusHours(18), MONDAY.plusDays(9)
+                        .minusNanos(1)));
+        assertEquals(List.of(1, 2, 3, 4),
+                index.between(LocalDateTime.of(1, 1, 1, 0, 0), MONDAY.plusDays(9)));
+        assertEquals(List.of(), index.between(MONDAY.plusDays(3), MONDAY.plusDays(8)));
+        assertEquals(List.of(), index.between(MONDAY.plusDays(7), MONDAY));
+    }
+
+    @Test
+    void testEventsMoveAndAddMatches() {
+        events.accept(List.of(
+                event(InvalidationEvent.Kind.CHANGED, 2, MONDAY.plusDays(4)),
+                event(InvalidationEvent.Kind.CREATED, 5, MONDAY.plusHours(20))));
+        index.remove(3);
+
+        assertEquals(List.of(1, 5), index.between(MONDAY, MONDAY.plusDays(3)));
+        assertEquals(List.of(2), index.between(MONDAY.plusDays(3), MONDAY.plusDays(5)));
+    }
+
+    private static InvalidationEvent event(InvalidationEvent.Kind kind, int id,
+                                           LocalDateTime dateTime) {
+        return new InvalidationEvent(kind, new EntityRef(EntityType.MATCH, id),
+                Map.of(CacheConstants.MATCHES_BY_DATE, dateTime));
+    }
+
+    private static MatchTimeView view(Integer id, LocalDateTime dateTime) {
+        return new MatchTimeView() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getDateTime() {
+                return dateTime;
+            }
+        };
+    }
+}
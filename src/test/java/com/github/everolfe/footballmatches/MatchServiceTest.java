@@ -2,25 +2,36 @@ package com.github.everolfe.footballmatches;
 
 import com.github.everolfe.footballmatches.cache.Cache;
 import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.EntityRef;
+import com.github.everolfe.footballmatches.cache.EntityType;
 import com.github.everolfe.footballmatches.dto.ConvertDtoClasses;
 import com.github.everolfe.footballmatches.dto.match.MatchDtoWithArenaAndTeams;
 import com.github.everolfe.footballmatches.dto.match.MatchRequest;
+import com.github.everolfe.footballmatches.dto.match.MatchTeamLink;
 import com.github.everolfe.footballmatches.exceptions.BadRequestException;
 import com.github.everolfe.footballmatches.exceptions.ResourcesNotFoundException;
+import com.github.everolfe.footballmatches.index.MatchScheduleIndex;
+import com.github.everolfe.footballmatches.index.TournamentIndex;
 import com.github.everolfe.footballmatches.model.Arena;
 import com.github.everolfe.footballmatches.model.Match;
 import com.github.everolfe.footballmatches.model.Player;
 import com.github.everolfe.footballmatches.model.Team;
 import com.github.everolfe.footballmatches.repository.ArenaRepository;
+import com.github.everolfe.footballmatches.repository.FetchPlans;
 import com.github.everolfe.footballmatches.repository.MatchRepository;
 import com.github.everolfe.footballmatches.repository.TeamRepository;
+import com.github.everolfe.footballmatches.service.BulkInserter;
 import com.github.everolfe.footballmatches.service.MatchService;
+import com.github.everolfe.footballmatches.service.StreamingImporter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -43,6 +54,27 @@ class MatchServiceTest {
     @Mock
     private Cache<String, Object> cache;
 
+    @Mock
+    private FetchPlans fetchPlans;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private BulkInserter bulkInserter;
+
+    @Mock
+    private StreamingImporter streamingImporter;
+
+    @Mock
+    private MatchScheduleIndex scheduleIndex;
+
+    @Mock
+    private TournamentIndex tournamentIndex;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private MatchService matchService;
 
@@ -85,13 +117,13 @@ class MatchServiceTest {
 
     @Test
     void testReadAll() {
-        when(matchRepository.findAll()).thenReturn(new ArrayList<>());
+        when(fetchPlans.allMatchesWithArenaAndTeams()).thenReturn(new ArrayList<>());
 
         List<MatchDtoWithArenaAndTeams> result = matchService.readAll();
 
         assertTrue(result.isEmpty());
 
-        when(matchRepository.findAll()).thenReturn(List.of(testMatch));
+        when(fetchPlans.allMatchesWithArenaAndTeams()).thenReturn(List.of(testMatch));
 
         List<MatchDtoWithArenaAndTeams> result2 = matchService.readAll();
 
@@ -107,11 +139,11 @@ class MatchServiceTest {
         MatchDtoWithArenaAndTeams result = matchService.read(1);
 
         assertEquals(testMatchDto, result);
-        verify(matchRepository, never()).findById(anyInt());
+        verify(fetchPlans, never()).matchWithArenaAndTeams(anyInt());
 
         when(cache.get(CacheConstants
                 .getMatchCacheKey(1))).thenReturn(null);
-        when(matchRepository.findById(1))
+        when(fetchPlans.matchWithArenaAndTeams(1))
                 .thenReturn(Optional.of(testMatch));
 
         MatchDtoWithArenaAndTeams result2 = matchService.read(1);
@@ -120,7 +152,7 @@ class MatchServiceTest {
 
         when(cache.get(CacheConstants.getMatchCacheKey(1)))
                 .thenReturn(null);
-        when(matchRepository.findById(1)).thenReturn(Optional.empty());
+        when(fetchPlans.matchWithArenaAndTeams(1)).thenReturn(Optional.empty());
 
         assertThrows(ResourcesNotFoundException.class,
                 () -> matchService.read(1));
@@ -152,10 +184,11 @@ class MatchServiceTest {
         boolean result = matchService.delete(1);
 
         assertTrue(result);
-        verify(matchRepository).deleteById(1);
-        verify(cache).remove(CacheConstants.getMatchCacheKey(1));
-        verify(teamRepository).save(testTeam);
-        verify(arenaRepository).save(testArena);
+        verify(matchRepository).unlinkAllTeams(1);
+        verify(matchRepository).deleteRowById(1);
+        verify(teamRepository, never()).save(any(Team.class));
+        verify(arenaRepository, never()).save(any(Arena.class));
+        verify(cacheInvalidator).deleted(testMatch);
 
         when(matchRepository.findById(1)).thenReturn(Optional.empty());
         assertThrows(ResourcesNotFoundException.class,
@@ -240,6 +273,8 @@ class MatchServiceTest {
     void testFindMatchesByDates() {
         LocalDateTime start = LocalDateTime.now().minusDays(2);
         LocalDateTime end = LocalDateTime.now().plusDays(1);
+        when(fetchPlans.withTeamPlayers(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
 
         when(matchRepository.findByDateTimeLessThanEqual(end))
                 .thenReturn(List.of(testMatch));
@@ -268,8 +303,29 @@ class MatchServiceTest {
         assertTrue(emptyResult.isEmpty());
     }
 
+    @Test
+    void testFindMatchesByDatesSlicesScheduleIndex() {
+        LocalDateTime start = testMatch.getDateTime().minusDays(1);
+        LocalDateTime end = testMatch.getDateTime().plusDays(1);
+        org.springframework.cache.Cache matchCache =
+                new ConcurrentMapCache(CacheConstants.MATCHES);
+        when(scheduleIndex.isReady()).thenReturn(true);
+        when(scheduleIndex.between(start, end)).thenReturn(List.of(1, 2));
+        when(cacheManager.getCache(CacheConstants.MATCHES)).thenReturn(matchCache);
+        matchCache.put(1, testMatchDto);
+        when(fetchPlans.matchesWithArenaAndTeams(List.of(2))).thenReturn(List.of());
+
+        List<MatchDtoWithArenaAndTeams> result = matchService.findMatchesByDates(start, end);
+
+        assertEquals(List.of(testMatchDto), result);
+        verify(scheduleIndex).remove(2);
+        verify(matchRepository, never()).findByDateTimeBetween(any(), any());
+    }
+
     @Test
     void testGetMatchesByTournamentName() {
+        when(fetchPlans.withTeamPlayers(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
         when(matchRepository.findByTournamentNameIgnoreCase("Champions League"))
                 .thenReturn(List.of(testMatch));
 
@@ -280,16 +336,85 @@ class MatchServiceTest {
         assertEquals(testMatchDto, result.get(0));
     }
 
+    @Test
+    void testGetMatchesByTournamentNameReadsTournamentIndex() {
+        MatchDtoWithArenaAndTeams renamed = new MatchDtoWithArenaAndTeams();
+        renamed.setId(3);
+        renamed.setTournamentName("Europa League");
+        org.springframework.cache.Cache matchCache =
+                new ConcurrentMapCache(CacheConstants.MATCHES);
+        when(tournamentIndex.isReady()).thenReturn(true);
+        when(tournamentIndex.exact("Champions League")).thenReturn(List.of(1, 2, 3));
+        when(cacheManager.getCache(CacheConstants.MATCHES)).thenReturn(matchCache);
+        matchCache.put(1, testMatchDto);
+        matchCache.put(3, renamed);
+        when(fetchPlans.matchesWithArenaAndTeams(List.of(2))).thenReturn(List.of());
+
+        List<MatchDtoWithArenaAndTeams> result =
+                matchService.getMatchesByTournamentName("Champions League");
+
+        assertEquals(List.of(testMatchDto), result);
+        verify(tournamentIndex).remove(2);
+        verify(tournamentIndex).put(3, "Europa League");
+        verify(matchRepository, never()).findByTournamentNameIgnoreCase(any());
+    }
+
+    @Test
+    void testCompleteTournamentNames() {
+        when(tournamentIndex.isReady()).thenReturn(true);
+        when(tournamentIndex.complete("cha", 10)).thenReturn(List.of("Champions League"));
+
+        assertEquals(List.of("Champions League"), matchService.completeTournamentNames("cha", 10));
+
+        when(tournamentIndex.isReady()).thenReturn(false);
+        when(matchRepository.findTournamentNamesStartingWith(eq("cha"), any()))
+                .thenReturn(List.of("Champions League"));
+
+        assertEquals(List.of("Champions League"),
+                matchService.completeTournamentNames("Cha", null));
+        assertThrows(BadRequestException.class,
+                () -> matchService.completeTournamentNames(" ", 10));
+    }
+
     @Test
     void testCreateBulk() {
         List<Match> matches = List.of(testMatch, testMatch);
 
         matchService.createBulk(matches);
 
-        verify(matchRepository).saveAll(matches);
+        verify(bulkInserter).insert(eq(matches), eq(matchRepository), any());
 
         assertThrows(BadRequestException.class, () -> matchService.createBulk(null));
         List<Match> invalidMatches = Arrays.asList(new Match(), new Match());
         assertThrows(BadRequestException.class, () -> matchService.createBulk(invalidMatches));
     }
+
+    @Test
+    void testAddTeamsToMatchesLinksWholeBatchAtOnce() {
+        List<MatchTeamLink> links = List.of(new MatchTeamLink(1, 1),
+                new MatchTeamLink(1, 2), new MatchTeamLink(2, 1));
+        when(matchRepository.findExistingIds(anyCollection())).thenReturn(List.of(1, 2));
+        when(teamRepository.findExistingIds(anyCollection())).thenReturn(List.of(1, 2));
+        when(matchRepository.linkTeams(any(), any())).thenReturn(3);
+
+        assertEquals(3, matchService.addTeamsToMatches(links));
+
+        verify(matchRepository).linkTeams(new Integer[] {1, 1, 2}, new Integer[] {1, 2, 1});
+        verify(cacheInvalidator).changedAll(List.of(
+                new EntityRef(EntityType.MATCH, 1), new EntityRef(EntityType.MATCH, 2),
+                new EntityRef(EntityType.TEAM, 1), new EntityRef(EntityType.TEAM, 2)));
+    }
+
+    @Test
+    void testAddTeamsToMatchesRejectsUnknownIds() {
+        List<MatchTeamLink> links = List.of(new MatchTeamLink(1, 1), new MatchTeamLink(7, 1));
+        when(matchRepository.findExistingIds(anyCollection())).thenReturn(List.of(1));
+
+        assertThrows(ResourcesNotFoundException.class,
+                () -> matchService.addTeamsToMatches(links));
+        assertThrows(BadRequestException.class,
+                () -> matchService.addTeamsToMatches(List.of()));
+        verify(matchRepository, never()).linkTeams(any(), any());
+        verifyNoInteractions(cacheInvalidator);
+    }
 }
\ No newline at end of file
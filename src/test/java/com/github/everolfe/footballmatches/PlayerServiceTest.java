@@ -5,6 +5,7 @@ import static org.mockito.Mockito.*;
 
 import com.github.everolfe.footballmatches.cache.Cache;
 import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
 import com.github.everolfe.footballmatches.dto.ConvertDtoClasses;
 import com.github.everolfe.footballmatches.dto.player.PlayerDto;
 import com.github.everolfe.footballmatches.dto.player.PlayerDtoWithTeam;
@@ -13,13 +14,16 @@ import com.github.everolfe.footballmatches.exceptions.NegativeNumberException;
 import com.github.everolfe.footballmatches.exceptions.ResourcesNotFoundException;
 import com.github.everolfe.footballmatches.model.Player;
 import com.github.everolfe.footballmatches.model.Team;
+import com.github.everolfe.footballmatches.repository.FetchPlans;
 import com.github.everolfe.footballmatches.repository.PlayerRepository;
 import com.github.everolfe.footballmatches.repository.TeamRepository;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import com.github.everolfe.footballmatches.service.BulkInserter;
 import com.github.everolfe.footballmatches.service.PlayerService;
+import com.github.everolfe.footballmatches.service.StreamingImporter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,6 +42,18 @@ class PlayerServiceTest {
     @Mock
     private Cache<String, Object> cache;
 
+    @Mock
+    private FetchPlans fetchPlans;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private BulkInserter bulkInserter;
+
+    @Mock
+    private StreamingImporter streamingImporter;
+
     @InjectMocks
     private PlayerService playerService;
 
@@ -77,14 +93,14 @@ class PlayerServiceTest {
 
     @Test
     void testReadAll() {
-        when(playerRepository.findAll()).thenReturn(new ArrayList<>());
+        when(fetchPlans.allPlayersWithTeam()).thenReturn(new ArrayList<>());
 
         List<PlayerDtoWithTeam> result = playerService.readAll();
 
         assertTrue(result.isEmpty());
 
         List<Player> players = Arrays.asList(testPlayer);
-        when(playerRepository.findAll()).thenReturn(players);
+        when(fetchPlans.allPlayersWithTeam()).thenReturn(players);
 
         List<PlayerDtoWithTeam> result2 = playerService.readAll();
 
@@ -99,17 +115,17 @@ class PlayerServiceTest {
         PlayerDto result = playerService.read(1);
 
         assertEquals(testPlayerDto, result);
-        verify(playerRepository, never()).findById(anyInt());
+        verify(playerRepository, never()).findDtoById(anyInt());
 
         when(cache.get(CacheConstants.getPlayerCacheKey(1))).thenReturn(null);
-        when(playerRepository.findById(1)).thenReturn(Optional.of(testPlayer));
+        when(playerRepository.findDtoById(1)).thenReturn(Optional.of(testPlayerDto));
 
         PlayerDto result2 = playerService.read(1);
         assertEquals(testPlayerDto, result2);
         verify(cache).put(CacheConstants.getPlayerCacheKey(1), testPlayerDto);
 
         when(cache.get(CacheConstants.getPlayerCacheKey(1))).thenReturn(null);
-        when(playerRepository.findById(1)).thenReturn(Optional.empty());
+        when(playerRepository.findDtoById(1)).thenReturn(Optional.empty());
 
         assertThrows(ResourcesNotFoundException.class, () -> playerService.read(1));
     }
@@ -160,7 +176,7 @@ class PlayerServiceTest {
         List<PlayerDto> result = playerService.getPlayersByAge(25);
         assertTrue(result.isEmpty());
 
-        when(playerRepository.findByAge(25)).thenReturn(Arrays.asList(testPlayer));
+        when(playerRepository.findByAge(25)).thenReturn(Arrays.asList(testPlayerDto));
         List<PlayerDto> result2 = playerService.getPlayersByAge(25);
         assertEquals(1, result2.size());
         assertEquals(testPlayerDto, result2.get(0));
@@ -171,9 +187,8 @@ class PlayerServiceTest {
     @Test
     void createBulk_ShouldSaveAllValidPlayers() {
         List<Player> players = Arrays.asList(testPlayer, testPlayer);
-        when(playerRepository.saveAll(anyList())).thenReturn(players);
         playerService.createBulk(players);
-        verify(playerRepository).saveAll(anyList());
+        verify(bulkInserter).insert(eq(players), eq(playerRepository), any());
 
         assertThrows(BadRequestException.class, () -> playerService.createBulk(null));
 
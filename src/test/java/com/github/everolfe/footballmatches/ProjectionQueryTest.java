@@ -0,0 +1,106 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.everolfe.footballmatches.dto.arena.ArenaDto;
+import com.github.everolfe.footballmatches.dto.player.PlayerDto;
+import com.github.everolfe.footballmatches.dto.team.TeamDtoWithPlayers;
+import com.github.everolfe.footballmatches.model.Arena;
+import com.github.everolfe.footballmatches.model.Player;
+import com.github.everolfe.footballmatches.model.Team;
+import com.github.everolfe.footballmatches.repository.ArenaRepository;
+import com.github.everolfe.footballmatches.repository.PlayerRepository;
+import com.github.everolfe.footballmatches.repository.TeamPlayerView;
+import com.github.everolfe.footballmatches.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.liquibase.enabled=false",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+class ProjectionQueryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ArenaRepository arenaRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private Statistics statistics;
+    private Arena arena;
+    private Team team;
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        arena = new Arena();
+        arena.setCity("Minsk");
+        arena.setCapacity(22000);
+        entityManager.persist(arena);
+        team = new Team();
+        team.setTeamName("Dinamo Minsk");
+        team.setCountry("Belarus");
+        entityManager.persist(team);
+        player = new Player();
+        player.setName("Ivan");
+        player.setAge(24);
+        player.setCountry("Belarus");
+        player.setTeam(team);
+        entityManager.persist(player);
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFlatDtosAreReadWithoutEntities() {
+        ArenaDto arenaDto = arenaRepository.findDtoById(arena.getId()).orElseThrow();
+        List<ArenaDto> byCapacity = arenaRepository.findByCapacityBetween(20000, 30000);
+        PlayerDto playerDto = playerRepository.findDtoById(player.getId()).orElseThrow();
+        List<PlayerDto> byAge = playerRepository.findByAge(24);
+
+        assertEquals(new ArenaDto(arena.getId(), "Minsk", 22000), arenaDto);
+        assertEquals(List.of(arenaDto), byCapacity);
+        assertEquals(new PlayerDto(player.getId(), "Ivan", 24, "Belarus"), playerDto);
+        assertEquals(List.of(playerDto), byAge);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testTeamAndPlayerRowsAreReadWithoutEntities() {
+        List<TeamDtoWithPlayers> teams = teamRepository.findByCountryIgnoreCase("belarus");
+        List<TeamPlayerView> players =
+                playerRepository.findTeamPlayersByTeamIdIn(List.of(team.getId()));
+
+        assertEquals(1, teams.size());
+        assertEquals("Dinamo Minsk", teams.get(0).getTeamName());
+        assertEquals(1, players.size());
+        assertEquals(team.getId(), players.get(0).getTeamId());
+        assertEquals(new PlayerDto(player.getId(), "Ivan", 24, "Belarus"),
+                players.get(0).toDto());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
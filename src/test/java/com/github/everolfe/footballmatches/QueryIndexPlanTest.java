@@ -0,0 +1,195 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.everolfe.footballmatches.model.Arena;
+import com.github.everolfe.footballmatches.model.Match;
+import com.github.everolfe.footballmatches.model.Player;
+import com.github.everolfe.footballmatches.repository.ArenaRepository;
+import com.github.everolfe.footballmatches.repository.MatchRepository;
+import com.github.everolfe.footballmatches.repository.PlayerRepository;
+import com.github.everolfe.footballmatches.repository.TeamRepository;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+// The schema comes from the master changelog. H2 has no expression indexes, so the
+// LOWER() searches are only checked to compare the expression PostgreSQL indexes.
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=none",
+    "spring.liquibase.enabled=true",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.github.everolfe.footballmatches.QueryIndexPlanTest$SqlRecorder",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+class QueryIndexPlanTest {
+
+    private static final int ROWS = 200;
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 10, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 1, 20, 0, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ArenaRepository arenaRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            Arena arena = new Arena();
+            arena.setCity("City" + i);
+            arena.setCapacity(10000 + i);
+            entityManager.persist(arena);
+
+            Match match = new Match();
+            match.setDateTime(LocalDateTime.of(2026, 1, 1, 20, 0).plusHours(i * 6L));
+            match.setTournamentName("Tournament" + i % 10);
+            entityManager.persist(match);
+
+            Player player = new Player();
+            player.setName("Player" + i);
+            player.setAge(18 + i % 20);
+            player.setCountry("Country" + i % 10);
+            entityManager.persist(player);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManager().createNativeQuery("ANALYZE").executeUpdate();
+    }
+
+    @Test
+    void testMatchDateSearchUsesItsIndex() throws SQLException {
+        String sql = capture(() -> matchRepository.findIdsByDateTimeBetweenAfter(
+                FROM, TO, FROM, 0, Limit.unlimited()));
+
+        assertPlanUses("idx_matches_date_time", sql, FROM, TO, FROM, FROM, 0);
+    }
+
+    @Test
+    void testArenaCapacitySearchUsesItsIndex() throws SQLException {
+        String sql = capture(() -> arenaRepository.findByCapacityBetweenAfter(
+                10050, 10100, 10050, 0, Limit.unlimited()));
+
+        assertPlanUses("idx_arenas_capacity", sql, 10050, 10100, 10050, 10050, 0);
+    }
+
+    @Test
+    void testPlayerAgeSearchUsesItsIndex() throws SQLException {
+        String sql = capture(() -> playerRepository.findByAgeAfter(25, 0, Limit.unlimited()));
+
+        assertPlanUses("idx_players_age", sql, 25, 0);
+    }
+
+    @Test
+    void testCaseInsensitiveSearchesCompareTheIndexedExpression() {
+        assertComparesExpression("lower(tournament_name)", capture(() -> matchRepository
+                .findIdsByTournamentNameAfter("Tournament1", 0, Limit.unlimited())));
+        assertComparesExpression("lower(country)",
+                capture(() -> teamRepository.findByCountryIgnoreCase("Country1")));
+    }
+
+    @Test
+    void testMatchTeamsLookupsByMatchUseThePrimaryKey() throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet key = metaData.getPrimaryKeys(null, null, "MATCH_TEAMS")) {
+                Map<Short, String> columns = new TreeMap<>();
+                while (key.next()) {
+                    columns.put(key.getShort("KEY_SEQ"), key.getString("COLUMN_NAME"));
+                }
+                assertEquals(List.of("MATCH_ID", "TEAM_ID"), List.copyOf(columns.values()));
+            }
+            List<String> indexes = new ArrayList<>();
+            try (ResultSet index = metaData.getIndexInfo(null, null, "MATCH_TEAMS", false,
+                    false)) {
+                while (index.next()) {
+                    indexes.add(index.getString("INDEX_NAME"));
+                }
+            }
+            assertTrue(indexes.contains("IDX_MATCH_TEAMS_TEAM_ID_MATCH_ID"), indexes::toString);
+            assertFalse(indexes.contains("IDX_MATCH_TEAMS_MATCH_ID"), indexes::toString);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static String capture(Runnable search) {
+        SqlRecorder.STATEMENTS.clear();
+        search.run();
+        return SqlRecorder.STATEMENTS.get(SqlRecorder.STATEMENTS.size() - 1);
+    }
+
+    private void assertPlanUses(String index, String sql, Object... values)
+            throws SQLException {
+        assertEquals(values.length, sql.chars().filter(c -> c == '?').count(), sql);
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < values.length; i++) {
+                explain.setObject(i + 1, values[i]);
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                assertTrue(plan.next());
+                String text = plan.getString(1);
+                assertTrue(text.contains(index.toUpperCase(Locale.ROOT)), sql + ":\n" + text);
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void assertComparesExpression(String expression, String sql) {
+        String column = expression.substring("lower(".length(), expression.length() - 1);
+        Pattern comparison = Pattern.compile(
+                "lower\\((\\w+\\.)?" + column + "\\)\\s*=\\s*lower\\(\\?\\)",
+                Pattern.CASE_INSENSITIVE);
+        assertTrue(comparison.matcher(sql).find(), sql);
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.everolfe.footballmatches.dto.ImportReport;
+import com.github.everolfe.footballmatches.exceptions.BadRequestException;
+import com.github.everolfe.footballmatches.exceptions.ValidationUtils;
+import com.github.everolfe.footballmatches.model.Arena;
+import com.github.everolfe.footballmatches.model.Team;
+import com.github.everolfe.footballmatches.repository.ArenaRepository;
+import com.github.everolfe.footballmatches.repository.TeamRepository;
+import com.github.everolfe.footballmatches.service.BulkInserter;
+import com.github.everolfe.footballmatches.service.ImportFormat;
+import com.github.everolfe.footballmatches.service.ImportTarget;
+import com.github.everolfe.footballmatches.service.StreamingImporter;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class StreamingImporterTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private final BulkInserter bulkInserter = mock(BulkInserter.class);
+    private final StreamingImporter importer = new StreamingImporter(bulkInserter,
+            new ObjectMapper().findAndRegisterModules(), BATCH_SIZE, 1, 10);
+    private final List<List<String>> inserted = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        importer.shutdown();
+    }
+
+    @Test
+    void testNdjsonSkipsBadRowsAndInsertsTheRestInBatches() {
+        recordInserts(-1);
+        String body = """
+                {"city": "Minsk", "capacity": 22000}
+                {"city": "Brest", "capacity":
+                {"city": "grodno", "capacity": 9000}
+
+                {"city": "Gomel", "capacity": 14000}
+                {"city": "Vitebsk", "capacity": 8000}
+                """;
+
+        ImportReport report = importArenas(body, ImportFormat.NDJSON);
+
+        assertEquals(List.of(List.of("Minsk", "Gomel"), List.of("Vitebsk")), inserted);
+        assertEquals(5, report.getRowsRead());
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(2L, 3L),
+                report.getErrors().stream().map(ImportReport.RowError::getLine).toList());
+    }
+
+    @Test
+    void testCsvBindsColumnsByHeaderName() {
+        recordInserts(-1);
+        String body = """
+                country,teamName
+                Spain,"Real Madrid"
+                "England","Manchester ""Red"" Devils"
+                Italy
+                """;
+
+        ImportReport report = importer.importRecords(stream(body), ImportFormat.CSV,
+                new ImportTarget<>(Team.class,
+                        team -> ValidationUtils.validateProperName(team.getCountry()),
+                        mock(TeamRepository.class), chunk -> inserted.add(
+                                chunk.stream().map(Team::getTeamName).toList())));
+
+        assertEquals(List.of(List.of("Real Madrid", "Manchester \"Red\" Devils")), inserted);
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        assertEquals(4, report.getErrors().get(0).getLine());
+    }
+
+    @Test
+    void testRejectedBatchIsReportedAndLaterBatchesAreKept() {
+        recordInserts(0);
+        String body = """
+                {"city": "Minsk", "capacity": 22000}
+                {"city": "Brest", "capacity": 10000}
+                {"city": "Gomel", "capacity": 14000}
+                """;
+
+        ImportReport report = importArenas(body, ImportFormat.NDJSON);
+
+        assertEquals(List.of(List.of("Gomel")), inserted);
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getFailed());
+        ImportReport.RowError error = report.getErrors().get(0);
+        assertEquals(1, error.getLine());
+        assertTrue(error.getMessage().contains("up to line 2"));
+    }
+
+    @Test
+    void testFormatFollowsContentType() {
+        assertEquals(ImportFormat.CSV, ImportFormat.of("text/csv; charset=UTF-8"));
+        assertEquals(ImportFormat.NDJSON, ImportFormat.of("application/x-ndjson"));
+        assertThrows(BadRequestException.class, () -> ImportFormat.of("application/json"));
+    }
+
+    private ImportReport importArenas(String body, ImportFormat format) {
+        return importer.importRecords(stream(body), format, new ImportTarget<>(Arena.class,
+                arena -> ValidationUtils.validateProperName(arena.getCity()),
+                mock(ArenaRepository.class), chunk -> inserted.add(
+                        chunk.stream().map(Arena::getCity).toList())));
+    }
+
+    // Lets the mocked inserter run the callback, failing the insert numbered fail.
+    private void recordInserts(int fail) {
+        AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.getAndIncrement() == fail) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            invocation.<Consumer<List<Object>>>getArgument(2)
+                    .accept(invocation.getArgument(0));
+            return null;
+        }).when(bulkInserter).insert(any(), any(), any());
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.github.everolfe.footballmatches.logger.ColumnarLogAppender;
+import com.github.everolfe.footballmatches.logger.LogRecord;
+import com.github.everolfe.footballmatches.logger.StructuredLogReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StructuredLogTest {
+
+    private static final String MATCH_SERVICE =
+            "com.github.everolfe.footballmatches.service.MatchService";
+    private static final String TEAM_SERVICE =
+            "com.github.everolfe.footballmatches.service.TeamService";
+    private static final LocalDateTime TWO_PM = LocalDateTime.of(2025, 2, 20, 14, 0);
+
+    private final LoggerContext context = new LoggerContext();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testQueryFiltersByTimeLevelAndLogger() throws IOException {
+        ColumnarLogAppender appender = appender();
+        log(appender, TWO_PM.plusSeconds(30), Level.ERROR, MATCH_SERVICE, "boom",
+                new IllegalStateException("bad"));
+        log(appender, TWO_PM.plusMinutes(1), Level.INFO, MATCH_SERVICE, "ok", null);
+        log(appender, TWO_PM.plusMinutes(3), Level.ERROR, TEAM_SERVICE, "team boom", null);
+        log(appender, TWO_PM.plusMinutes(4), Level.WARN, MATCH_SERVICE, "slow", null);
+        log(appender, TWO_PM.plusMinutes(10), Level.ERROR, MATCH_SERVICE, "late", null);
+        log(appender, TWO_PM.plusHours(10).plusSeconds(1), Level.INFO, TEAM_SERVICE,
+                "next day", null);
+        appender.stop();
+        StructuredLogReader reader = new StructuredLogReader(directory.toString());
+        LocalDateTime fivePast = TWO_PM.plusMinutes(5);
+
+        List<LogRecord> errors = reader.query(TWO_PM, fivePast, "ERROR", "MatchService", 100);
+        assertEquals(1, errors.size());
+        LogRecord boom = errors.get(0);
+        assertEquals(TWO_PM.plusSeconds(30), boom.timestamp());
+        assertEquals("ERROR", boom.level());
+        assertEquals(MATCH_SERVICE, boom.logger());
+        assertEquals("main", boom.thread());
+        assertEquals("boom", boom.message());
+        assertTrue(boom.throwable().startsWith("java.lang.IllegalStateException: bad"));
+
+        assertEquals(List.of("boom", "slow"),
+                messages(reader.query(TWO_PM, fivePast, "WARN", MATCH_SERVICE, 100)));
+        assertEquals(List.of("boom", "team boom"), messages(reader.query(TWO_PM, fivePast,
+                "ERROR", "com.github.everolfe.footballmatches.service", 100)));
+        assertEquals(List.of("boom", "ok"),
+                messages(reader.query(TWO_PM, fivePast, "TRACE", null, 2)));
+        assertEquals(List.of("boom", "ok", "team boom", "slow", "late", "next day"),
+                messages(reader.query(TWO_PM, TWO_PM.plusDays(1), "TRACE", null, 100)));
+        assertEquals(List.of(), reader.query(TWO_PM, fivePast, "ERROR", "Service", 100));
+        assertNull(reader.query(TWO_PM, fivePast, "INFO", null, 100).get(1).throwable());
+    }
+
+    @Test
+    void testBlockCutShortIsDroppedWhenAppending() throws IOException {
+        ColumnarLogAppender appender = appender();
+        log(appender, TWO_PM, Level.INFO, MATCH_SERVICE, "before", null);
+        appender.stop();
+        Files.write(directory.resolve("2025-02-20.blk"), new byte[] {0x4C, 0x42, 0x4C},
+                StandardOpenOption.APPEND);
+
+        appender = appender();
+        log(appender, TWO_PM.plusMinutes(1), Level.INFO, MATCH_SERVICE, "after", null);
+        appender.stop();
+
+        assertEquals(List.of("before", "after"), messages(new StructuredLogReader(
+                directory.toString()).query(TWO_PM, TWO_PM.plusHours(1), "INFO", null, 100)));
+    }
+
+    private ColumnarLogAppender appender() {
+        ColumnarLogAppender appender = new ColumnarLogAppender();
+        appender.setContext(context);
+        appender.setDirectory(directory.toString());
+        appender.setBlockRecords(2);
+        appender.setFlushMillis(60_000);
+        appender.start();
+        return appender;
+    }
+
+    private void log(ColumnarLogAppender appender, LocalDateTime time, Level level,
+                     String logger, String message, Throwable throwable) {
+        LoggingEvent event = new LoggingEvent(StructuredLogTest.class.getName(),
+                context.getLogger(logger), level, message, throwable, null);
+        event.setTimeStamp(time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        event.setThreadName("main");
+        appender.doAppend(event);
+    }
+
+    private static List<String> messages(List<LogRecord> records) {
+        return records.stream().map(LogRecord::message).toList();
+    }
+}
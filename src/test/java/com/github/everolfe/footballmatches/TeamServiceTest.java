@@ -5,6 +5,7 @@ import static org.mockito.Mockito.*;
 
 import com.github.everolfe.footballmatches.cache.Cache;
 import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
 import com.github.everolfe.footballmatches.dto.ConvertDtoClasses;
 import com.github.everolfe.footballmatches.dto.team.TeamDtoWithMatchesAndPlayers;
 import com.github.everolfe.footballmatches.dto.team.TeamDtoWithPlayers;
@@ -12,9 +13,11 @@ import com.github.everolfe.footballmatches.exceptions.BadRequestException;
 import com.github.everolfe.footballmatches.exceptions.InvalidProperNameException;
 import com.github.everolfe.footballmatches.exceptions.NegativeNumberException;
 import com.github.everolfe.footballmatches.exceptions.ResourcesNotFoundException;
+import com.github.everolfe.footballmatches.index.CountryIndex;
 import com.github.everolfe.footballmatches.model.Match;
 import com.github.everolfe.footballmatches.model.Player;
 import com.github.everolfe.footballmatches.model.Team;
+import com.github.everolfe.footballmatches.repository.FetchPlans;
 import com.github.everolfe.footballmatches.repository.MatchRepository;
 import com.github.everolfe.footballmatches.repository.PlayerRepository;
 import com.github.everolfe.footballmatches.repository.TeamRepository;
@@ -23,6 +26,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import com.github.everolfe.footballmatches.service.BulkInserter;
+import com.github.everolfe.footballmatches.service.StreamingImporter;
 import com.github.everolfe.footballmatches.service.TeamService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,6 +35,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 
 @ExtendWith(MockitoExtension.class)
 class TeamServiceTest {
@@ -45,6 +52,24 @@ class TeamServiceTest {
     @Mock
     private Cache<String, Object> cache;
 
+    @Mock
+    private FetchPlans fetchPlans;
+
+    @Mock
+    private CacheInvalidator cacheInvalidator;
+
+    @Mock
+    private BulkInserter bulkInserter;
+
+    @Mock
+    private StreamingImporter streamingImporter;
+
+    @Mock
+    private CountryIndex countryIndex;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private TeamService teamService;
 
@@ -92,13 +117,13 @@ class TeamServiceTest {
 
     @Test
     void testReadAll() {
-        when(teamRepository.findAll()).thenReturn(new ArrayList<>());
+        when(fetchPlans.allTeamsWithMatchesAndPlayers()).thenReturn(new ArrayList<>());
 
         List<TeamDtoWithMatchesAndPlayers> result = teamService.readAll();
 
         assertTrue(result.isEmpty());
 
-        when(teamRepository.findAll()).thenReturn(Arrays.asList(testTeam));
+        when(fetchPlans.allTeamsWithMatchesAndPlayers()).thenReturn(Arrays.asList(testTeam));
 
         List<TeamDtoWithMatchesAndPlayers> result2 = teamService.readAll();
 
@@ -113,17 +138,17 @@ class TeamServiceTest {
         TeamDtoWithPlayers result = teamService.read(1);
 
         assertEquals(testTeamDtoWithPlayers, result);
-        verify(teamRepository, never()).findById(anyInt());
+        verify(teamRepository, never()).findDtoById(anyInt());
 
         when(cache.get(CacheConstants.getTeamCacheKey(1))).thenReturn(null);
-        when(teamRepository.findById(1)).thenReturn(Optional.of(testTeam));
+        when(teamRepository.findDtoById(1)).thenReturn(Optional.of(testTeamDtoWithPlayers));
 
         TeamDtoWithPlayers result2 = teamService.read(1);
         assertEquals(testTeamDtoWithPlayers, result2);
         verify(cache).put(CacheConstants.getTeamCacheKey(1), testTeamDtoWithPlayers);
 
         when(cache.get(CacheConstants.getTeamCacheKey(1))).thenReturn(null);
-        when(teamRepository.findById(1)).thenReturn(Optional.empty());
+        when(teamRepository.findDtoById(1)).thenReturn(Optional.empty());
 
         assertThrows(ResourcesNotFoundException.class, () -> teamService.read(1));
 
@@ -156,50 +181,31 @@ class TeamServiceTest {
         boolean result = teamService.delete(1);
 
         assertTrue(result);
-        verify(teamRepository).deleteById(1);
-        verify(playerRepository).save(testPlayer);
-        verify(matchRepository).save(testMatch);
-        verify(cache).remove(CacheConstants.getTeamCacheKey(1));
-        verify(cache).put(CacheConstants.getPlayerCacheKey(testPlayer.getId()), testPlayer);
-        verify(cache).put(CacheConstants.getMatchCacheKey(testMatch.getId()), testMatch);
+        verify(playerRepository).detachFromTeam(1);
+        verify(matchRepository).unlinkTeam(1);
+        verify(teamRepository).deleteRowById(1);
+        verify(playerRepository, never()).save(any(Player.class));
+        verify(matchRepository, never()).save(any(Match.class));
+        verify(cacheInvalidator).deleted(testTeam);
 
         when(teamRepository.findById(1)).thenReturn(Optional.empty());
         assertThrows(ResourcesNotFoundException.class, () -> teamService.delete(1));
         assertThrows(NegativeNumberException.class, () -> teamService.delete(-1));
-
-
-
     }
 
     @Test
-    void testDeleteTeam_WhenPlayersIsNull() {
+    void testDeleteTeam_DoesNotTouchCollections() {
         testTeam.setPlayers(null);
-        when(teamRepository.findById(1)).thenReturn(Optional.of(testTeam));
-
-        boolean result = teamService.delete(1);
-        assertTrue(result);
-        verify(matchRepository).save(testMatch); // Проверяем, что работа с матчами все равно выполняется
-    }
-
-    @Test
-    void testDeleteTeam_WhenMatchesIsNull() {
         testTeam.setMatches(null);
         when(teamRepository.findById(1)).thenReturn(Optional.of(testTeam));
 
         boolean result = teamService.delete(1);
-        assertTrue(result);
-        verify(playerRepository).save(testPlayer); // Проверяем, что работа с игроками все равно выполняется
-    }
 
-    @Test
-    void testDeleteTeam_WhenTeamListInMatchIsNull() {
-        testMatch.setTeamList(null);
-        when(teamRepository.findById(1)).thenReturn(Optional.of(testTeam));
-
-        boolean result = teamService.delete(1);
+        // Связи снимаются запросами к базе, коллекции сущности не читаются
         assertTrue(result);
-        // Проверяем, что не было попытки сохранить матч с null teamList
-        verify(matchRepository, never()).save(testMatch);
+        verify(playerRepository).detachFromTeam(1);
+        verify(matchRepository).unlinkTeam(1);
+        verify(teamRepository).deleteRowById(1);
     }
 
     @Test
@@ -348,7 +354,8 @@ class TeamServiceTest {
 
     @Test
     void testGetTeamsByCountry() {
-        when(teamRepository.findByCountryIgnoreCase("Test Country")).thenReturn(Arrays.asList(testTeam));
+        when(teamRepository.findByCountryIgnoreCase("Test Country"))
+                .thenReturn(Arrays.asList(testTeamDtoWithPlayers));
 
         List<TeamDtoWithPlayers> result = teamService.getTeamsByCountry("Test Country");
 
@@ -358,12 +365,39 @@ class TeamServiceTest {
         assertThrows(InvalidProperNameException.class, () -> teamService.getTeamsByCountry("invalid country"));
     }
 
+    @Test
+    void testGetTeamsByCountryReadsCountryIndex() {
+        org.springframework.cache.Cache teamCache =
+                new ConcurrentMapCache(CacheConstants.TEAMS);
+        when(countryIndex.isReady()).thenReturn(true);
+        when(countryIndex.exact("Test Country")).thenReturn(List.of(1, 2));
+        when(cacheManager.getCache(CacheConstants.TEAMS)).thenReturn(teamCache);
+        when(teamRepository.findDtosByIdIn(List.of(1, 2)))
+                .thenReturn(List.of(testTeamDtoWithPlayers));
+
+        List<TeamDtoWithPlayers> result = teamService.getTeamsByCountry("Test Country");
+
+        assertEquals(List.of(testTeamDtoWithPlayers), result);
+        assertEquals(testTeamDtoWithPlayers, teamCache.get(1, TeamDtoWithPlayers.class));
+        verify(countryIndex).remove(2);
+        verify(teamRepository, never()).findByCountryIgnoreCase(any());
+    }
+
+    @Test
+    void testCompleteCountries() {
+        when(countryIndex.isReady()).thenReturn(false);
+        when(teamRepository.findCountriesStartingWith(eq("te"), any()))
+                .thenReturn(List.of("Test Country"));
+
+        assertEquals(List.of("Test Country"), teamService.completeCountries("Te", null));
+        verify(countryIndex, never()).complete(any(), anyInt());
+    }
+
     @Test
     void testCreateBulk() {
         List<Team> teams = Arrays.asList(testTeam, testTeam);
-        when(teamRepository.saveAll(anyList())).thenReturn(teams);
         teamService.createBulk(teams);
-        verify(teamRepository).saveAll(anyList());
+        verify(bulkInserter).insert(eq(teams), eq(teamRepository), any());
 
         assertThrows(BadRequestException.class, () -> teamService.createBulk(null));
 
@@ -0,0 +1,120 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.everolfe.footballmatches.cache.CacheConstants;
+import com.github.everolfe.footballmatches.cache.CacheInvalidator;
+import com.github.everolfe.footballmatches.cache.EntityRef;
+import com.github.everolfe.footballmatches.cache.EntityType;
+import com.github.everolfe.footballmatches.cache.InvalidationEvent;
+import com.github.everolfe.footballmatches.index.TournamentIndex;
+import com.github.everolfe.footballmatches.repository.MatchRepository;
+import com.github.everolfe.footballmatches.repository.TermView;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class TermIndexTest {
+
+    private final MatchRepository matchRepository = mock(MatchRepository.class);
+    private final CacheInvalidator cacheInvalidator = mock(CacheInvalidator.class);
+    private TournamentIndex index;
+    private Consumer<List<InvalidationEvent>> events;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws InterruptedException {
+        when(matchRepository.findTournamentNamesAfter(eq(-1), any())).thenReturn(List.of(
+                view(1, "Champions League"),
+                view(2, "Europa League"),
+                view(3, "CHAMPIONS LEAGUE"),
+                view(4, "Championship"),
+                view(5, "Conference League")));
+        index = new TournamentIndex(matchRepository, cacheInvalidator);
+        ArgumentCaptor<Consumer<List<InvalidationEvent>>> listener =
+                ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheInvalidator).addListener(listener.capture(), any());
+        events = listener.getValue();
+
+        index.reload();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!index.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(index.isReady());
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void testExactLookupsIgnoreCase() {
+        assertEquals(List.of(1, 3), index.exact("champions league"));
+        assertEquals(List.of(2), index.exact("Europa League"));
+        assertEquals(List.of(), index.exact("Champions"));
+    }
+
+    @Test
+    void testPrefixCompletesDistinctTermsInOrder() {
+        assertEquals(List.of("Champions League", "Championship", "Conference League"),
+                index.complete("C", 10));
+        assertEquals(List.of("Champions League"), index.complete("champions", 10));
+        assertEquals(List.of("Champions League"), index.complete("ch", 1));
+        assertEquals(List.of(), index.complete("Premier", 10));
+    }
+
+    @Test
+    void testEventsRenameAndAddMatches() {
+        events.accept(List.of(
+                event(InvalidationEvent.Kind.CHANGED, 1, "Europa League"),
+                event(InvalidationEvent.Kind.CREATED, 6, "Premier League")));
+        index.remove(4);
+
+        assertEquals(List.of(3), index.exact("Champions League"));
+        assertEquals(List.of(1, 2), index.exact("europa league"));
+        assertEquals(List.of("Champions League"), index.complete("champ", 10));
+        assertEquals(List.of("Premier League"), index.complete("p", 10));
+    }
+
+    @Test
+    void testDeleteEventsDropTheirTerms() {
+        events.accept(List.of(
+                event(InvalidationEvent.Kind.DELETED, 4, "Championship"),
+                event(InvalidationEvent.Kind.DELETED, 5, "Conference League")));
+
+        assertEquals(List.of(), index.exact("Championship"));
+        assertEquals(List.of("Champions League"), index.complete("C", 10));
+    }
+
+    private static InvalidationEvent event(InvalidationEvent.Kind kind, int id, String name) {
+        return new InvalidationEvent(kind, new EntityRef(EntityType.MATCH, id),
+                Map.of(CacheConstants.MATCHES_BY_TOURNAMENT, name));
+    }
+
+    private static TermView view(Integer id, String term) {
+        return new TermView() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public String getTerm() {
+                return term;
+            }
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.everolfe.footballmatches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.everolfe.footballmatches.cache.Cache;
+import com.github.everolfe.footballmatches.cache.CacheValueSerializer;
+import com.github.everolfe.footballmatches.cache.OffHeapStore;
+import com.github.everolfe.footballmatches.cache.TinyLfuCache;
+import com.github.everolfe.footballmatches.cache.Weigher;
+import com.github.everolfe.footballmatches.dto.arena.ArenaDto;
+import com.github.everolfe.footballmatches.dto.match.MatchDtoWithArenaAndTeams;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TwoTierCacheTest {
+
+    @Test
+    void testOffHeapStoreRoundTrip() {
+        OffHeapStore store = new OffHeapStore(1024, 256, null);
+        assertTrue(store.put("key", new byte[] {1, 2, 3}, null));
+
+        OffHeapStore.Entry entry = store.get("key");
+
+        assertNotNull(entry);
+        assertEquals(3, entry.bytes().length);
+        assertEquals(3, store.usedBytes());
+        assertTrue(store.remove("key"));
+        assertNull(store.get("key"));
+        assertEquals(0, store.usedBytes());
+    }
+
+    @Test
+    void testOffHeapStoreRecyclesOldestSegment() {
+        OffHeapStore store = new OffHeapStore(512, 256, null);
+        List<Object> evicted = new ArrayList<>();
+        store.onEviction(evicted::add);
+        for (int i = 0; i < 6; i++) {
+            store.put(i, new byte[100], null);
+        }
+
+        assertEquals(List.of(0, 1), evicted);
+        assertNull(store.get(0));
+        assertNotNull(store.get(5));
+        assertFalse(store.put("huge", new byte[300], null));
+        assertEquals(1, store.rejectedCount());
+    }
+
+    @Test
+    void testOffHeapStoreExpiresEntries() throws InterruptedException {
+        OffHeapStore store = new OffHeapStore(1024, 256, Duration.ofMillis(50));
+        store.put("key", new byte[] {1}, null);
+
+        Thread.sleep(100);
+
+        assertNull(store.get("key"));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testNearMissIsServedFromOffHeapTier() {
+        Cache<Object, Object> near = new Cache<>(2, Weigher.collectionSize());
+        OffHeapStore offHeap = new OffHeapStore(1 << 20, 1 << 16, null);
+        TinyLfuCache cache = new TinyLfuCache("matchesWithArenaAndTeams", near, offHeap,
+                new CacheValueSerializer(new ObjectMapper().findAndRegisterModules()), true);
+        List<MatchDtoWithArenaAndTeams> season = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            season.add(matchDto(i));
+        }
+
+        cache.put("all", season);
+
+        assertEquals(0, near.size());
+        assertEquals(season, cache.get("all").get());
+        assertEquals(1, offHeap.hitCount());
+        cache.evict("all");
+        assertNull(cache.get("all"));
+    }
+
+    private static MatchDtoWithArenaAndTeams matchDto(int id) {
+        ArenaDto arena = new ArenaDto();
+        arena.setId(id);
+        arena.setCity("Madrid");
+        arena.setCapacity(80_000);
+        MatchDtoWithArenaAndTeams match = new MatchDtoWithArenaAndTeams();
+        match.setId(id);
+        match.setTournamentName("La Liga");
+        match.setDateTime(LocalDateTime.of(2026, 8, 15, 20, 0).plusWeeks(id));
+        match.setArenaDto(arena);
+        match.setTeamDtoWithPlayersList(new ArrayList<>());
+        return match;
+    }
+}